@@ -0,0 +1,112 @@
+package com.j256.ormlite.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import com.j256.ormlite.field.SqlType;
+
+/**
+ * Sets the arguments on a {@link PreparedStatement} with the typed set methods, {@link PreparedStatement#setLong} for a
+ * {@link SqlType#LONG} and so on, instead of {@link PreparedStatement#setObject(int, Object, int)} which makes the
+ * driver figure out the type of the object and sometimes convert it. The type values are the ones from
+ * {@link TypeValMapper}. If the argument is not the Java type that we expect, for example if a field converter turned a
+ * boolean into a number, then we fall back to setObject.
+ *
+ * @author graywatson
+ */
+public class ArgumentBinder {
+
+	/**
+	 * For static methods only.
+	 */
+	private ArgumentBinder() {
+	}
+
+	/**
+	 * Set the argument at the 1-based parameter index using the typed set method for the type value.
+	 */
+	public static void setArgument(PreparedStatement stmt, int parameterIndex, Object arg, int typeVal)
+			throws SQLException {
+		if (arg == null) {
+			stmt.setNull(parameterIndex, typeVal);
+			return;
+		}
+		switch (typeVal) {
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+				if (arg instanceof String) {
+					stmt.setString(parameterIndex, (String) arg);
+					return;
+				}
+				break;
+			case Types.TIMESTAMP:
+				if (arg instanceof Timestamp) {
+					stmt.setTimestamp(parameterIndex, (Timestamp) arg);
+					return;
+				}
+				break;
+			case Types.BOOLEAN:
+				if (arg instanceof Boolean) {
+					stmt.setBoolean(parameterIndex, (Boolean) arg);
+					return;
+				}
+				break;
+			case Types.TINYINT:
+				if (arg instanceof Byte) {
+					stmt.setByte(parameterIndex, (Byte) arg);
+					return;
+				}
+				break;
+			case Types.VARBINARY:
+				if (arg instanceof byte[]) {
+					stmt.setBytes(parameterIndex, (byte[]) arg);
+					return;
+				}
+				break;
+			case Types.SMALLINT:
+				if (arg instanceof Short) {
+					stmt.setShort(parameterIndex, (Short) arg);
+					return;
+				}
+				break;
+			case Types.INTEGER:
+				if (arg instanceof Integer) {
+					stmt.setInt(parameterIndex, (Integer) arg);
+					return;
+				}
+				break;
+			case Types.BIGINT:
+				if (arg instanceof Long) {
+					stmt.setLong(parameterIndex, (Long) arg);
+					return;
+				}
+				break;
+			case Types.FLOAT:
+				if (arg instanceof Float) {
+					stmt.setFloat(parameterIndex, (Float) arg);
+					return;
+				}
+				break;
+			case Types.DOUBLE:
+				if (arg instanceof Double) {
+					stmt.setDouble(parameterIndex, (Double) arg);
+					return;
+				}
+				break;
+			case Types.DECIMAL:
+			case Types.NUMERIC:
+				if (arg instanceof BigDecimal) {
+					stmt.setBigDecimal(parameterIndex, (BigDecimal) arg);
+					return;
+				}
+				break;
+			default:
+				// CHAR, BLOB, OTHER, ... are left to the driver
+				break;
+		}
+		stmt.setObject(parameterIndex, arg, typeVal);
+	}
+}
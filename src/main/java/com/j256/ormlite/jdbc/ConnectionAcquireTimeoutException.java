@@ -0,0 +1,28 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown by {@link JdbcPooledConnectionSource} when the maximum number of connections are in use and none was released
+ * before the acquire timeout, or when the background creator did not make one in time. It is a transient exception so
+ * the operation may succeed if retried.
+ * 
+ * @author graywatson
+ */
+public class ConnectionAcquireTimeoutException extends SQLTransientConnectionException {
+
+	private static final long serialVersionUID = -1846429167402153254L;
+
+	/**
+	 * SQL state for "SQL client unable to establish SQL connection".
+	 */
+	private static final String SQL_STATE = "08001";
+
+	public ConnectionAcquireTimeoutException(String message) {
+		super(message, SQL_STATE);
+	}
+
+	public ConnectionAcquireTimeoutException(String message, Throwable cause) {
+		super(message, SQL_STATE, cause);
+	}
+}
@@ -143,7 +143,7 @@ public class DataSourceConnectionSource extends BaseConnectionSource implements
 		if (saved != null) {
 			return saved;
 		}
-		return new JdbcDatabaseConnection(dataSource.getConnection());
+		return makeConnection(dataSource.getConnection());
 	}
 
 	@Override
@@ -167,7 +167,7 @@ public class DataSourceConnectionSource extends BaseConnectionSource implements
 		if (saved != null) {
 			return saved;
 		}
-		return new JdbcDatabaseConnection(dataSource.getConnection(username, password));
+		return makeConnection(dataSource.getConnection(username, password));
 	}
 
 	@Override
@@ -242,4 +242,10 @@ public class DataSourceConnectionSource extends BaseConnectionSource implements
 	public void setDatabaseUrl(String databaseUrl) {
 		this.databaseUrl = databaseUrl;
 	}
+
+	private DatabaseConnection makeConnection(Connection connection) {
+		JdbcDatabaseConnection jdbcConnection = new JdbcDatabaseConnection(connection);
+		jdbcConnection.setDatabaseType(databaseType);
+		return jdbcConnection;
+	}
 }
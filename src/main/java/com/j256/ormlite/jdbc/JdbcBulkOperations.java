@@ -0,0 +1,1305 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.db.JdbcDatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.stmt.mapped.BaseMappedStatement;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.support.GeneratedKeyHolder;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Creates, updates, and deletes collections of objects using JDBC batches so that each batch of rows is a single round
+ * trip to the database instead of one per object like {@link Dao#create(Collection)}. The work is done inside of
+ * {@link Dao#callBatchTasks(Callable)} so it is done in a transaction if
+ * {@link DatabaseType#isBatchUseTransaction()} returns true and with auto-commit disabled otherwise.
+ *
+ * <pre>
+ * JdbcBulkOperations&lt;Account, Integer&gt; bulkOperations = new JdbcBulkOperations&lt;Account, Integer&gt;(accountDao);
+ * bulkOperations.setBatchSize(500);
+ * bulkOperations.create(accounts);
+ * </pre>
+ *
+ * <p>
+ * Generated ids are returned for the whole batch and assigned to the objects. If the connection source does not hand
+ * out {@link JdbcDatabaseConnection}s then the objects are handled one at a time using the DAO.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Only the statements are batched. Version fields, foreignAutoCreate fields, and the object cache are
+ * handled by the DAO's own mapped statements so {@link #create(Collection)}, {@link #update(Collection)}, and
+ * {@link #createOrUpdate(Collection)} call the DAO for each of the objects if the class has any of those fields or if
+ * the DAO has an object cache.
+ * </p>
+ *
+ * <p>
+ * If {@link #setMultiRowInsert(boolean)} is enabled then the rows are inserted with INSERT INTO ... VALUES
+ * (...),(...) statements for the database types that support them, see {@link JdbcDatabaseType}. The rows are chunked
+ * so each statement stays inside of the database's argument limit and the statements with the same number of rows
+ * share the same SQL so they hit the statement cache. If the driver can't return the generated ids of multi-row
+ * inserts then, for the database types that support it, the inserts return the ids themselves with INSERT ...
+ * RETURNING, FINAL TABLE, or OUTPUT INSERTED.
+ * </p>
+ *
+ * <p>
+ * {@link #createOrUpdate(Collection)} updates the objects with generated ids in batches and then creates the rest. For
+ * other ids it uses the upsert statement of the database type, ON CONFLICT, ON DUPLICATE KEY UPDATE, or MERGE, so each
+ * batch of objects is one round trip instead of the query and then the insert or update that
+ * {@link Dao#createOrUpdate(Object)} does for each object.
+ * </p>
+ *
+ * <p>
+ * {@link #queryForIds(Collection)}, {@link #delete(Collection)}, and {@link #deleteIds(Collection)} use WHERE id IN
+ * statements. The ids are passed as a single array argument for the database types that support it, see
+ * {@link JdbcDatabaseType}, and otherwise the IN lists are padded to a power of two. Either way a handful of
+ * statements serve any number of ids so they hit the statement caches of the connection and the database. The ids are
+ * split into statements that stay inside of the database's argument and IN list limits. If there are at least
+ * {@link #setTempTableMinIds(int)} ids and that would take more statements than loading the ids into a temporary table
+ * and joining against it then the temporary table is used instead for the database types that have them.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class JdbcBulkOperations<T, ID> {
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	public static final int DEFAULT_TEMP_TABLE_MIN_IDS = 10000;
+	private static final String TEMP_TABLE_COLUMN_NAME = "id";
+	// create, clear, load, use, and clear the temporary table
+	private static final int TEMP_TABLE_STATEMENT_COUNT = 5;
+	private static final Object[] NO_ARGS = new Object[0];
+	private static final FieldType[] NO_FIELD_TYPES = new FieldType[0];
+
+	private static Logger logger = LoggerFactory.getLogger(JdbcBulkOperations.class);
+
+	private final Dao<T, ID> dao;
+	private final ConnectionSource connectionSource;
+	private final DatabaseType databaseType;
+	private final TableInfo<T, ID> tableInfo;
+	private final FieldType idField;
+	// the objects have version or foreignAutoCreate fields so they go through the DAO one at a time
+	private final boolean daoFields;
+	private final BatchStatement<T, ID> insertStatement;
+	// null if there is no id or nothing to update
+	private final BatchStatement<T, ID> updateStatement;
+	// SELECT * FROM table and DELETE FROM table which the WHERE id IN clauses are added to
+	private final String selectIdInPrefix;
+	private final String deleteIdInPrefix;
+	// type name of the array argument that the ids are passed in or null if they are in padded IN lists
+	private final String idArrayTypeName;
+	// maximum number of ids in each WHERE id IN statement or 0 if there is no limit
+	private final int maxIdsPerStatement;
+	// statements that use the temporary table of ids or null if the database type doesn't have them
+	private final String createTempTableStatement;
+	private final String clearTempTableStatement;
+	private final String insertTempTableStatement;
+	private final FieldType[] insertTempTableFieldTypes;
+	private final String selectTempTableStatement;
+	private final String deleteTempTableStatement;
+	private final ConcurrentHashMap<Integer, String> selectIdInStatements = new ConcurrentHashMap<Integer, String>();
+	private final ConcurrentHashMap<Integer, String> deleteIdInStatements = new ConcurrentHashMap<Integer, String>();
+	// null if the database type can't upsert
+	private final BatchStatement<T, ID> upsertStatement;
+	// maximum number of rows in each multi-row insert, 1 if they are not supported
+	private final int maxMultiRowInsertRows;
+	private final boolean multiRowInsertKeys;
+	// the ids of the multi-row inserts are returned by the insert statement
+	private final boolean multiRowInsertReturning;
+	private final ConcurrentHashMap<Integer, MultiRowInsert> multiRowInserts =
+			new ConcurrentHashMap<Integer, MultiRowInsert>();
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private boolean multiRowInsert;
+	private int tempTableMinIds = DEFAULT_TEMP_TABLE_MIN_IDS;
+
+	public JdbcBulkOperations(Dao<T, ID> dao) {
+		this.dao = dao;
+		this.connectionSource = dao.getConnectionSource();
+		this.tableInfo = dao.getTableInfo();
+		this.idField = tableInfo.getIdField();
+		this.databaseType = connectionSource.getDatabaseType();
+		boolean daoFields = tableInfo.isForeignAutoCreate();
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isVersion()) {
+				daoFields = true;
+			}
+		}
+		this.daoFields = daoFields;
+
+		// INSERT INTO table (col1,col2) VALUES (?,?)
+		List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+		StringBuilder sb = new StringBuilder(128);
+		appendTableName(databaseType, sb, "INSERT INTO ");
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (isFieldCreatable(databaseType, fieldType)) {
+				fieldTypeList.add(fieldType);
+			}
+		}
+		if (fieldTypeList.isEmpty()) {
+			databaseType.appendInsertNoColumns(sb);
+		} else {
+			sb.append('(');
+			appendColumnNames(databaseType, sb, fieldTypeList);
+			sb.append(") VALUES (");
+			for (int i = 0; i < fieldTypeList.size(); i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append('?');
+			}
+			sb.append(')');
+		}
+		FieldType[] insertFieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+		this.insertStatement = new BatchStatement<T, ID>(dao, tableInfo, sb.toString(), insertFieldTypes);
+		if (databaseType instanceof JdbcDatabaseType && ((JdbcDatabaseType) databaseType).isMultiRowInsertSupported()
+				&& insertFieldTypes.length > 0) {
+			JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+			int maxRows = Integer.MAX_VALUE;
+			if (jdbcDatabaseType.getMaxMultiRowInsertRows() > 0) {
+				maxRows = jdbcDatabaseType.getMaxMultiRowInsertRows();
+			}
+			if (jdbcDatabaseType.getMaxStatementArguments() > 0) {
+				maxRows = Math.min(maxRows, jdbcDatabaseType.getMaxStatementArguments() / insertFieldTypes.length);
+			}
+			this.maxMultiRowInsertRows = Math.max(maxRows, 1);
+			this.multiRowInsertKeys = jdbcDatabaseType.isMultiRowInsertGeneratedKeysSupported();
+			this.multiRowInsertReturning =
+					(!multiRowInsertKeys && idField != null && jdbcDatabaseType.isInsertReturningSupported());
+		} else {
+			this.maxMultiRowInsertRows = 1;
+			this.multiRowInsertKeys = false;
+			this.multiRowInsertReturning = false;
+		}
+
+		if (idField == null) {
+			this.updateStatement = null;
+			this.selectIdInPrefix = null;
+			this.deleteIdInPrefix = null;
+			this.idArrayTypeName = null;
+			this.maxIdsPerStatement = 0;
+			this.createTempTableStatement = null;
+			this.clearTempTableStatement = null;
+			this.insertTempTableStatement = null;
+			this.insertTempTableFieldTypes = null;
+			this.selectTempTableStatement = null;
+			this.deleteTempTableStatement = null;
+			this.upsertStatement = null;
+			return;
+		}
+
+		// UPDATE table SET col1 = ?, col2 = ? WHERE id = ?
+		fieldTypeList.clear();
+		sb.setLength(0);
+		appendTableName(databaseType, sb, "UPDATE ");
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType == idField || fieldType.isForeignCollection() || fieldType.isReadOnly()) {
+				continue;
+			}
+			sb.append(fieldTypeList.isEmpty() ? "SET " : ", ");
+			databaseType.appendEscapedEntityName(sb, fieldType.getColumnName());
+			sb.append(" = ?");
+			fieldTypeList.add(fieldType);
+		}
+		if (fieldTypeList.isEmpty()) {
+			// nothing to update
+			this.updateStatement = null;
+		} else {
+			appendWhereId(databaseType, sb);
+			fieldTypeList.add(idField);
+			this.updateStatement = new BatchStatement<T, ID>(dao, tableInfo, sb.toString(),
+					fieldTypeList.toArray(new FieldType[fieldTypeList.size()]));
+		}
+
+		// SELECT * FROM table WHERE id = ANY(?) or WHERE id IN (?,?,?,?)
+		sb.setLength(0);
+		appendTableName(databaseType, sb, "SELECT * FROM ");
+		this.selectIdInPrefix = sb.toString();
+		sb.setLength(0);
+		appendTableName(databaseType, sb, "DELETE FROM ");
+		this.deleteIdInPrefix = sb.toString();
+		String tempTableColumnType = null;
+		if (databaseType instanceof JdbcDatabaseType) {
+			JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+			this.idArrayTypeName = jdbcDatabaseType.getArrayArgumentTypeName(idField.getSqlType());
+			if (idArrayTypeName == null) {
+				this.maxIdsPerStatement = minLimit(jdbcDatabaseType.getMaxStatementArguments(),
+						jdbcDatabaseType.getMaxInListElements());
+			} else {
+				// the array is a single argument
+				this.maxIdsPerStatement = 0;
+			}
+			tempTableColumnType = jdbcDatabaseType.getTempTableColumnType(idField.getSqlType());
+		} else {
+			this.idArrayTypeName = null;
+			this.maxIdsPerStatement = 0;
+		}
+
+		// the temporary table is per id type so tables with different id types can use it on the same connection
+		if (tempTableColumnType == null) {
+			this.createTempTableStatement = null;
+			this.clearTempTableStatement = null;
+			this.insertTempTableStatement = null;
+			this.insertTempTableFieldTypes = null;
+			this.selectTempTableStatement = null;
+			this.deleteTempTableStatement = null;
+		} else {
+			JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+			String tempTableName = "ormlite_ids_" + idField.getSqlType().name().toLowerCase();
+			sb.setLength(0);
+			jdbcDatabaseType.appendCreateTempTable(sb, tempTableName, TEMP_TABLE_COLUMN_NAME, tempTableColumnType);
+			this.createTempTableStatement = sb.toString();
+			// SELECT "id" FROM "ormlite_ids_integer"
+			sb.setLength(0);
+			sb.append("SELECT ");
+			databaseType.appendEscapedEntityName(sb, TEMP_TABLE_COLUMN_NAME);
+			sb.append(" FROM ");
+			jdbcDatabaseType.appendTempTableName(sb, tempTableName);
+			String selectTempTableIds = sb.toString();
+			sb.setLength(0);
+			sb.append("DELETE FROM ");
+			jdbcDatabaseType.appendTempTableName(sb, tempTableName);
+			this.clearTempTableStatement = sb.toString();
+			sb.setLength(0);
+			sb.append("INSERT INTO ");
+			jdbcDatabaseType.appendTempTableName(sb, tempTableName);
+			sb.append(" (");
+			databaseType.appendEscapedEntityName(sb, TEMP_TABLE_COLUMN_NAME);
+			sb.append(") VALUES (?)");
+			this.insertTempTableStatement = sb.toString();
+			this.insertTempTableFieldTypes = new FieldType[] { idField };
+			// IN instead of a join so duplicate ids don't duplicate the rows
+			sb.setLength(0);
+			sb.append(selectIdInPrefix).append("WHERE ");
+			databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+			sb.append(" IN (").append(selectTempTableIds).append(')');
+			this.selectTempTableStatement = sb.toString();
+			sb.setLength(0);
+			sb.append(deleteIdInPrefix).append("WHERE ");
+			databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+			sb.append(" IN (").append(selectTempTableIds).append(')');
+			this.deleteTempTableStatement = sb.toString();
+		}
+
+		// INSERT INTO table (id,col1) VALUES (?,?) ON CONFLICT (id) DO UPDATE SET col1 = EXCLUDED.col1, etc.
+		if (idField != null && !idField.isGeneratedId() && isUpsertSupported(databaseType, tableInfo)) {
+			fieldTypeList.clear();
+			List<String> columnNames = new ArrayList<String>();
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isForeignCollection() && !fieldType.isReadOnly()) {
+					fieldTypeList.add(fieldType);
+					columnNames.add(fieldType.getColumnName());
+				}
+			}
+			sb.setLength(0);
+			appendEscapedTableName(databaseType, sb);
+			String tableName = sb.toString();
+			sb.setLength(0);
+			((JdbcDatabaseType) databaseType).appendUpsert(sb, tableName, idField.getColumnName(), columnNames);
+			this.upsertStatement = new BatchStatement<T, ID>(dao, tableInfo, sb.toString(),
+					fieldTypeList.toArray(new FieldType[fieldTypeList.size()]));
+		} else {
+			this.upsertStatement = null;
+		}
+	}
+
+	/**
+	 * Return true if the upsert of the database type only fires on a conflicting id in this table.
+	 */
+	private static boolean isUpsertSupported(DatabaseType databaseType, TableInfo<?, ?> tableInfo) {
+		if (!(databaseType instanceof JdbcDatabaseType)) {
+			return false;
+		}
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		if (!jdbcDatabaseType.isUpsertSupported()) {
+			return false;
+		}
+		if (jdbcDatabaseType.isUpsertOnAnyUniqueKey()) {
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isId() && (fieldType.isUnique() || fieldType.isUniqueCombo()
+						|| fieldType.getUniqueIndexName() != null)) {
+					// a conflict on the other unique column would update that row instead
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create all of the objects in the database, assigning their generated ids. Returns the number of rows inserted.
+	 */
+	public int create(final Collection<T> datas) throws SQLException {
+		if (datas.isEmpty()) {
+			return 0;
+		}
+		return callWithConnection(datas, batchSize, isDaoObjects(), new ConnectionCallable<T>() {
+			@Override
+			public int call(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+				return insertBatch(connection, batch);
+			}
+
+			@Override
+			public int call(T data) throws SQLException {
+				return dao.create(data);
+			}
+		});
+	}
+
+	/**
+	 * Update all of the objects in the database using their ids. Returns the number of rows updated.
+	 */
+	public int update(final Collection<T> datas) throws SQLException {
+		checkIdField("update");
+		if (datas.isEmpty() || updateStatement == null) {
+			return 0;
+		}
+		return callWithConnection(datas, batchSize, isDaoObjects(), new ConnectionCallable<T>() {
+			@Override
+			public int call(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+				return updateBatch(connection, batch);
+			}
+
+			@Override
+			public int call(T data) throws SQLException {
+				return dao.update(data);
+			}
+		});
+	}
+
+	/**
+	 * Create or update each of the objects by its id like {@link Dao#createOrUpdate(Object)}. Returns the number of
+	 * rows created or updated.
+	 *
+	 * <p>
+	 * If the id is generated then the objects with ids are updated in batches and the ones that didn't update a row
+	 * are created along with the ones without ids, which are given new generated ids. The id column is never inserted
+	 * unless the id field allows generated id inserts since that fails with SQL Server IDENTITY columns and doesn't
+	 * advance the Postgres sequences.
+	 * </p>
+	 *
+	 * <p>
+	 * Otherwise the objects are inserted or updated using the upsert statement of the database type, see
+	 * {@link JdbcDatabaseType#isUpsertSupported()}, which also closes the race between the query and the insert of
+	 * {@link Dao#createOrUpdate(Object)}. If the database type does not support upserts, or if its upsert fires on any
+	 * unique key and the table has unique columns other than the id (see
+	 * {@link JdbcDatabaseType#isUpsertOnAnyUniqueKey()}), then {@link Dao#createOrUpdate(Object)} is called for each of
+	 * the objects.
+	 * </p>
+	 */
+	public int createOrUpdate(final Collection<T> datas) throws SQLException {
+		checkIdField("createOrUpdate");
+		if (datas.isEmpty()) {
+			return 0;
+		}
+		return callWithConnection(datas, batchSize, isDaoObjects(), new ConnectionCallable<T>() {
+			@Override
+			public int call(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+				return createOrUpdateBatch(connection, batch);
+			}
+
+			@Override
+			public int call(T data) throws SQLException {
+				return dao.createOrUpdate(data).getNumLinesChanged();
+			}
+		});
+	}
+
+	/**
+	 * Query for the objects with the ids using WHERE id IN statements of up to the batch-size ids each or a temporary
+	 * table of the ids, see {@link #setTempTableMinIds(int)}. Objects that are in the DAO's object cache are returned
+	 * from there and ids that are not in the table are skipped. The objects are not in any particular order.
+	 */
+	public List<T> queryForIds(Collection<ID> ids) throws SQLException {
+		checkIdField("query");
+		List<T> results = new ArrayList<T>(ids.size());
+		if (ids.isEmpty()) {
+			return results;
+		}
+		ObjectCache objectCache = dao.getObjectCache();
+		List<Object> idArgs = new ArrayList<Object>(ids.size());
+		for (ID id : ids) {
+			T cached = null;
+			if (objectCache != null) {
+				cached = objectCache.get(tableInfo.getDataClass(), id);
+			}
+			if (cached == null) {
+				idArgs.add(idField.convertJavaFieldToSqlArgValue(id));
+			} else {
+				results.add(cached);
+			}
+		}
+		if (idArgs.isEmpty()) {
+			return results;
+		}
+		boolean useTempTable = isTempTableCheaper(idArgs.size());
+		DatabaseConnection connection;
+		if (useTempTable) {
+			// we are going to write to the temporary table so it can't be a read-only connection
+			connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		} else {
+			connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		}
+		try {
+			if (!(connection instanceof JdbcDatabaseConnection)) {
+				results.clear();
+				for (ID id : ids) {
+					T result = dao.queryForId(id);
+					if (result != null) {
+						results.add(result);
+					}
+				}
+				return results;
+			}
+			JdbcDatabaseConnection jdbcConnection = (JdbcDatabaseConnection) connection;
+			GenericRowMapper<T> rowMapper = dao.getSelectStarRowMapper();
+			if (useTempTable) {
+				loadTempTable(jdbcConnection, idArgs);
+				try {
+					addQueryResults(jdbcConnection.compileStatement(selectTempTableStatement, StatementType.SELECT,
+							NO_FIELD_TYPES, DatabaseConnection.DEFAULT_RESULT_FLAGS, true), rowMapper, objectCache,
+							results);
+				} finally {
+					clearTempTable(jdbcConnection);
+				}
+				logger.debug("query for {} ids with statement '{}'", idArgs.size(), selectTempTableStatement);
+				return results;
+			}
+			int idsPerStatement = getIdsPerStatement();
+			for (int start = 0; start < idArgs.size(); start += idsPerStatement) {
+				List<Object> statementIdArgs =
+						idArgs.subList(start, Math.min(start + idsPerStatement, idArgs.size()));
+				CompiledStatement compiledStatement = compileIdIn(jdbcConnection, selectIdInStatements,
+						selectIdInPrefix, StatementType.SELECT, statementIdArgs);
+				addQueryResults(compiledStatement, rowMapper, objectCache, results);
+				logger.debug("query for {} ids with statement '{}'", statementIdArgs.size(), compiledStatement);
+			}
+			return results;
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Delete all of the objects from the database using their ids. Returns the number of rows deleted.
+	 */
+	public int delete(final Collection<T> datas) throws SQLException {
+		checkIdField("delete");
+		if (datas.isEmpty()) {
+			return 0;
+		}
+		return callWithConnection(datas, getIdsPerCall(datas.size()), false, new ConnectionCallable<T>() {
+			@Override
+			public int call(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+				List<Object> idArgs = new ArrayList<Object>(batch.size());
+				for (T data : batch) {
+					idArgs.add(idField.extractJavaFieldToSqlArgValue(data));
+				}
+				int rowC = deleteIdArgs(connection, idArgs);
+				ObjectCache objectCache = dao.getObjectCache();
+				if (objectCache != null) {
+					for (T data : batch) {
+						objectCache.remove(tableInfo.getDataClass(), idField.extractJavaFieldValue(data));
+					}
+				}
+				return rowC;
+			}
+
+			@Override
+			public int call(T data) throws SQLException {
+				return dao.delete(data);
+			}
+		});
+	}
+
+	/**
+	 * Delete the rows with the ids from the database. Returns the number of rows deleted.
+	 */
+	public int deleteIds(final Collection<ID> ids) throws SQLException {
+		checkIdField("delete");
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		return callWithConnection(ids, getIdsPerCall(ids.size()), false, new ConnectionCallable<ID>() {
+			@Override
+			public int call(JdbcDatabaseConnection connection, List<ID> batch) throws SQLException {
+				List<Object> idArgs = new ArrayList<Object>(batch.size());
+				for (ID id : batch) {
+					idArgs.add(idField.convertJavaFieldToSqlArgValue(id));
+				}
+				int rowC = deleteIdArgs(connection, idArgs);
+				ObjectCache objectCache = dao.getObjectCache();
+				if (objectCache != null) {
+					for (ID id : batch) {
+						objectCache.remove(tableInfo.getDataClass(), id);
+					}
+				}
+				return rowC;
+			}
+
+			@Override
+			public int call(ID id) throws SQLException {
+				return dao.deleteById(id);
+			}
+		});
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the number of rows sent to the database in each JDBC batch. Default is {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	public boolean isMultiRowInsert() {
+		return multiRowInsert;
+	}
+
+	/**
+	 * Set to true to insert the rows using multi-row INSERT INTO ... VALUES (...),(...) statements instead of a JDBC
+	 * batch of single row inserts. This is ignored if the database type doesn't support them or if the database has
+	 * to generate ids and the driver can't return the ids of all of the rows. Default is false.
+	 */
+	public void setMultiRowInsert(boolean multiRowInsert) {
+		this.multiRowInsert = multiRowInsert;
+	}
+
+	public int getTempTableMinIds() {
+		return tempTableMinIds;
+	}
+
+	/**
+	 * Set the minimum number of ids that {@link #queryForIds(Collection)}, {@link #delete(Collection)}, and
+	 * {@link #deleteIds(Collection)} load into a temporary table instead of splitting them into WHERE id IN
+	 * statements. The temporary table is only used if it takes fewer statements and the database type has them, see
+	 * {@link JdbcDatabaseType#getTempTableColumnType(com.j256.ormlite.field.SqlType)}. Set to 0 to never use it.
+	 * Default is {@link #DEFAULT_TEMP_TABLE_MIN_IDS}.
+	 */
+	public void setTempTableMinIds(int tempTableMinIds) {
+		this.tempTableMinIds = tempTableMinIds;
+	}
+
+	/**
+	 * Run the callable on each batch of up to batchSize items inside of the DAO's batch tasks. If perItem is true then
+	 * it is run on each of the items instead.
+	 */
+	private <V> int callWithConnection(final Collection<V> items, final int batchSize, final boolean perItem,
+			final ConnectionCallable<V> callable) throws SQLException {
+		Callable<Integer> batchCallable = new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				// this is the connection that was saved by the batch tasks
+				DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+				try {
+					int rowC = 0;
+					if (perItem || !(connection instanceof JdbcDatabaseConnection)) {
+						for (V item : items) {
+							rowC += callable.call(item);
+						}
+						return rowC;
+					}
+					JdbcDatabaseConnection jdbcConnection = (JdbcDatabaseConnection) connection;
+					List<V> batch = new ArrayList<V>(Math.min(batchSize, items.size()));
+					Iterator<V> iterator = items.iterator();
+					while (iterator.hasNext()) {
+						batch.add(iterator.next());
+						if (batch.size() == batchSize || !iterator.hasNext()) {
+							rowC += callable.call(jdbcConnection, batch);
+							batch.clear();
+						}
+					}
+					return rowC;
+				} finally {
+					connectionSource.releaseConnection(connection);
+				}
+			}
+		};
+		try {
+			return dao.callBatchTasks(batchCallable);
+		} catch (SQLException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SQLException("Batch tasks callable threw non-SQL exception", e);
+		}
+	}
+
+	private int insertBatch(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+		List<Object[]> argsList = new ArrayList<Object[]>(batch.size());
+		// the objects that need the id that the database generates
+		List<T> keyDatas = null;
+		boolean[] needsKeys = new boolean[batch.size()];
+		int rowC = 0;
+		for (T data : batch) {
+			if (idField != null && !(idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data))) {
+				if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
+					idField.assignField(connectionSource, data, idField.generateId(), false, null);
+				} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+					assignSequenceId(connection, data);
+				} else if (idField.isGeneratedId()) {
+					if (keyDatas == null) {
+						keyDatas = new ArrayList<T>(batch.size());
+					}
+					keyDatas.add(data);
+					needsKeys[rowC] = true;
+				}
+			}
+			argsList.add(insertStatement.getArgs(data));
+			rowC++;
+		}
+
+		KeysHolder keyHolder = null;
+		if (keyDatas != null) {
+			keyHolder = new KeysHolder(idField.getColumnName(), batch.size());
+		}
+		String statement = insertStatement.getStatement();
+		int[] rowCounts;
+		int rowsPerInsert = Math.min(maxMultiRowInsertRows, batchSize);
+		try {
+			if (multiRowInsert && rowsPerInsert > 1 && batch.size() > 1
+					&& (keyHolder == null || multiRowInsertKeys || multiRowInsertReturning)) {
+				rowCounts = insertMultiRow(connection, argsList, rowsPerInsert, keyHolder);
+				logger.debug("insert batch of {} rows with {} rows per statement '{}'", batch.size(), rowsPerInsert,
+						statement);
+			} else {
+				rowCounts = connection.insertBatch(statement, argsList, insertStatement.getTypeVals(), keyHolder,
+						batchSize);
+				logger.debug("insert batch of {} rows with statement '{}'", batch.size(), statement);
+			}
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run insert batch of " + batch.size() + " rows: " + statement, e);
+		}
+
+		if (keyHolder != null) {
+			assignKeys(batch, keyDatas, needsKeys, keyHolder.keys);
+		}
+		return sumRowCounts(rowCounts);
+	}
+
+	/**
+	 * Insert the rows with a JDBC batch of multi-row inserts of rowsPerInsert rows each followed by one insert with the
+	 * rest of the rows. If the driver can't return the generated keys of a multi-row batch then each of the inserts
+	 * returns its ids itself instead.
+	 */
+	private int[] insertMultiRow(JdbcDatabaseConnection connection, List<Object[]> argsList, int rowsPerInsert,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		int numRows = argsList.size();
+		int[] rowCounts = new int[numRows];
+		if (keyHolder != null && !multiRowInsertKeys) {
+			for (int start = 0; start < numRows; start += rowsPerInsert) {
+				int insertRows = Math.min(rowsPerInsert, numRows - start);
+				MultiRowInsert insert = getMultiRowInsert(insertRows);
+				int rowC = connection.insertReturning(insert.returningStatement,
+						joinArgs(argsList, start, insertRows), insert.argFieldTypes, keyHolder);
+				assignRowCounts(rowCounts, start, insertRows, rowC);
+			}
+			return rowCounts;
+		}
+		int fullInsertC = numRows / rowsPerInsert;
+		if (fullInsertC > 0) {
+			List<Object[]> insertArgsList = new ArrayList<Object[]>(fullInsertC);
+			for (int i = 0; i < fullInsertC; i++) {
+				insertArgsList.add(joinArgs(argsList, i * rowsPerInsert, rowsPerInsert));
+			}
+			MultiRowInsert insert = getMultiRowInsert(rowsPerInsert);
+			int[] insertCounts =
+					connection.insertBatch(insert.statement, insertArgsList, insert.typeVals, keyHolder, 0);
+			for (int i = 0; i < fullInsertC; i++) {
+				assignRowCounts(rowCounts, i * rowsPerInsert, rowsPerInsert, insertCounts[i]);
+			}
+		}
+		int start = fullInsertC * rowsPerInsert;
+		if (start < numRows) {
+			MultiRowInsert insert = getMultiRowInsert(numRows - start);
+			int rowC = connection.insert(insert.statement, joinArgs(argsList, start, numRows - start),
+					insert.argFieldTypes, keyHolder);
+			assignRowCounts(rowCounts, start, numRows - start, rowC);
+		}
+		return rowCounts;
+	}
+
+	/**
+	 * Return the insert statement for this number of rows, building it the first time.
+	 */
+	private MultiRowInsert getMultiRowInsert(int numRows) throws SQLException {
+		MultiRowInsert insert = multiRowInserts.get(numRows);
+		if (insert != null) {
+			return insert;
+		}
+		String statement = insertStatement.getStatement();
+		FieldType[] insertFieldTypes = insertStatement.getArgFieldTypes();
+		int[] insertTypeVals = insertStatement.getTypeVals();
+		StringBuilder sb = new StringBuilder(statement.length() + numRows * (insertFieldTypes.length * 2 + 2));
+		sb.append(statement);
+		FieldType[] argFieldTypes = new FieldType[numRows * insertFieldTypes.length];
+		System.arraycopy(insertFieldTypes, 0, argFieldTypes, 0, insertFieldTypes.length);
+		int[] typeVals = new int[argFieldTypes.length];
+		System.arraycopy(insertTypeVals, 0, typeVals, 0, insertTypeVals.length);
+		for (int rowC = 1; rowC < numRows; rowC++) {
+			sb.append(",(");
+			for (int i = 0; i < insertFieldTypes.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append('?');
+			}
+			sb.append(')');
+			System.arraycopy(insertFieldTypes, 0, argFieldTypes, rowC * insertFieldTypes.length,
+					insertFieldTypes.length);
+			System.arraycopy(insertTypeVals, 0, typeVals, rowC * insertTypeVals.length, insertTypeVals.length);
+		}
+		statement = sb.toString();
+		String returningStatement = null;
+		if (multiRowInsertReturning) {
+			sb.setLength(0);
+			((JdbcDatabaseType) databaseType).appendInsertReturning(sb, statement, idField.getColumnName());
+			returningStatement = sb.toString();
+		}
+		insert = new MultiRowInsert(statement, returningStatement, argFieldTypes, typeVals);
+		multiRowInserts.putIfAbsent(numRows, insert);
+		return insert;
+	}
+
+	private int createOrUpdateBatch(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+		if (idField.isGeneratedId()) {
+			return createOrUpdateGeneratedIds(connection, batch);
+		}
+		if (upsertStatement == null) {
+			return daoCreateOrUpdate(batch);
+		}
+
+		List<Object[]> argsList = new ArrayList<Object[]>(batch.size());
+		for (T data : batch) {
+			argsList.add(upsertStatement.getArgs(data));
+		}
+		String statement = upsertStatement.getStatement();
+		int[] rowCounts;
+		try {
+			rowCounts = connection.upsertBatch(statement, argsList, upsertStatement.getTypeVals(), batchSize);
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run upsert batch of " + batch.size() + " rows: " + statement, e);
+		}
+		logger.debug("upsert batch of {} rows with statement '{}'", batch.size(), statement);
+
+		int changedC = 0;
+		for (int rowCount : rowCounts) {
+			// MySQL says that 2 rows were changed when it updates an existing row
+			if (rowCount(rowCount) > 0) {
+				changedC++;
+			}
+		}
+		return changedC;
+	}
+
+	/**
+	 * Update the objects that have generated ids and then create the ones that didn't update a row along with the ones
+	 * without ids.
+	 */
+	private int createOrUpdateGeneratedIds(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+		List<T> createDatas = new ArrayList<T>();
+		List<T> updateDatas = new ArrayList<T>(batch.size());
+		for (T data : batch) {
+			if (idField.isObjectsFieldValueDefault(data)) {
+				createDatas.add(data);
+			} else {
+				updateDatas.add(data);
+			}
+		}
+		if (updateStatement == null) {
+			// nothing to update so the DAO checks whether each of the ids exists
+			return daoCreateOrUpdate(batch);
+		}
+		int changedC = 0;
+		if (!updateDatas.isEmpty()) {
+			int[] rowCounts = runUpdateBatch(connection, updateDatas);
+			for (int i = 0; i < rowCounts.length; i++) {
+				if (rowCounts[i] == Statement.SUCCESS_NO_INFO) {
+					// the driver doesn't say whether the row was updated so the DAO checks whether the id exists
+					changedC += dao.createOrUpdate(updateDatas.get(i)).getNumLinesChanged();
+				} else if (rowCounts[i] > 0) {
+					changedC++;
+				} else {
+					createDatas.add(updateDatas.get(i));
+				}
+			}
+		}
+		if (!createDatas.isEmpty()) {
+			changedC += insertBatch(connection, createDatas);
+		}
+		return changedC;
+	}
+
+	private int daoCreateOrUpdate(List<T> batch) throws SQLException {
+		int rowC = 0;
+		for (T data : batch) {
+			rowC += dao.createOrUpdate(data).getNumLinesChanged();
+		}
+		return rowC;
+	}
+
+	private int updateBatch(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+		return sumRowCounts(runUpdateBatch(connection, batch));
+	}
+
+	private int[] runUpdateBatch(JdbcDatabaseConnection connection, List<T> batch) throws SQLException {
+		List<Object[]> argsList = new ArrayList<Object[]>(batch.size());
+		for (T data : batch) {
+			argsList.add(updateStatement.getArgs(data));
+		}
+		String statement = updateStatement.getStatement();
+		int[] rowCounts;
+		try {
+			rowCounts = connection.updateBatch(statement, argsList, updateStatement.getTypeVals(), batchSize);
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run update batch of " + batch.size() + " rows: " + statement, e);
+		}
+		logger.debug("update batch of {} rows with statement '{}'", batch.size(), statement);
+		return rowCounts;
+	}
+
+	private int deleteIdArgs(JdbcDatabaseConnection connection, List<Object> idArgs) throws SQLException {
+		if (isTempTableCheaper(idArgs.size())) {
+			loadTempTable(connection, idArgs);
+			try {
+				int rowC = connection.delete(deleteTempTableStatement, NO_ARGS, NO_FIELD_TYPES);
+				logger.debug("delete of {} ids with statement '{}' changed {} rows", idArgs.size(),
+						deleteTempTableStatement, rowC);
+				return rowC;
+			} finally {
+				clearTempTable(connection);
+			}
+		}
+		CompiledStatement compiledStatement =
+				compileIdIn(connection, deleteIdInStatements, deleteIdInPrefix, StatementType.DELETE, idArgs);
+		try {
+			int rowC = compiledStatement.runUpdate();
+			logger.debug("delete of {} ids with statement '{}' changed {} rows", idArgs.size(), compiledStatement,
+					rowC);
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException("Unable to delete " + idArgs.size() + " ids: " + compiledStatement, e);
+		} finally {
+			IOUtils.closeQuietly(compiledStatement);
+		}
+	}
+
+	/**
+	 * Compile the statement that has the WHERE id IN clause for the ids and set its arguments.
+	 */
+	private CompiledStatement compileIdIn(JdbcDatabaseConnection connection,
+			ConcurrentHashMap<Integer, String> statements, String prefix, StatementType type, List<Object> idArgs)
+			throws SQLException {
+		int numArgs;
+		if (idArrayTypeName == null) {
+			numArgs = paddedIdCount(idArgs.size());
+		} else {
+			numArgs = 1;
+		}
+		String statement = statements.get(numArgs);
+		if (statement == null) {
+			statement = buildIdIn(prefix, numArgs);
+			statements.putIfAbsent(numArgs, statement);
+		}
+		FieldType[] argFieldTypes = new FieldType[numArgs];
+		Arrays.fill(argFieldTypes, idField);
+		JdbcCompiledStatement compiledStatement = (JdbcCompiledStatement) connection.compileStatement(statement, type,
+				argFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS, true);
+		try {
+			if (idArrayTypeName == null) {
+				for (int i = 0; i < numArgs; i++) {
+					// the padding repeats the last id which doesn't change which rows match
+					compiledStatement.setObject(i, idArgs.get(Math.min(i, idArgs.size() - 1)), idField.getSqlType());
+				}
+			} else {
+				compiledStatement.setArray(0, idArrayTypeName, idArgs.toArray());
+			}
+		} catch (SQLException e) {
+			IOUtils.closeQuietly(compiledStatement);
+			throw e;
+		}
+		return compiledStatement;
+	}
+
+	private String buildIdIn(String prefix, int numArgs) {
+		StringBuilder sb = new StringBuilder(prefix.length() + 32 + numArgs * 2);
+		sb.append(prefix).append("WHERE ");
+		if (idArrayTypeName != null) {
+			((JdbcDatabaseType) databaseType).appendInArrayArgument(sb, idField.getColumnName());
+			return sb.toString();
+		}
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" IN (");
+		for (int i = 0; i < numArgs; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(')');
+		return sb.toString();
+	}
+
+	/**
+	 * Round the number of ids up to a power of two so only a few IN list lengths are ever used.
+	 */
+	private int paddedIdCount(int numIds) {
+		int padded = Integer.highestOneBit(numIds);
+		if (padded < numIds) {
+			padded <<= 1;
+		}
+		if (maxIdsPerStatement > 0 && padded > maxIdsPerStatement) {
+			// the ids per statement are limited to this
+			return maxIdsPerStatement;
+		}
+		return padded;
+	}
+
+	private int getIdsPerStatement() {
+		if (maxIdsPerStatement > 0 && maxIdsPerStatement < batchSize) {
+			return maxIdsPerStatement;
+		} else {
+			return batchSize;
+		}
+	}
+
+	/**
+	 * Return the number of ids to delete in each call, all of them if they are going into the temporary table.
+	 */
+	private int getIdsPerCall(int numIds) {
+		if (isTempTableCheaper(numIds)) {
+			return numIds;
+		} else {
+			return getIdsPerStatement();
+		}
+	}
+
+	/**
+	 * Return true if loading the ids into the temporary table takes fewer statements than the WHERE id IN statements.
+	 */
+	private boolean isTempTableCheaper(int numIds) {
+		if (createTempTableStatement == null || tempTableMinIds <= 0 || numIds < tempTableMinIds) {
+			return false;
+		}
+		int idsPerStatement = getIdsPerStatement();
+		int statementCount = (numIds + idsPerStatement - 1) / idsPerStatement;
+		return (statementCount > TEMP_TABLE_STATEMENT_COUNT);
+	}
+
+	/**
+	 * Create the connection's temporary table if it doesn't exist and load the ids into it with a single JDBC batch.
+	 * The table is cleared first in case an earlier clear failed.
+	 */
+	private void loadTempTable(JdbcDatabaseConnection connection, List<Object> idArgs) throws SQLException {
+		connection.update(createTempTableStatement, NO_ARGS, NO_FIELD_TYPES);
+		connection.delete(clearTempTableStatement, NO_ARGS, NO_FIELD_TYPES);
+		List<Object[]> argsList = new ArrayList<Object[]>(idArgs.size());
+		for (Object idArg : idArgs) {
+			argsList.add(new Object[] { idArg });
+		}
+		connection.insertBatch(insertTempTableStatement, argsList, insertTempTableFieldTypes, null, 0);
+	}
+
+	/**
+	 * Remove the ids from the temporary table. If this fails then the ids are cleared before the next load.
+	 */
+	private void clearTempTable(JdbcDatabaseConnection connection) {
+		try {
+			connection.delete(clearTempTableStatement, NO_ARGS, NO_FIELD_TYPES);
+		} catch (SQLException e) {
+			logger.warn(e, "could not clear the temporary table with statement '{}'", clearTempTableStatement);
+		}
+	}
+
+	/**
+	 * Run the query, add the objects that it returns to the results, and close it.
+	 */
+	private void addQueryResults(CompiledStatement compiledStatement, GenericRowMapper<T> rowMapper,
+			ObjectCache objectCache, List<T> results) throws SQLException {
+		DatabaseResults databaseResults = null;
+		try {
+			databaseResults = compiledStatement.runQuery(objectCache);
+			while (databaseResults.next()) {
+				results.add(rowMapper.mapRow(databaseResults));
+			}
+		} finally {
+			IOUtils.closeQuietly(databaseResults);
+			IOUtils.closeQuietly(compiledStatement);
+		}
+	}
+
+	/**
+	 * Assign the generated keys to the objects that needed them. Some drivers return a key for every row in the batch
+	 * and others only for the rows that did not supply their own id.
+	 */
+	private void assignKeys(List<T> batch, List<T> keyDatas, boolean[] needsKeys, List<Number> keys)
+			throws SQLException {
+		if (keys.size() == keyDatas.size()) {
+			for (int i = 0; i < keys.size(); i++) {
+				assignKey(keyDatas.get(i), keys.get(i));
+			}
+		} else if (keys.size() == batch.size()) {
+			for (int i = 0; i < keys.size(); i++) {
+				if (needsKeys[i]) {
+					assignKey(batch.get(i), keys.get(i));
+				}
+			}
+		} else {
+			throw new SQLException("Expected " + keyDatas.size() + " generated-id keys from the insert batch but got "
+					+ keys.size() + ", maybe a schema mismatch between entity and database table?: "
+					+ insertStatement.getStatement());
+		}
+	}
+
+	private void assignKey(T data, Number key) throws SQLException {
+		if (key == null || key.longValue() == 0L) {
+			throw new SQLException("generated-id key must not be " + key
+					+ " value, maybe a schema mismatch between entity and database table?");
+		}
+		idField.assignIdValue(connectionSource, data, key, null);
+	}
+
+	private void assignSequenceId(JdbcDatabaseConnection connection, T data) throws SQLException {
+		StringBuilder sb = new StringBuilder(64);
+		databaseType.appendSelectNextValFromSequence(sb, idField.getGeneratedIdSequence());
+		String queryNextSequenceStmt = sb.toString();
+		long seqVal = connection.queryForLong(queryNextSequenceStmt);
+		logger.debug("queried for sequence {} using stmt: {}", seqVal, queryNextSequenceStmt);
+		if (seqVal == 0) {
+			// sanity check that it is working
+			throw new SQLException("Should not have returned 0 for stmt: " + queryNextSequenceStmt);
+		}
+		idField.assignIdValue(connectionSource, data, seqVal, null);
+	}
+
+	/**
+	 * Return true if the objects have to go through the DAO one at a time because of their version or foreignAutoCreate
+	 * fields or because the DAO has an object cache that has to be kept up to date.
+	 */
+	private boolean isDaoObjects() {
+		return (daoFields || dao.getObjectCache() != null);
+	}
+
+	private void checkIdField(String label) throws SQLException {
+		if (idField == null) {
+			throw new SQLException(
+					"Cannot " + label + " " + tableInfo.getDataClass() + " because it doesn't have an id field");
+		}
+	}
+
+	private void appendTableName(DatabaseType databaseType, StringBuilder sb, String prefix) {
+		sb.append(prefix);
+		appendEscapedTableName(databaseType, sb);
+		sb.append(' ');
+	}
+
+	private void appendEscapedTableName(DatabaseType databaseType, StringBuilder sb) {
+		if (tableInfo.getSchemaName() != null && tableInfo.getSchemaName().length() > 0) {
+			databaseType.appendEscapedEntityName(sb, tableInfo.getSchemaName());
+			sb.append('.');
+		}
+		databaseType.appendEscapedEntityName(sb, tableInfo.getTableName());
+	}
+
+	private void appendWhereId(DatabaseType databaseType, StringBuilder sb) {
+		sb.append(" WHERE ");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" = ?");
+	}
+
+	private static void appendColumnNames(DatabaseType databaseType, StringBuilder sb, List<FieldType> fieldTypes) {
+		boolean first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			databaseType.appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+	}
+
+	private static boolean isFieldCreatable(DatabaseType databaseType, FieldType fieldType) {
+		if (fieldType.isForeignCollection() || fieldType.isReadOnly()) {
+			return false;
+		} else if (databaseType.isIdSequenceNeeded() && databaseType.isSelectSequenceBeforeInsert()) {
+			// we query for the next value from the sequence and the id field is inserted
+			return true;
+		} else if (fieldType.isGeneratedId() && !fieldType.isSelfGeneratedId()
+				&& !fieldType.isAllowGeneratedIdInsert()) {
+			// skip generated-id fields because they will be auto-inserted
+			return false;
+		} else {
+			return true;
+		}
+	}
+
+	/**
+	 * Return the smaller of the limits where 0 means no limit.
+	 */
+	private static int minLimit(int limit1, int limit2) {
+		if (limit1 <= 0) {
+			return limit2;
+		} else if (limit2 <= 0) {
+			return limit1;
+		} else {
+			return Math.min(limit1, limit2);
+		}
+	}
+
+	private static Object[] joinArgs(List<Object[]> argsList, int start, int numRows) {
+		int numArgs = argsList.get(start).length;
+		Object[] args = new Object[numRows * numArgs];
+		for (int i = 0; i < numRows; i++) {
+			System.arraycopy(argsList.get(start + i), 0, args, i * numArgs, numArgs);
+		}
+		return args;
+	}
+
+	/**
+	 * Spread the row count of a multi-row insert over the rows that it inserted.
+	 */
+	private static void assignRowCounts(int[] rowCounts, int start, int numRows, int rowCount) {
+		for (int i = 0; i < numRows; i++) {
+			if (rowCount == Statement.SUCCESS_NO_INFO) {
+				rowCounts[start + i] = Statement.SUCCESS_NO_INFO;
+			} else if (i < rowCount) {
+				rowCounts[start + i] = 1;
+			} else {
+				rowCounts[start + i] = 0;
+			}
+		}
+	}
+
+	private static int sumRowCounts(int[] rowCounts) {
+		int changedC = 0;
+		for (int rowCount : rowCounts) {
+			changedC += rowCount(rowCount);
+		}
+		return changedC;
+	}
+
+	/**
+	 * Some drivers don't know how many rows each of the statements in a batch changed.
+	 */
+	private static int rowCount(int batchRowCount) {
+		if (batchRowCount == Statement.SUCCESS_NO_INFO) {
+			return 1;
+		} else if (batchRowCount < 0) {
+			return 0;
+		} else {
+			return batchRowCount;
+		}
+	}
+
+	/**
+	 * Work that is done on each batch of items or on each item if the connection is not a JDBC one.
+	 */
+	private interface ConnectionCallable<V> {
+		public int call(JdbcDatabaseConnection connection, List<V> batch) throws SQLException;
+
+		public int call(V item) throws SQLException;
+	}
+
+	/**
+	 * Statement that is run in batches along with its argument types. It is a core mapped statement so the arguments are
+	 * pulled from the objects in the same way as the DAO's own statements.
+	 */
+	private static class BatchStatement<T, ID> extends BaseMappedStatement<T, ID> {
+
+		// type values of the arguments which are looked up once for all of the batches
+		private volatile int[] typeVals;
+
+		public BatchStatement(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement,
+				FieldType[] argFieldTypes) {
+			super(dao, tableInfo, statement, argFieldTypes);
+		}
+
+		public String getStatement() {
+			return statement;
+		}
+
+		public FieldType[] getArgFieldTypes() {
+			return argFieldTypes;
+		}
+
+		public Object[] getArgs(T data) throws SQLException {
+			return getFieldObjects(data);
+		}
+
+		public int[] getTypeVals() throws SQLException {
+			if (typeVals == null) {
+				// if more than one thread gets here they all build the same values
+				typeVals = TypeValMapper.getTypeValsForFieldTypes(argFieldTypes);
+			}
+			return typeVals;
+		}
+	}
+
+	/**
+	 * Insert statement for a number of rows along with its argument types.
+	 */
+	private static class MultiRowInsert {
+
+		final String statement;
+		// statement that also returns the generated ids or null if not needed
+		final String returningStatement;
+		final FieldType[] argFieldTypes;
+		final int[] typeVals;
+
+		public MultiRowInsert(String statement, String returningStatement, FieldType[] argFieldTypes,
+				int[] typeVals) {
+			this.statement = statement;
+			this.returningStatement = returningStatement;
+			this.argFieldTypes = argFieldTypes;
+			this.typeVals = typeVals;
+		}
+	}
+
+	/**
+	 * Key holder which collects the generated keys of all of the rows in a batch.
+	 */
+	private static class KeysHolder implements GeneratedKeyHolder {
+
+		final String columnName;
+		final List<Number> keys;
+
+		public KeysHolder(String columnName, int numRows) {
+			this.columnName = columnName;
+			this.keys = new ArrayList<Number>(numRows);
+		}
+
+		@Override
+		public String getColumnName() {
+			return columnName;
+		}
+
+		@Override
+		public void addKey(Number key) {
+			keys.add(key);
+		}
+	}
+}
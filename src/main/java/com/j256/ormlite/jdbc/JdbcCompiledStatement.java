@@ -1,11 +1,15 @@
 package com.j256.ormlite.jdbc;
 
+import java.sql.Array;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.db.JdbcDatabaseType;
 import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
@@ -23,6 +27,12 @@ public class JdbcCompiledStatement implements CompiledStatement {
 	private final StatementType type;
 	private final boolean cacheStore;
 	private ResultSetMetaData metaData = null;
+	// set if the prepared statement should go back into the connection's cache when we are closed
+	private PreparedStatementCache statementCache;
+	private PreparedStatementCache.Key statementKey;
+	private boolean reusable = true;
+	private boolean settingsChanged;
+	private boolean closed;
 
 	public JdbcCompiledStatement(PreparedStatement preparedStatement, String statement, StatementType type,
 			boolean cacheStore) {
@@ -54,7 +64,11 @@ public class JdbcCompiledStatement implements CompiledStatement {
 		if (!type.isOkForUpdate()) {
 			throw new IllegalArgumentException("Cannot call update on a " + type + " statement");
 		}
-		return preparedStatement.executeUpdate();
+		// if this throws then we don't know what state the statement is in so it won't be reused
+		reusable = false;
+		int result = preparedStatement.executeUpdate();
+		reusable = true;
+		return result;
 	}
 
 	@Override
@@ -62,7 +76,12 @@ public class JdbcCompiledStatement implements CompiledStatement {
 		if (!type.isOkForQuery()) {
 			throw new IllegalArgumentException("Cannot call query on a " + type + " statement");
 		}
-		return new JdbcDatabaseResults(preparedStatement, preparedStatement.executeQuery(), objectCache, cacheStore);
+		reusable = false;
+		DatabaseResults results =
+				new JdbcDatabaseResults(preparedStatement, preparedStatement.executeQuery(), objectCache, cacheStore,
+						statement);
+		reusable = true;
+		return results;
 	}
 
 	@Override
@@ -70,17 +89,15 @@ public class JdbcCompiledStatement implements CompiledStatement {
 		if (!type.isOkForExecute()) {
 			throw new IllegalArgumentException("Cannot call execute on a " + type + " statement");
 		}
+		reusable = false;
 		preparedStatement.execute();
+		reusable = true;
 		return preparedStatement.getUpdateCount();
 	}
 
 	@Override
 	public void close() throws SQLException {
-		try {
-			preparedStatement.close();
-		} catch (SQLException e) {
-			throw new SQLException("could not close prepared statement", e);
-		}
+		closeStatement();
 	}
 
 	@Override
@@ -95,23 +112,41 @@ public class JdbcCompiledStatement implements CompiledStatement {
 
 	@Override
 	public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
-		if (obj == null) {
-			preparedStatement.setNull(parameterIndex + 1, TypeValMapper.getTypeValForSqlType(sqlType));
-		} else {
-			preparedStatement.setObject(parameterIndex + 1, obj, TypeValMapper.getTypeValForSqlType(sqlType));
-		}
+		ArgumentBinder.setArgument(preparedStatement, parameterIndex + 1, obj,
+				TypeValMapper.getTypeValForSqlType(sqlType));
+	}
+
+	/**
+	 * Set the argument to an array of the elements so the same statement can be used for any number of them. The type
+	 * name comes from {@link JdbcDatabaseType#getArrayArgumentTypeName(SqlType)}.
+	 */
+	public void setArray(int parameterIndex, String typeName, Object[] elements) throws SQLException {
+		Array array = preparedStatement.getConnection().createArrayOf(typeName, elements);
+		preparedStatement.setArray(parameterIndex + 1, array);
 	}
 
 	@Override
 	public void setMaxRows(int max) throws SQLException {
+		settingsChanged = true;
 		preparedStatement.setMaxRows(max);
 	}
 
 	@Override
 	public void setQueryTimeout(long millis) throws SQLException {
+		settingsChanged = true;
 		preparedStatement.setQueryTimeout(Long.valueOf(millis).intValue() / 1000);
 	}
 
+	/**
+	 * Set the number of rows that the driver should get from the database at a time when the query is run. This is a
+	 * hint and some drivers need other settings before they stream the results. See
+	 * {@link JdbcDatabaseConnection#streamResults(JdbcCompiledStatement, DatabaseType, int)}.
+	 */
+	public void setFetchSize(int fetchSize) throws SQLException {
+		settingsChanged = true;
+		preparedStatement.setFetchSize(fetchSize);
+	}
+
 	@Override
 	public String getStatement() {
 		return statement;
@@ -122,6 +157,56 @@ public class JdbcCompiledStatement implements CompiledStatement {
 		return statement;
 	}
 
+	/**
+	 * Set the cache that the prepared statement is put back into when this is closed.
+	 */
+	void setStatementCache(PreparedStatementCache statementCache, PreparedStatementCache.Key statementKey) {
+		this.statementCache = statementCache;
+		this.statementKey = statementKey;
+	}
+
+	private void closeStatement() throws SQLException {
+		if (statementCache != null) {
+			if (closed) {
+				// make sure that we don't put the statement into the cache twice
+				return;
+			}
+			closed = true;
+			if (reusable && resetForReuse()) {
+				statementCache.release(statementKey, preparedStatement);
+				return;
+			}
+		}
+		try {
+			preparedStatement.close();
+		} catch (SQLException e) {
+			throw new SQLException("could not close prepared statement", e);
+		}
+	}
+
+	/**
+	 * Close any open results and clear the arguments and settings so the next user of the statement starts fresh.
+	 * Returns false if it can't be in which case the statement is closed instead of going back into the cache.
+	 */
+	private boolean resetForReuse() {
+		try {
+			// a result set that wasn't closed would otherwise hold its cursor until the statement is used again
+			ResultSet resultSet = preparedStatement.getResultSet();
+			if (resultSet != null) {
+				resultSet.close();
+			}
+			if (settingsChanged) {
+				preparedStatement.setMaxRows(0);
+				preparedStatement.setQueryTimeout(0);
+				preparedStatement.setFetchSize(0);
+			}
+			preparedStatement.clearParameters();
+			return true;
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Called by {@link JdbcDatabaseResults#next()} to get more results into the existing ResultSet.
 	 */
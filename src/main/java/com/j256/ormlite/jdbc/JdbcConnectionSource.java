@@ -2,9 +2,13 @@ package com.j256.ormlite.jdbc;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -27,6 +31,11 @@ public class JdbcConnectionSource extends BaseJdbcConnectionSource implements Co
 	private String password;
 	private Integer loginTimeoutSecs;
 	private Properties additionalProperties;
+	private int statementCacheSize;
+	private int fetchSize;
+	private boolean streamingResults;
+	private final Map<String, SequenceBlockAllocator> sequenceAllocators =
+			new ConcurrentHashMap<String, SequenceBlockAllocator>();
 
 	/**
 	 * Constructor for Spring type wiring if you are using the set methods. If you are using Spring then your should
@@ -132,6 +141,61 @@ public class JdbcConnectionSource extends BaseJdbcConnectionSource implements Co
 		this.loginTimeoutSecs = loginTimeoutSecs;
 	}
 
+	/**
+	 * Set the number of prepared statements that are cached on each connection so the same SQL isn't prepared again
+	 * every time. Default is 0 which disables the cache. See {@link JdbcDatabaseConnection#setStatementCacheSize(int)}.
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Set the number of rows that the driver gets from the database at a time for queries. Default is 0 which uses the
+	 * driver's default. See {@link JdbcDatabaseConnection#setFetchSize(int)}.
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Set to true to have the queries stream their results from the database using the streaming fetch size of the
+	 * database type. Auto-commit is not changed so on Postgres the queries have to be run in a transaction to be
+	 * streamed. MySQL's row at a time streaming is only used by {@link JdbcStreamingQueries}. Default is false. See
+	 * {@link JdbcDatabaseConnection#setStreamingResults(DatabaseType, int)}.
+	 */
+	public void setStreamingResults(boolean streamingResults) {
+		this.streamingResults = streamingResults;
+	}
+
+	/**
+	 * Hand out the values of a sequence from memory in blocks of ids instead of querying the database for every insert.
+	 * The sequence must have been created with an INCREMENT BY of the block size, see for example
+	 * {@link com.j256.ormlite.jdbc.db.PostgresDatabaseType#setSequenceIncrement(int)}. This must be called after the
+	 * connection source has been initialized. It takes two values from the sequence and throws if they are not the
+	 * block size apart. See {@link SequenceBlockAllocator#checkIncrement(DatabaseConnection)}.
+	 */
+	public void setSequenceBlockSize(String sequenceName, int blockSize) throws SQLException {
+		SequenceBlockAllocator allocator = new SequenceBlockAllocator(getDatabaseType(), sequenceName, blockSize);
+		DatabaseConnection connection = getReadWriteConnection(null);
+		try {
+			allocator.checkIncrement(connection);
+		} finally {
+			releaseConnection(connection);
+		}
+		sequenceAllocators.put(allocator.getNextValStatement(), allocator);
+	}
+
+	/**
+	 * Same as {@link #setSequenceBlockSize(String, int)} but for the generated-id sequence of the dao's class.
+	 */
+	public void setSequenceBlockSize(Dao<?, ?> dao, int blockSize) throws SQLException {
+		FieldType idField = dao.getTableInfo().getIdField();
+		if (idField == null || idField.getGeneratedIdSequence() == null) {
+			throw new IllegalArgumentException("The id of " + dao.getDataClass() + " is not generated by a sequence");
+		}
+		setSequenceBlockSize(idField.getGeneratedIdSequence(), blockSize);
+	}
+
 	@Override
 	protected DatabaseConnection makeConnection(Logger logger) throws SQLException {
 		Properties properties = new Properties();
@@ -147,7 +211,17 @@ public class JdbcConnectionSource extends BaseJdbcConnectionSource implements Co
 		if (additionalProperties != null) {
 			properties.putAll(additionalProperties);
 		}
-		DatabaseConnection connection = new JdbcDatabaseConnection(DriverManager.getConnection(url, properties));
+		JdbcDatabaseConnection connection = new JdbcDatabaseConnection(DriverManager.getConnection(url, properties));
+		if (statementCacheSize > 0) {
+			connection.setStatementCacheSize(statementCacheSize);
+		}
+		connection.setSequenceAllocators(sequenceAllocators);
+		connection.setDatabaseType(databaseType);
+		if (streamingResults) {
+			connection.setStreamingResults(databaseType, fetchSize);
+		} else if (fetchSize != 0) {
+			connection.setFetchSize(fetchSize);
+		}
 		// by default auto-commit is set to true
 		connection.setAutoCommit(true);
 		logger.debug("opened connection to {} got #{}", url, connection.hashCode());
@@ -9,9 +9,14 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.List;
+import java.util.Map;
 
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.PreparedStatementCache.Key;
+import com.j256.ormlite.jdbc.db.JdbcDatabaseType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.misc.IOUtils;
@@ -25,10 +30,27 @@ import com.j256.ormlite.support.GeneratedKeyHolder;
 /**
  * Wrapper around a JDBC {@link Connection} object which we delegate to.
  * 
+ * <p>
+ * If {@link #setStatementCacheSize(int)} is called then the prepared statements are cached and reused on this
+ * connection instead of being prepared and closed every time.
+ * </p>
+ * 
+ * <p>
+ * If {@link #setStreamingResults(DatabaseType, int)} is called then the queries compiled on this connection stream
+ * their results from the database so iterating over a large table doesn't read it all into memory. Auto-commit is
+ * never changed to do this so on databases such as Postgres, whose drivers only stream inside of a transaction, the
+ * queries have to be run in a transaction or with auto-commit turned off.
+ * </p>
+ * 
  * @author graywatson
  */
 public class JdbcDatabaseConnection implements DatabaseConnection {
 
+	/**
+	 * Number of rows that are fetched at a time when streaming results if no fetch size is specified.
+	 */
+	public static final int DEFAULT_STREAMING_FETCH_SIZE = 1000;
+
 	private static Logger logger = LoggerFactory.getLogger(JdbcDatabaseConnection.class);
 	private static final String JDBC_META_TABLE_NAME_COLUMN = "TABLE_NAME";
 
@@ -39,6 +61,10 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 	private Connection connection;
 	private Boolean supportsSavePoints;
 	private Boolean supportsGetGeneratedKeys;
+	private PreparedStatementCache statementCache;
+	private int fetchSize;
+	private Map<String, SequenceBlockAllocator> sequenceAllocators;
+	private DatabaseType databaseType;
 
 	public JdbcDatabaseConnection(Connection connection) {
 		this.connection = connection;
@@ -129,6 +155,10 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 		if (resultFlags == DatabaseConnection.DEFAULT_RESULT_FLAGS) {
 			resultFlags = ResultSet.TYPE_FORWARD_ONLY;
 		}
+		if (statementCache != null) {
+			// the statement may have changed the schema which can invalidate the prepared statements
+			statementCache.clear(false);
+		}
 		Statement statement = connection.createStatement(resultFlags, ResultSet.CONCUR_READ_ONLY);
 		statement.execute(statementStr);
 		return statement.getUpdateCount();
@@ -140,15 +170,30 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 		if (resultFlags == DatabaseConnection.DEFAULT_RESULT_FLAGS) {
 			resultFlags = ResultSet.TYPE_FORWARD_ONLY;
 		}
-		JdbcCompiledStatement compiledStatement = new JdbcCompiledStatement(
-				connection.prepareStatement(statement, resultFlags, ResultSet.CONCUR_READ_ONLY), statement, type,
-				cacheStore);
+		Key key = new Key(statement, resultFlags, null);
+		JdbcCompiledStatement compiledStatement =
+				new JdbcCompiledStatement(prepareStatement(key), statement, type, cacheStore);
+		if (statementCache != null) {
+			// the statement goes back into the cache when it is closed
+			compiledStatement.setStatementCache(statementCache, key);
+		}
+		if (fetchSize != 0 && type.isOkForQuery()) {
+			try {
+				compiledStatement.setFetchSize(fetchSize);
+			} catch (SQLException e) {
+				IOUtils.closeQuietly(compiledStatement);
+				throw e;
+			}
+		}
 		logger.trace("compiled statement: {}", statement);
 		return compiledStatement;
 	}
 
 	@Override
 	public void close() throws Exception {
+		if (statementCache != null) {
+			statementCache.clear(true);
+		}
 		try {
 			connection.close();
 		} catch (SQLException e) {
@@ -175,39 +220,145 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 	@Override
 	public int insert(String statement, Object[] args, FieldType[] argFieldTypes, GeneratedKeyHolder keyHolder)
 			throws SQLException {
-		PreparedStatement stmt;
+		if (keyHolder != null && isInsertReturningSupported()) {
+			StringBuilder sb = new StringBuilder(statement.length() + 64);
+			((JdbcDatabaseType) databaseType).appendInsertReturning(sb, statement, keyHolder.getColumnName());
+			return insertReturning(sb.toString(), args, argFieldTypes, keyHolder);
+		}
+		Key key;
 		if (keyHolder == null) {
-			stmt = connection.prepareStatement(statement);
+			key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
 		} else {
-			stmt = connection.prepareStatement(statement, new String[] { keyHolder.getColumnName() });
+			key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, new String[] { keyHolder.getColumnName() });
 		}
+		PreparedStatement stmt = prepareStatement(key);
+		boolean success = false;
 		try {
 			statementSetArgs(stmt, args, argFieldTypes);
 			int rowN = stmt.executeUpdate();
 			logger.trace("insert statement is prepared and executed: {}", statement);
 			if (keyHolder != null && isSupportsGetGeneratedKeys()) {
-				ResultSet resultSet = stmt.getGeneratedKeys();
+				addGeneratedKeys(stmt, keyHolder, statement);
+			}
+			success = true;
+			return rowN;
+		} finally {
+			releaseStatement(key, stmt, success);
+		}
+	}
+
+	/**
+	 * Run an insert statement that returns the generated ids of its rows as a result set, see
+	 * {@link JdbcDatabaseType#appendInsertReturning(StringBuilder, String, String)}, and add the ids to the key holder.
+	 * The insert and the ids are a single round trip to the database.
+	 * 
+	 * @return The number of rows inserted which is the number of ids returned.
+	 */
+	public int insertReturning(String returningStatement, Object[] args, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		Key key = new Key(returningStatement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt = prepareStatement(key);
+		boolean success = false;
+		try {
+			statementSetArgs(stmt, args, argFieldTypes);
+			ResultSet resultSet = stmt.executeQuery();
+			int rowN = 0;
+			try {
 				ResultSetMetaData metaData = resultSet.getMetaData();
-				int colN = metaData.getColumnCount();
-				boolean wasSet = false;
 				while (resultSet.next()) {
-					for (int colC = 1; colC <= colN; colC++) {
-						// get the id column data so we can pass it back to the caller thru the keyHolder
-						Number id = getIdColumnData(resultSet, metaData, colC);
-						keyHolder.addKey(id);
-						wasSet = true;
-					}
-				}
-				if (!wasSet) {
-					throw new SQLException(
-							"no generated-keys were returned from statement, maybe a schema mismatch between entity and database table?: "
-									+ statement);
+					keyHolder.addKey(getIdColumnData(resultSet, metaData, 1));
+					rowN++;
 				}
+			} finally {
+				resultSet.close();
+			}
+			if (rowN == 0) {
+				throw new SQLException(
+						"no generated-keys were returned from statement, maybe a schema mismatch between entity and database table?: "
+								+ returningStatement);
 			}
+			logger.trace("insert returning statement is prepared and executed: {}", returningStatement);
+			success = true;
 			return rowN;
 		} finally {
-			stmt.close();
+			releaseStatement(key, stmt, success);
+		}
+	}
+
+	/**
+	 * Run an insert statement once for each of the argument arrays using JDBC batches of up to batchSize rows so each
+	 * batch is a single round trip to the database. If the keyHolder is not null then the generated keys of all of the
+	 * inserted rows are added to it in order.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> This does not start a transaction. If the database type says that batches should be in a
+	 * transaction, see {@link com.j256.ormlite.db.DatabaseType#isBatchUseTransaction()}, then this should be called
+	 * inside of one. {@link JdbcBulkOperations} takes care of that.
+	 * </p>
+	 * 
+	 * @return The number of rows changed by each of the argument arrays. This may be {@link Statement#SUCCESS_NO_INFO}
+	 *         if the driver does not return the count.
+	 */
+	public int[] insertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder, int batchSize) throws SQLException {
+		return insertBatch(statement, argsList, TypeValMapper.getTypeValsForFieldTypes(argFieldTypes), keyHolder,
+				batchSize);
+	}
+
+	/**
+	 * Same as {@link #insertBatch(String, List, FieldType[], GeneratedKeyHolder, int)} but with the type values of the
+	 * arguments, see {@link TypeValMapper#getTypeValsForFieldTypes(FieldType[])}, which the caller keeps for the
+	 * statement.
+	 */
+	int[] insertBatch(String statement, List<Object[]> argsList, int[] typeVals, GeneratedKeyHolder keyHolder,
+			int batchSize) throws SQLException {
+		Key key;
+		if (keyHolder == null) {
+			key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		} else {
+			key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, new String[] { keyHolder.getColumnName() });
 		}
+		return executeBatch(key, argsList, typeVals, keyHolder, batchSize, "insert");
+	}
+
+	/**
+	 * Run an update statement once for each of the argument arrays using JDBC batches of up to batchSize rows. See
+	 * {@link #insertBatch(String, List, FieldType[], GeneratedKeyHolder, int)}.
+	 */
+	public int[] updateBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes, int batchSize)
+			throws SQLException {
+		return updateBatch(statement, argsList, TypeValMapper.getTypeValsForFieldTypes(argFieldTypes), batchSize);
+	}
+
+	int[] updateBatch(String statement, List<Object[]> argsList, int[] typeVals, int batchSize) throws SQLException {
+		Key key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		return executeBatch(key, argsList, typeVals, null, batchSize, "update");
+	}
+
+	/**
+	 * Run a delete statement once for each of the argument arrays using JDBC batches of up to batchSize rows. See
+	 * {@link #insertBatch(String, List, FieldType[], GeneratedKeyHolder, int)}.
+	 */
+	public int[] deleteBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes, int batchSize)
+			throws SQLException {
+		Key key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		return executeBatch(key, argsList, TypeValMapper.getTypeValsForFieldTypes(argFieldTypes), null, batchSize,
+				"delete");
+	}
+
+	/**
+	 * Run an upsert statement, see {@link JdbcDatabaseType#appendUpsert(StringBuilder, String, String, List)}, once
+	 * for each of the argument arrays using JDBC batches of up to batchSize rows. See
+	 * {@link #insertBatch(String, List, FieldType[], GeneratedKeyHolder, int)}.
+	 */
+	public int[] upsertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes, int batchSize)
+			throws SQLException {
+		return upsertBatch(statement, argsList, TypeValMapper.getTypeValsForFieldTypes(argFieldTypes), batchSize);
+	}
+
+	int[] upsertBatch(String statement, List<Object[]> argsList, int[] typeVals, int batchSize) throws SQLException {
+		Key key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		return executeBatch(key, argsList, typeVals, null, batchSize, "upsert");
 	}
 
 	@Override
@@ -229,6 +380,13 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 
 	@Override
 	public long queryForLong(String statement) throws SQLException {
+		if (sequenceAllocators != null) {
+			// the next value of a sequence may come from a block of ids in memory
+			SequenceBlockAllocator allocator = sequenceAllocators.get(statement);
+			if (allocator != null) {
+				return allocator.nextId(this);
+			}
+		}
 		return queryForLong(statement, noArgs, noArgTypes);
 	}
 
@@ -293,6 +451,127 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 		return supportsGetGeneratedKeys;
 	}
 
+	/**
+	 * Set the number of prepared statements that are cached on this connection, least recently used are closed first.
+	 * Set to 0 to prepare and close the statements every time which is the default.
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		if (statementCache != null) {
+			statementCache.clear(true);
+		}
+		if (statementCacheSize > 0) {
+			statementCache = new PreparedStatementCache(statementCacheSize);
+		} else {
+			statementCache = null;
+		}
+	}
+
+	/**
+	 * Return the number of times that a prepared statement was found in the statement cache.
+	 */
+	public long getStatementCacheHitCount() {
+		if (statementCache == null) {
+			return 0;
+		} else {
+			return statementCache.getHitCount();
+		}
+	}
+
+	/**
+	 * Return the number of times that a statement had to be prepared because it was not in the statement cache.
+	 */
+	public long getStatementCacheMissCount() {
+		if (statementCache == null) {
+			return 0;
+		} else {
+			return statementCache.getMissCount();
+		}
+	}
+
+	/**
+	 * Close all of the cached prepared statements.
+	 */
+	public void clearStatementCache() {
+		if (statementCache != null) {
+			statementCache.clear(false);
+		}
+	}
+
+	/**
+	 * Set the number of rows that the driver should get from the database at a time for the queries compiled on this
+	 * connection. Set to 0 to use the driver's default which is the default.
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Stream the results of all of the queries compiled on this connection using the database type's streaming fetch
+	 * size. A negative fetch size, like the row at a time Integer.MIN_VALUE of MySQL, is not used here because no other
+	 * statement can be run on the connection while those results are open which breaks nested and eager queries. Use
+	 * {@link #streamResults(JdbcCompiledStatement, DatabaseType, int)} for those databases.
+	 * 
+	 * @param databaseType
+	 *            Database type of the connection. If it is a {@link JdbcDatabaseType} then it can change the fetch size.
+	 * @param fetchSize
+	 *            Number of rows to get from the database at a time or 0 for {@link #DEFAULT_STREAMING_FETCH_SIZE}.
+	 */
+	public void setStreamingResults(DatabaseType databaseType, int fetchSize) {
+		int streamingFetchSize = streamingFetchSize(databaseType, fetchSize);
+		if (streamingFetchSize < 0) {
+			this.fetchSize = (fetchSize <= 0 ? DEFAULT_STREAMING_FETCH_SIZE : fetchSize);
+		} else {
+			this.fetchSize = streamingFetchSize;
+		}
+	}
+
+	/**
+	 * Stream the results of a single query that was compiled on this connection using the database type's streaming
+	 * fetch size. This needs to be called before the query is run. On MySQL no other statement can be run on the
+	 * connection until the results are closed. Auto-commit isn't changed so on Postgres the query has to be run in a
+	 * transaction or with auto-commit off for the results to be streamed.
+	 * 
+	 * @see #setStreamingResults(DatabaseType, int)
+	 */
+	public void streamResults(JdbcCompiledStatement compiledStatement, DatabaseType databaseType, int fetchSize)
+			throws SQLException {
+		compiledStatement.setFetchSize(streamingFetchSize(databaseType, fetchSize));
+		if (databaseType instanceof JdbcDatabaseType
+				&& ((JdbcDatabaseType) databaseType).isStreamingRequiresNoAutoCommit() && connection.getAutoCommit()) {
+			logger.debug("auto-commit is on so the driver may not stream the results of: {}", compiledStatement);
+		}
+	}
+
+	/**
+	 * Set the allocators that hand out the values of sequences in blocks, keyed by their next-value statement. When the
+	 * next value of one of the sequences is queried with {@link #queryForLong(String)} it comes from the allocator. The
+	 * map is used directly so allocators can be added to it later.
+	 */
+	public void setSequenceAllocators(Map<String, SequenceBlockAllocator> sequenceAllocators) {
+		this.sequenceAllocators = sequenceAllocators;
+	}
+
+	/**
+	 * Set the database type of the connection. If it is a {@link JdbcDatabaseType} that supports insert returning then
+	 * the generated ids of inserts are returned by the insert statement itself instead of with
+	 * {@link PreparedStatement#getGeneratedKeys()}.
+	 */
+	public void setDatabaseType(DatabaseType databaseType) {
+		this.databaseType = databaseType;
+	}
+
+	/**
+	 * Return true if the generated ids of the inserts on this connection are returned by the insert statement.
+	 */
+	public boolean isInsertReturningSupported() {
+		return (databaseType instanceof JdbcDatabaseType
+				&& ((JdbcDatabaseType) databaseType).isInsertReturningSupported());
+	}
+
 	/**
 	 * Set the internal database connection. Most likely for testing purposes.
 	 */
@@ -300,41 +579,165 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 		this.connection = connection;
 	}
 
+	/**
+	 * Query for the next value of a sequence from the database, going around the sequence allocators.
+	 */
+	long queryForSequenceValue(String statement) throws SQLException {
+		return queryForLong(statement, noArgs, noArgTypes);
+	}
+
+	private static int streamingFetchSize(DatabaseType databaseType, int fetchSize) {
+		if (fetchSize <= 0) {
+			fetchSize = DEFAULT_STREAMING_FETCH_SIZE;
+		}
+		if (databaseType instanceof JdbcDatabaseType) {
+			return ((JdbcDatabaseType) databaseType).getStreamingFetchSize(fetchSize);
+		} else {
+			return fetchSize;
+		}
+	}
+
 	private int update(String statement, Object[] args, FieldType[] argFieldTypes, String label) throws SQLException {
-		PreparedStatement stmt = connection.prepareStatement(statement);
+		Key key = new Key(statement, Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt = prepareStatement(key);
+		boolean success = false;
 		try {
 			statementSetArgs(stmt, args, argFieldTypes);
 			int rowCount = stmt.executeUpdate();
 			logger.trace("{} statement is prepared and executed returning {}: {}", label, rowCount, statement);
+			success = true;
 			return rowCount;
 		} finally {
-			stmt.close();
+			releaseStatement(key, stmt, success);
 		}
 	}
 
 	private <T> Object queryForOne(String statement, Object[] args, FieldType[] argFieldTypes,
 			GenericRowMapper<T> rowMapper, ObjectCache objectCache, String label) throws SQLException {
-		PreparedStatement stmt =
-				connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		Key key = new Key(statement, ResultSet.TYPE_FORWARD_ONLY, null);
+		PreparedStatement stmt = prepareStatement(key);
 		DatabaseResults results = null;
+		boolean success = false;
 		try {
 			statementSetArgs(stmt, args, argFieldTypes);
-			results = new JdbcDatabaseResults(stmt, stmt.executeQuery(), objectCache, true);
+			results = new JdbcDatabaseResults(stmt, stmt.executeQuery(), objectCache, true, statement);
 			logger.trace("{} statement is prepared and executed: {}", label, statement);
 			if (!results.first()) {
 				// no results at all
 				return null;
 			}
 			T first = rowMapper.mapRow(results);
+			Object result;
 			if (results.next()) {
-				return MORE_THAN_ONE;
+				result = MORE_THAN_ONE;
 			} else {
-				return first;
+				result = first;
 			}
+			success = true;
+			return result;
 		} finally {
 			IOUtils.closeQuietly(results);
+			releaseStatement(key, stmt, success);
+		}
+	}
+
+	private int[] executeBatch(Key key, List<Object[]> argsList, int[] typeVals, GeneratedKeyHolder keyHolder,
+			int batchSize, String label) throws SQLException {
+		int[] rowCounts = new int[argsList.size()];
+		if (argsList.isEmpty()) {
+			return rowCounts;
+		}
+		if (batchSize <= 0) {
+			// all of the rows in one batch
+			batchSize = argsList.size();
+		}
+		boolean getKeys = (keyHolder != null && isSupportsGetGeneratedKeys());
+		PreparedStatement stmt = prepareStatement(key);
+		boolean success = false;
+		try {
+			int rowC = 0;
+			int batchStart = 0;
+			for (Object[] args : argsList) {
+				statementSetArgs(stmt, args, typeVals);
+				stmt.addBatch();
+				rowC++;
+				if (rowC - batchStart < batchSize && rowC < rowCounts.length) {
+					continue;
+				}
+				int[] batchCounts = stmt.executeBatch();
+				System.arraycopy(batchCounts, 0, rowCounts, batchStart, Math.min(batchCounts.length, rowC - batchStart));
+				logger.trace("{} batch of {} rows executed: {}", label, rowC - batchStart, key.sql);
+				if (getKeys) {
+					addGeneratedKeys(stmt, keyHolder, key.sql);
+				}
+				batchStart = rowC;
+			}
+			success = true;
+			return rowCounts;
+		} finally {
+			releaseStatement(key, stmt, success);
+		}
+	}
+
+	/**
+	 * Add the keys generated by the last execution of the statement to the key holder.
+	 */
+	private void addGeneratedKeys(PreparedStatement stmt, GeneratedKeyHolder keyHolder, String statement)
+			throws SQLException {
+		ResultSet resultSet = stmt.getGeneratedKeys();
+		ResultSetMetaData metaData = resultSet.getMetaData();
+		int colN = metaData.getColumnCount();
+		boolean wasSet = false;
+		while (resultSet.next()) {
+			for (int colC = 1; colC <= colN; colC++) {
+				// get the id column data so we can pass it back to the caller thru the keyHolder
+				Number id = getIdColumnData(resultSet, metaData, colC);
+				keyHolder.addKey(id);
+				wasSet = true;
+			}
+		}
+		if (!wasSet) {
+			throw new SQLException(
+					"no generated-keys were returned from statement, maybe a schema mismatch between entity and database table?: "
+							+ statement);
+		}
+	}
+
+	/**
+	 * Get the statement from the cache or prepare a new one.
+	 */
+	private PreparedStatement prepareStatement(Key key) throws SQLException {
+		if (statementCache != null) {
+			PreparedStatement stmt = statementCache.take(key);
+			if (stmt != null) {
+				logger.trace("got statement from the cache: {}", key.sql);
+				return stmt;
+			}
+		}
+		if (key.keyColumnNames != null) {
+			return connection.prepareStatement(key.sql, key.keyColumnNames);
+		} else if (key.resultSetType == Key.DEFAULT_RESULT_SET_TYPE) {
+			return connection.prepareStatement(key.sql);
+		} else {
+			return connection.prepareStatement(key.sql, key.resultSetType, ResultSet.CONCUR_READ_ONLY);
+		}
+	}
+
+	/**
+	 * Put the statement back into the cache or close it if there is no cache or if the statement threw.
+	 */
+	private void releaseStatement(Key key, PreparedStatement stmt, boolean reusable) throws SQLException {
+		if (statementCache == null || !reusable) {
+			stmt.close();
+			return;
+		}
+		try {
+			stmt.clearParameters();
+		} catch (SQLException e) {
 			stmt.close();
+			throw e;
 		}
+		statementCache.release(key, stmt);
 	}
 
 	/**
@@ -363,14 +766,16 @@ public class JdbcDatabaseConnection implements DatabaseConnection {
 		if (args == null) {
 			return;
 		}
+		// looked up for each argument so a single statement doesn't allocate an array of the type values
 		for (int i = 0; i < args.length; i++) {
-			Object arg = args[i];
-			int typeVal = TypeValMapper.getTypeValForSqlType(argFieldTypes[i].getSqlType());
-			if (arg == null) {
-				stmt.setNull(i + 1, typeVal);
-			} else {
-				stmt.setObject(i + 1, arg, typeVal);
-			}
+			ArgumentBinder.setArgument(stmt, i + 1, args[i],
+					TypeValMapper.getTypeValForSqlType(argFieldTypes[i].getSqlType()));
+		}
+	}
+
+	private void statementSetArgs(PreparedStatement stmt, Object[] args, int[] typeVals) throws SQLException {
+		for (int i = 0; i < args.length; i++) {
+			ArgumentBinder.setArgument(stmt, i + 1, args[i], typeVals[i]);
 		}
 	}
 
@@ -8,6 +8,12 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.misc.IOUtils;
@@ -16,33 +22,60 @@ import com.j256.ormlite.support.DatabaseResults;
 /**
  * Wrapper around a {@link ResultSet} object which we delegate to.
  * 
+ * <p>
+ * The {@link ResultSetMetaData} is only requested from the driver if it is needed. If we are given the SQL statement
+ * then the column-name to index layouts of the results are cached by the database URL and the statement so
+ * {@link #findColumn(String)} doesn't have to go to the driver for each column every time. A cached layout is only
+ * used if the column count and labels of the metadata of the results match it since the same SQL can return different
+ * columns in another schema or after the table is altered.
+ * </p>
+ * 
  * @author graywatson
  */
 public class JdbcDatabaseResults implements DatabaseResults {
 
+	// the column layouts of at most this many statements are cached, the least recently used are evicted
+	private static final int MAX_CACHED_COLUMN_LAYOUTS = 1024;
+	// access-order so the iteration order is least recently used first, protected by synchronizing on it
+	private static final Map<ColumnLayoutKey, ColumnLayout> columnLayoutMap =
+			new LinkedHashMap<ColumnLayoutKey, ColumnLayout>(16, 0.75F, true);
+
 	private final PreparedStatement preparedStmt;
 	private final ResultSet resultSet;
-	private final ResultSetMetaData metaData;
 	private final ObjectCache objectCache;
 	private final boolean cacheStore;
+	private final String statement;
+	private ResultSetMetaData metaData;
+	private ColumnLayout columnLayout;
 	private boolean first = true;
 
 	public JdbcDatabaseResults(PreparedStatement preparedStmt, ResultSet resultSet, ObjectCache objectCache,
-			boolean cacheStore) throws SQLException {
+			boolean cacheStore) {
+		this(preparedStmt, resultSet, objectCache, cacheStore, null);
+	}
+
+	/**
+	 * @param statement
+	 *            The SQL that produced the results which is used to cache the column layout. If null then the layout
+	 *            isn't cached.
+	 */
+	public JdbcDatabaseResults(PreparedStatement preparedStmt, ResultSet resultSet, ObjectCache objectCache,
+			boolean cacheStore, String statement) {
 		this.preparedStmt = preparedStmt;
 		this.resultSet = resultSet;
-		this.metaData = resultSet.getMetaData();
 		this.objectCache = objectCache;
 		this.cacheStore = cacheStore;
+		this.statement = statement;
 	}
 
 	@Override
 	public int getColumnCount() throws SQLException {
-		return metaData.getColumnCount();
+		return getMetaData().getColumnCount();
 	}
 
 	@Override
 	public String[] getColumnNames() throws SQLException {
+		ResultSetMetaData metaData = getMetaData();
 		int colN = metaData.getColumnCount();
 		String[] columnNames = new String[colN];
 		for (int colC = 0; colC < colN; colC++) {
@@ -99,6 +132,17 @@ public class JdbcDatabaseResults implements DatabaseResults {
 
 	@Override
 	public int findColumn(String columnName) throws SQLException {
+		if (statement == null) {
+			return resultSet.findColumn(columnName) - 1;
+		}
+		if (columnLayout == null) {
+			columnLayout = findColumnLayout();
+		}
+		Integer index = columnLayout.findColumn(columnName);
+		if (index != null) {
+			return index;
+		}
+		// let the driver figure out qualified or quoted names and throw if the column is not there
 		return resultSet.findColumn(columnName) - 1;
 	}
 
@@ -223,4 +267,137 @@ public class JdbcDatabaseResults implements DatabaseResults {
 	public ResultSet getResultSet() {
 		return resultSet;
 	}
+
+	/**
+	 * Clear the column layouts that are cached for all statements.
+	 */
+	public static void clearColumnLayoutCache() {
+		synchronized (columnLayoutMap) {
+			columnLayoutMap.clear();
+		}
+	}
+
+	private ResultSetMetaData getMetaData() throws SQLException {
+		if (metaData == null) {
+			metaData = resultSet.getMetaData();
+		}
+		return metaData;
+	}
+
+	/**
+	 * Return the cached layout for our statement if it matches the metadata of these results or build a new one.
+	 */
+	private ColumnLayout findColumnLayout() throws SQLException {
+		ResultSetMetaData metaData = getMetaData();
+		ColumnLayoutKey key = new ColumnLayoutKey(getDatabaseUrl(), statement);
+		ColumnLayout layout;
+		synchronized (columnLayoutMap) {
+			layout = columnLayoutMap.get(key);
+		}
+		if (layout != null && layout.matches(metaData)) {
+			return layout;
+		}
+		layout = new ColumnLayout(metaData);
+		synchronized (columnLayoutMap) {
+			columnLayoutMap.put(key, layout);
+			if (columnLayoutMap.size() > MAX_CACHED_COLUMN_LAYOUTS) {
+				Iterator<ColumnLayoutKey> iterator = columnLayoutMap.keySet().iterator();
+				iterator.next();
+				iterator.remove();
+			}
+		}
+		return layout;
+	}
+
+	/**
+	 * Return the URL of the database that ran the statement so the layouts of different databases aren't mixed up.
+	 */
+	private String getDatabaseUrl() throws SQLException {
+		Connection connection = preparedStmt.getConnection();
+		if (connection == null) {
+			return null;
+		} else {
+			return connection.getMetaData().getURL();
+		}
+	}
+
+	/**
+	 * Column labels of a result set and maps from label to 0-based column index. A label with the same case is looked
+	 * up first and then, like {@link ResultSet#findColumn(String)}, the first column whose label matches ignoring case.
+	 */
+	private static class ColumnLayout {
+
+		final String[] columnLabels;
+		final Map<String, Integer> columnIndexes = new HashMap<String, Integer>();
+		final Map<String, Integer> ignoreCaseColumnIndexes =
+				new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
+
+		public ColumnLayout(ResultSetMetaData metaData) throws SQLException {
+			int colN = metaData.getColumnCount();
+			columnLabels = new String[colN];
+			for (int colC = 0; colC < colN; colC++) {
+				String label = metaData.getColumnLabel(colC + 1);
+				columnLabels[colC] = label;
+				if (label == null) {
+					continue;
+				}
+				if (!columnIndexes.containsKey(label)) {
+					columnIndexes.put(label, colC);
+				}
+				if (!ignoreCaseColumnIndexes.containsKey(label)) {
+					ignoreCaseColumnIndexes.put(label, colC);
+				}
+			}
+		}
+
+		public Integer findColumn(String columnName) {
+			Integer index = columnIndexes.get(columnName);
+			if (index == null) {
+				index = ignoreCaseColumnIndexes.get(columnName);
+			}
+			return index;
+		}
+
+		public boolean matches(ResultSetMetaData metaData) throws SQLException {
+			if (metaData.getColumnCount() != columnLabels.length) {
+				return false;
+			}
+			for (int colC = 0; colC < columnLabels.length; colC++) {
+				String label = metaData.getColumnLabel(colC + 1);
+				if (label == null ? columnLabels[colC] != null : !label.equals(columnLabels[colC])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Key of the cached column layouts.
+	 */
+	private static class ColumnLayoutKey {
+
+		final String databaseUrl;
+		final String statement;
+
+		public ColumnLayoutKey(String databaseUrl, String statement) {
+			this.databaseUrl = databaseUrl;
+			this.statement = statement;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (databaseUrl == null ? 0 : databaseUrl.hashCode()) + statement.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ColumnLayoutKey)) {
+				return false;
+			}
+			ColumnLayoutKey other = (ColumnLayoutKey) obj;
+			return (databaseUrl == null ? other.databaseUrl == null : databaseUrl.equals(other.databaseUrl))
+					&& statement.equals(other.statement);
+		}
+	}
 }
@@ -0,0 +1,266 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * Gathers the {@link #queryForId(Object)} calls from many threads that arrive close together and looks them all up
+ * with one WHERE id IN query on one connection using {@link JdbcBulkOperations#queryForIds(java.util.Collection)}.
+ * Under load this turns many round trips to the database into one.
+ *
+ * <pre>
+ * JdbcIdLoader&lt;Account, Integer&gt; accountLoader = new JdbcIdLoader&lt;Account, Integer&gt;(accountDao);
+ * // called from many threads
+ * Account account = accountLoader.queryForId(accountId);
+ * </pre>
+ *
+ * <p>
+ * The first call starts a batch and waits up to {@link #setWindowMicros(long)} for other calls to join it. The batch is
+ * queried as soon as it has {@link #setBatchSize(int)} ids or the window is over, whichever comes first, by the thread
+ * that filled it or by the first thread. No other threads are used. A call only waits the whole window if no other
+ * calls arrive to fill the batch. If the query throws then all of the calls in the batch get the exception.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> calls for the same id in the same batch get the same object back. Calls while a connection is saved
+ * with {@link ConnectionSource#saveSpecialConnection(com.j256.ormlite.support.DatabaseConnection)}, for example in a
+ * transaction, are not batched and go straight to {@link Dao#queryForId(Object)}.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class JdbcIdLoader<T, ID> {
+
+	public static final long DEFAULT_WINDOW_MICROS = 200;
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private static Logger logger = LoggerFactory.getLogger(JdbcIdLoader.class);
+
+	private final Dao<T, ID> dao;
+	private final ConnectionSource connectionSource;
+	private final FieldType idField;
+	private final JdbcBulkOperations<T, ID> bulkOperations;
+	private final ReentrantLock lock = new ReentrantLock();
+	// signaled when the current batch is taken by the thread that filled it
+	private final Condition batchTaken = lock.newCondition();
+	private final AtomicLong queryCount = new AtomicLong();
+	private final AtomicLong loadCount = new AtomicLong();
+	// batch that calls are being added to or null if none, protected by the lock
+	private Batch<T, ID> currentBatch;
+	private volatile long windowNanos = TimeUnit.MICROSECONDS.toNanos(DEFAULT_WINDOW_MICROS);
+	private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+	public JdbcIdLoader(Dao<T, ID> dao) {
+		this.dao = dao;
+		this.connectionSource = dao.getConnectionSource();
+		this.idField = dao.getTableInfo().getIdField();
+		this.bulkOperations = new JdbcBulkOperations<T, ID>(dao);
+	}
+
+	/**
+	 * Like {@link Dao#queryForId(Object)} but the id is looked up with the ids of the other calls that arrive in the same
+	 * window.
+	 */
+	public T queryForId(ID id) throws SQLException {
+		if (idField == null) {
+			throw new SQLException("Cannot query for id of " + dao.getDataClass() + " because it doesn't have an id field");
+		}
+		if (id == null || connectionSource.getSpecialConnection(dao.getTableName()) != null) {
+			// we might be in a transaction so the other threads can't share the connection
+			return dao.queryForId(id);
+		}
+		loadCount.incrementAndGet();
+		Object key = idKey(idField.convertJavaFieldToSqlArgValue(id));
+
+		Batch<T, ID> batch;
+		CompletableFuture<T> future;
+		boolean firstCall = false;
+		boolean runBatch = false;
+		lock.lock();
+		try {
+			batch = currentBatch;
+			if (batch == null) {
+				batch = new Batch<T, ID>();
+				currentBatch = batch;
+				firstCall = true;
+			}
+			future = batch.add(id, key);
+			if (batch.futures.size() >= batchSize) {
+				// the batch is full so we take it
+				currentBatch = null;
+				runBatch = true;
+				batchTaken.signalAll();
+			} else if (firstCall) {
+				runBatch = awaitWindow(batch);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (runBatch) {
+			runBatch(batch);
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for the query of id " + id, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new SQLException("Could not query for id " + id, cause);
+			}
+		}
+	}
+
+	public long getWindowMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(windowNanos);
+	}
+
+	/**
+	 * Set the number of microseconds that the first call of a batch waits for other calls to join it. Set to 0 to only
+	 * batch the calls that arrive while the previous batch is being started. Default is {@link #DEFAULT_WINDOW_MICROS}.
+	 */
+	public void setWindowMicros(long windowMicros) {
+		if (windowMicros < 0) {
+			throw new IllegalArgumentException("Window micros must be >= 0: " + windowMicros);
+		}
+		this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the maximum number of ids in a batch. A batch is queried as soon as it is full. Default is
+	 * {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be > 0: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the number of batch queries that have been run.
+	 */
+	public long getQueryCount() {
+		return queryCount.get();
+	}
+
+	/**
+	 * Return the number of ids that have been looked up in batches.
+	 */
+	public long getLoadCount() {
+		return loadCount.get();
+	}
+
+	/**
+	 * Wait for the window to end or for another thread to take the batch because it is full. Must be called with the
+	 * lock held. Returns true if the batch was not taken and the caller should run it.
+	 */
+	private boolean awaitWindow(Batch<T, ID> batch) {
+		long remainingNanos = windowNanos;
+		boolean interrupted = false;
+		while (currentBatch == batch && remainingNanos > 0) {
+			try {
+				remainingNanos = batchTaken.awaitNanos(remainingNanos);
+			} catch (InterruptedException e) {
+				// the other calls in the batch are counting on us so we run it and re-interrupt afterwards
+				interrupted = true;
+				break;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (currentBatch == batch) {
+			currentBatch = null;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Query for the ids of the batch and complete the futures with the results or with null for ids that were not found.
+	 */
+	private void runBatch(Batch<T, ID> batch) {
+		queryCount.incrementAndGet();
+		try {
+			List<T> results = bulkOperations.queryForIds(batch.ids);
+			for (T result : results) {
+				CompletableFuture<T> future = batch.futures.get(idKey(idField.extractJavaFieldToSqlArgValue(result)));
+				if (future != null) {
+					future.complete(result);
+				}
+			}
+			for (CompletableFuture<T> future : batch.futures.values()) {
+				// no-op for the ids that were found
+				future.complete(null);
+			}
+			logger.trace("loaded {} ids, found {}", batch.ids.size(), results.size());
+		} catch (Throwable th) {
+			for (CompletableFuture<T> future : batch.futures.values()) {
+				future.completeExceptionally(th);
+			}
+		}
+	}
+
+	/**
+	 * Return the key of the SQL value of an id. The caller's id might be another boxed type than the id field, for
+	 * example an Integer for a long id, so the integral numbers are all keyed as Longs.
+	 */
+	private static Object idKey(Object sqlArg) {
+		if (sqlArg instanceof Integer || sqlArg instanceof Short || sqlArg instanceof Byte) {
+			return ((Number) sqlArg).longValue();
+		} else {
+			return sqlArg;
+		}
+	}
+
+	/**
+	 * Ids of the calls that are looked up together.
+	 */
+	private static class Batch<T, ID> {
+		final List<ID> ids = new ArrayList<ID>();
+		// keyed by the id keys of the SQL values of the ids
+		final Map<Object, CompletableFuture<T>> futures = new HashMap<Object, CompletableFuture<T>>();
+
+		/**
+		 * Add the id to the batch and return the future of its result. Calls with the same id key share the future.
+		 */
+		CompletableFuture<T> add(ID id, Object key) {
+			CompletableFuture<T> future = futures.get(key);
+			if (future == null) {
+				future = new CompletableFuture<T>();
+				futures.put(key, future);
+				ids.add(id);
+			}
+			return future;
+		}
+	}
+}
@@ -1,12 +1,28 @@
 package com.j256.ormlite.jdbc;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.logger.Level;
@@ -19,7 +35,33 @@ import com.j256.ormlite.support.DatabaseConnection;
 /**
  * Implementation of the ConnectionSource interface that supports basic pooled connections. New connections are created
  * on demand only if there are no dormant connections otherwise released connections will be reused. This class is
- * reentrant and can handle requests from multiple threads.
+ * reentrant and can handle requests from multiple threads. Borrowing and releasing a connection do not take a global
+ * lock: the free connections are kept in a lock-free deque and the managed connections in a concurrent map.
+ * 
+ * <p>
+ * By default the number of connections in use is not limited. Call {@link #setMaxConnectionsTotal(int)} to put a hard
+ * limit on the number of connections. Once the limit is reached, callers wait in FIFO order for a connection to be
+ * released and get a {@link ConnectionAcquireTimeoutException} if none is available before the acquire timeout.
+ * </p>
+ * 
+ * <p>
+ * If a thread gets and releases connections many times in a row, {@link #setThreadAffinity(boolean)} can be enabled so
+ * each thread first tries to get back the connection that it last released without going through the free list.
+ * </p>
+ * 
+ * <p>
+ * By default the free connections are reused in the order that they were released. Call
+ * {@link #setReuseMostRecentlyUsed(boolean)} to always hand out the most recently released connection instead so the
+ * busy connections stay warm and the rest sit idle. With {@link #setMaxConnectionIdleMillis(long)}, the tester thread
+ * will close the connections that have been idle for too long so the pool shrinks after a burst.
+ * </p>
+ * 
+ * <p>
+ * With {@link #setMinConnectionsIdle(int)}, the pool opens that many connections when it is initialized and a
+ * background creator thread keeps the free list topped up. While the creator is running, callers never make a
+ * connection themselves. If the free list is empty they wait for a connection to be released or for the creator to
+ * hand them a new one.
+ * </p>
  * 
  * <p>
  * <b> NOTE: </b> If you are using the Spring type wiring in Java, {@link #initialize} should be called after all of the
@@ -31,7 +73,23 @@ import com.j256.ormlite.support.DatabaseConnection;
  * mechanism. It will test any dormant connections every so often to see if they are still valid. If this is not the
  * behavior that you want then call {@link #setCheckConnectionsEveryMillis(long)} with 0 to disable the thread. You can
  * also call {@link #setTestBeforeGet(boolean)} and set it to true to test the connection before it is handed back to
- * you.
+ * you. By default the connections are tested with the database's ping statement. Call
+ * {@link #setTestWithIsValid(boolean)} to use the JDBC {@link Connection#isValid(int)} method instead,
+ * {@link #setSkipTestIfUsedWithinMillis(long)} to not test connections that were just used, and
+ * {@link #setTesterThreads(int)} to test the free connections in parallel.
+ * </p>
+ * 
+ * <p>
+ * To find code that forgets to release its connections, call {@link #setLeakDetectionThresholdMillis(long)}. The
+ * tester thread will then log a warning for each connection that has been held for longer than the threshold, along
+ * with where it was borrowed if {@link #setLeakStackTraceSampleRate(int)} captured a stack trace for it.
+ * {@link #getBorrowedConnections()} returns a snapshot of who is holding which connection and for how long.
+ * </p>
+ * 
+ * <p>
+ * The pool keeps histograms of how long it takes to get, hold, open, and test its connections. They are available
+ * from {@link #getMetrics()}, which can be registered as a JMX MXBean, and the individual events can be passed to
+ * another metrics system with {@link #setListener(PooledConnectionListener)}.
  * </p>
  * 
  * @author graywatson
@@ -43,23 +101,64 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	// maximum age that a connection can be before being closed
 	private final static int DEFAULT_MAX_CONNECTION_AGE_MILLIS = 60 * 60 * 1000;
 	private final static int CHECK_CONNECTIONS_EVERY_MILLIS = 30 * 1000;
+	private final static long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 30 * 1000;
+	// how often a caller waiting for the creator re-checks the free list
+	private final static long HANDOFF_POLL_MILLIS = 100;
+	// how long the creator waits before trying again after it failed to make a connection
+	private final static long CREATE_RETRY_MILLIS = 1000;
+	private final static int DEFAULT_IS_VALID_TIMEOUT_SECONDS = 5;
+	// stack traces are expensive so by default only 1 in this many borrows captures one
+	private final static int DEFAULT_LEAK_STACK_TRACE_SAMPLE_RATE = 100;
 
 	private int maxConnectionsFree = DEFAULT_MAX_CONNECTIONS_FREE;
 	private long maxConnectionAgeMillis = DEFAULT_MAX_CONNECTION_AGE_MILLIS;
-	private List<ConnectionMetaData> connFreeList = new ArrayList<ConnectionMetaData>();
+	private int maxConnectionsTotal = 0;
+	private int minConnectionsIdle = 0;
+	private long maxConnectionIdleMillis = 0;
+	private boolean reuseMostRecentlyUsed = false;
+	private long acquireTimeoutMillis = DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+	// one permit per connection that is handed out, null if the number of connections is not limited
+	private volatile Semaphore connectionPermits;
+	private final ConcurrentLinkedDeque<ConnectionMetaData> connFreeList =
+			new ConcurrentLinkedDeque<ConnectionMetaData>();
+	// size() on the deque walks the list so we keep track of the free count ourselves
+	private final AtomicInteger connFreeCount = new AtomicInteger();
+	// free connections that the tester has claimed to test or close, still idle so not in use by a caller
+	private final AtomicInteger connTestingCount = new AtomicInteger();
 	protected final Map<DatabaseConnection, ConnectionMetaData> connectionMap =
-			new HashMap<DatabaseConnection, ConnectionMetaData>();
-	private final Object lock = new Object();
-	private ConnectionTester tester = null;
+			new ConcurrentHashMap<DatabaseConnection, ConnectionMetaData>();
+	// connections handed straight from the creator or a release to a caller that is waiting for one
+	private final LinkedTransferQueue<ConnectionMetaData> handoffQueue = new LinkedTransferQueue<ConnectionMetaData>();
+	private final Object threadLock = new Object();
+	private volatile ConnectionTester tester = null;
+	private volatile ConnectionCreator creator = null;
 	private String pingStatment;
 
-	private int openCount = 0;
-	private int releaseCount = 0;
-	private int closeCount = 0;
-	private int maxEverUsed = 0;
-	private int testLoopCount = 0;
+	private final LongAdder openCount = new LongAdder();
+	private final LongAdder releaseCount = new LongAdder();
+	private final LongAdder closeCount = new LongAdder();
+	private final AtomicInteger maxEverUsed = new AtomicInteger();
+	private final LongAdder acquireCount = new LongAdder();
+	private final LongAdder acquireWaitNanos = new LongAdder();
+	private final AtomicLong maxAcquireWaitNanos = new AtomicLong();
+	private final LongAdder acquireTimeoutCount = new LongAdder();
+	private final PooledConnectionSourceMetrics metrics = new PooledConnectionSourceMetrics(this);
+	private volatile PooledConnectionListener listener;
+	private volatile int testLoopCount = 0;
 	private long checkConnectionsEveryMillis = CHECK_CONNECTIONS_EVERY_MILLIS;
 	private boolean testBeforeGetFromPool = false;
+	private boolean testWithIsValid = false;
+	private int isValidTimeoutSeconds = DEFAULT_IS_VALID_TIMEOUT_SECONDS;
+	// set to false if the driver throws when we call isValid so we go back to the ping statement
+	private volatile boolean isValidSupported = true;
+	private long skipTestIfUsedWithinMillis = 0;
+	private int testerThreads = 1;
+	private long leakDetectionThresholdMillis = 0;
+	private int leakStackTraceSampleRate = DEFAULT_LEAK_STACK_TRACE_SAMPLE_RATE;
+	private final LongAdder leakCount = new LongAdder();
+	private boolean threadAffinity = false;
+	// the last connection released by each thread if thread-affinity is enabled
+	private final ThreadLocal<ConnectionMetaData> threadConnection = new ThreadLocal<ConnectionMetaData>();
 	private volatile boolean isOpen = true;
 
 	public JdbcPooledConnectionSource() {
@@ -87,6 +186,11 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	public void initialize() throws SQLException {
 		super.initialize();
 		pingStatment = databaseType.getPingStatement();
+		// NOTE: this is called from the super constructor before our fields are set but then min-idle is still 0
+		if (minConnectionsIdle > 0 && creator == null) {
+			fillIdleConnections();
+			startCreator();
+		}
 	}
 
 	@Override
@@ -95,17 +199,16 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 			throw new SQLException(getClass().getSimpleName() + " was not initialized properly");
 		}
 		logger.debug("closing");
-		synchronized (lock) {
-			// close the outstanding connections in the list
-			for (ConnectionMetaData connMetaData : connFreeList) {
-				closeConnectionQuietly(connMetaData);
-			}
-			connFreeList.clear();
-			connFreeList = null;
-			// NOTE: We can't close the ones left in the connectionMap because they may still be in use.
-			connectionMap.clear();
-			isOpen = false;
+		// set this first so any releases after this point will close their connections
+		isOpen = false;
+		ConnectionCreator currentCreator = creator;
+		if (currentCreator != null) {
+			currentCreator.wakeUp();
 		}
+		// close the outstanding connections in the list
+		closeFreeConnections();
+		// NOTE: We can't close the ones left in the connectionMap because they may still be in use.
+		connectionMap.clear();
 	}
 
 	@Override
@@ -121,30 +224,31 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		if (conn != null) {
 			return conn;
 		}
-		synchronized (lock) {
-			while (connFreeList.size() > 0) {
-				// take the first one off of the list
-				ConnectionMetaData connMetaData = getFreeConnection();
-				if (connMetaData == null) {
-					// need to create a new one
-				} else if (testBeforeGetFromPool && !testConnection(connMetaData)) {
-					// close expired connection
-					closeConnectionQuietly(connMetaData);
-				} else {
-					logger.debug("reusing connection {}", connMetaData);
-					return connMetaData.connection;
-				}
+		long startNanos = System.nanoTime();
+		// one deadline for all of the waiting so the timeout isn't applied more than once
+		long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+		Semaphore permits = connectionPermits;
+		if (permits != null) {
+			acquirePermit(permits, deadlineNanos);
+		}
+		boolean success = false;
+		try {
+			ConnectionMetaData connMetaData = getConnectionMetaData(deadlineNanos);
+			connMetaData.setHeldPermit(permits);
+			long nowNanos = System.nanoTime();
+			noteBorrowed(connMetaData, nowNanos);
+			long acquireNanos = nowNanos - startNanos;
+			metrics.acquireHistogram.record(acquireNanos);
+			PooledConnectionListener currentListener = listener;
+			if (currentListener != null) {
+				currentListener.connectionAcquired(acquireNanos);
 			}
-			// if none in the free list then make a new one
-			DatabaseConnection connection = makeConnection(logger);
-			openCount++;
-			// add it to our connection map
-			connectionMap.put(connection, new ConnectionMetaData(connection, maxConnectionAgeMillis));
-			int maxInUse = connectionMap.size();
-			if (maxInUse > maxEverUsed) {
-				maxEverUsed = maxInUse;
+			success = true;
+			return connMetaData.connection;
+		} finally {
+			if (!success && permits != null) {
+				permits.release();
 			}
-			return connection;
 		}
 	}
 
@@ -159,50 +263,77 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		 * If the connection is not close and has auto-commit turned off then we must roll-back any outstanding
 		 * statements and set auto-commit back to true.
 		 */
+		ConnectionMetaData meta = connectionMap.get(connection);
+		if (meta != null) {
+			noteReleased(meta);
+		}
+		try {
+			releaseConnection(connection, meta);
+		} finally {
+			// this needs to be done after the connection has been added to the free-list
+			if (meta != null) {
+				meta.releaseHeldPermit();
+			}
+		}
+	}
+
+	private void releaseConnection(DatabaseConnection connection, ConnectionMetaData meta) throws SQLException {
 		boolean isClosed = connection.isClosed();
 		if (!isClosed && !connection.isAutoCommit()) {
 			connection.rollback(null);
 			connection.setAutoCommit(true);
 		}
-		synchronized (lock) {
-			releaseCount++;
-			if (isClosed) {
-				// it's already closed so just drop it
-				ConnectionMetaData meta = connectionMap.remove(connection);
-				if (meta == null) {
-					logger.debug("dropping already closed unknown connection {}", connection);
-				} else {
-					logger.debug("dropping already closed connection {}", meta);
-				}
-				return;
-			}
-			if (connFreeList == null) {
-				// if we've already closed the pool then just close the connection
-				closeConnection(connection);
-				return;
-			}
-			ConnectionMetaData meta = connectionMap.get(connection);
+		releaseCount.increment();
+		if (isClosed) {
+			// it's already closed so just drop it
+			connectionMap.remove(connection);
 			if (meta == null) {
-				logger.error("should have found connection {} in the map", connection);
-				closeConnection(connection);
+				logger.debug("dropping already closed unknown connection {}", connection);
 			} else {
-				meta.noteUsed();
-				connFreeList.add(meta);
-				logger.debug("cache released connection {}", meta);
-				if (connFreeList.size() > maxConnectionsFree) {
-					// close the first connection in the queue
-					meta = connFreeList.remove(0);
-					logger.debug("cache too full, closing connection {}", meta);
-					closeConnection(meta.connection);
-				}
-				if (checkConnectionsEveryMillis > 0 && tester == null) {
-					tester = new ConnectionTester();
-					tester.setName(getClass().getSimpleName() + " connection tester");
-					tester.setDaemon(true);
-					tester.start();
-				}
+				meta.markClosed();
+				logger.debug("dropping already closed connection {}", meta);
+			}
+			return;
+		}
+		if (!isOpen) {
+			// if we've already closed the pool then just close the connection
+			closeConnection(connection);
+			return;
+		}
+		if (meta == null) {
+			logger.error("should have found connection {} in the map", connection);
+			closeConnection(connection);
+			return;
+		}
+		meta.noteUsed();
+		if (handoffQueue.hasWaitingConsumer() && handoffQueue.tryTransfer(meta)) {
+			// a caller was waiting so it now owns the connection and we skip the free list
+			logger.debug("handed released connection {} to a waiting caller", meta);
+			return;
+		}
+		if (!addFreeConnection(meta)) {
+			logger.debug("connection {} was already released", meta);
+			return;
+		}
+		logger.debug("cache released connection {}", meta);
+		if (threadAffinity) {
+			threadConnection.set(meta);
+		}
+		if (getIdleConnectionCount() > maxConnectionsFree) {
+			// close the first connection in the queue which is the least recently used
+			ConnectionMetaData oldest = pollFreeConnection(false);
+			if (oldest != null) {
+				logger.debug("cache too full, closing connection {}", oldest);
+				closeConnection(oldest.connection);
 			}
 		}
+		if (!isOpen) {
+			// the pool was closed while we were adding the connection so make sure that it doesn't linger
+			closeFreeConnections();
+		}
+		if (checkConnectionsEveryMillis > 0 && tester == null) {
+			startTester();
+		}
 	}
 
 	@Override
@@ -248,6 +379,72 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		this.maxConnectionsFree = maxConnectionsFree;
 	}
 
+	/**
+	 * Set the number of free connections that the pool tries to keep open. They are opened when the pool is
+	 * initialized and a background thread opens new ones as they are handed out so callers don't have to wait for a
+	 * connection to be made. Idle connections are not closed if it would bring the free list below this number. This
+	 * should be no more than {@link #setMaxConnectionsFree(int)}. Default is 0 which means that connections are only
+	 * opened on demand by the callers. If the pool has already been initialized, the creator is started and fills the
+	 * free list in the background.
+	 */
+	public void setMinConnectionsIdle(int minConnectionsIdle) {
+		this.minConnectionsIdle = minConnectionsIdle;
+		if (minConnectionsIdle > 0 && initialized && isOpen) {
+			startCreator();
+		}
+	}
+
+	public int getMinConnectionsIdle() {
+		return minConnectionsIdle;
+	}
+
+	/**
+	 * Set the maximum number of connections that can be open at one time, counting both the connections in use and the
+	 * free ones. Once this limit has been reached, callers to {@link #getReadWriteConnection(String)} will wait in FIFO
+	 * order for a connection to be released. Default is 0 which means no limit. This should be called before the
+	 * connection source is used.
+	 */
+	public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+		this.maxConnectionsTotal = maxConnectionsTotal;
+		if (maxConnectionsTotal > 0) {
+			// fair so the callers get the connections in the order that they asked for them
+			connectionPermits = new Semaphore(maxConnectionsTotal, true);
+		} else {
+			connectionPermits = null;
+		}
+	}
+
+	public int getMaxConnectionsTotal() {
+		return maxConnectionsTotal;
+	}
+
+	/**
+	 * Set the number of milliseconds that a caller will wait for a connection if {@link #setMaxConnectionsTotal(int)}
+	 * connections are already in use. If no connection is available in that time then a
+	 * {@link ConnectionAcquireTimeoutException} is thrown. Default is 30000.
+	 */
+	public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	/**
+	 * Set to true to hand out the most recently released connection first (LIFO) instead of the least recently
+	 * released one (FIFO). This keeps the busy connections and their server-side caches warm and lets the others go
+	 * idle so they can be closed with {@link #setMaxConnectionIdleMillis(long)}. Default is false.
+	 */
+	public void setReuseMostRecentlyUsed(boolean reuseMostRecentlyUsed) {
+		this.reuseMostRecentlyUsed = reuseMostRecentlyUsed;
+	}
+
+	/**
+	 * Set the number of milliseconds that a connection can sit unused in the free list before it is closed by the tester
+	 * thread. Set to 0 to never close idle connections which is the default. This requires that the tester thread is
+	 * running, see {@link #setCheckConnectionsEveryMillis(long)}.
+	 */
+	public void setMaxConnectionIdleMillis(long maxConnectionIdleMillis) {
+		this.maxConnectionIdleMillis = maxConnectionIdleMillis;
+	}
+
 	/**
 	 * Set the number of milliseconds that a connection can stay open before being closed. Set to Long.MAX_VALUE to have
 	 * the connections never expire.
@@ -257,49 +454,88 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	}
 
 	/**
-	 * Return the approximate number of connections opened over the life of the pool.
+	 * Return the number of connections opened over the life of the pool.
 	 */
 	public int getOpenCount() {
-		return openCount;
+		return (int) openCount.sum();
 	}
 
 	/**
-	 * Return the approximate number of connections released over the life of the pool.
+	 * Return the number of connections released over the life of the pool.
 	 */
 	public int getReleaseCount() {
-		return releaseCount;
+		return (int) releaseCount.sum();
 	}
 
 	/**
-	 * Return the approximate number of connections closed over the life of the pool.
+	 * Return the number of connections closed over the life of the pool.
 	 */
 	public int getCloseCount() {
-		return closeCount;
+		return (int) closeCount.sum();
 	}
 
 	/**
-	 * Return the approximate maximum number of connections in use at one time.
+	 * Return the maximum number of connections in use at one time.
 	 */
 	public int getMaxConnectionsEverUsed() {
-		return maxEverUsed;
+		return maxEverUsed.get();
 	}
 
 	/**
-	 * Return the number of currently freed connections in the free list.
+	 * Return the number of times that a connection was requested from the pool while the number of connections was
+	 * limited by {@link #setMaxConnectionsTotal(int)}.
 	 */
-	public int getCurrentConnectionsFree() {
-		synchronized (lock) {
-			return connFreeList.size();
+	public long getAcquireCount() {
+		return acquireCount.sum();
+	}
+
+	/**
+	 * Return the total number of milliseconds that the callers waited for a connection because of the
+	 * {@link #setMaxConnectionsTotal(int)} limit. Divide by {@link #getAcquireCount()} to get the average.
+	 */
+	public long getAcquireWaitMillisTotal() {
+		return TimeUnit.NANOSECONDS.toMillis(acquireWaitNanos.sum());
+	}
+
+	/**
+	 * Return the maximum number of milliseconds that a single caller waited for a connection.
+	 */
+	public long getAcquireWaitMillisMax() {
+		return TimeUnit.NANOSECONDS.toMillis(maxAcquireWaitNanos.get());
+	}
+
+	/**
+	 * Return the number of times that a caller timed out waiting for a connection.
+	 */
+	public long getAcquireTimeoutCount() {
+		return acquireTimeoutCount.sum();
+	}
+
+	/**
+	 * Return the approximate number of callers that are waiting for a connection to be released.
+	 */
+	public int getCurrentConnectionWaiters() {
+		Semaphore permits = connectionPermits;
+		if (permits == null) {
+			return 0;
+		} else {
+			return permits.getQueueLength();
 		}
 	}
 
+	/**
+	 * Return the number of currently freed connections in the free list. This includes the ones that the tester is
+	 * testing at the moment.
+	 */
+	public int getCurrentConnectionsFree() {
+		return getIdleConnectionCount();
+	}
+
 	/**
 	 * Return the number of current connections that we are tracking.
 	 */
 	public int getCurrentConnectionsManaged() {
-		synchronized (lock) {
-			return connectionMap.size();
-		}
+		return connectionMap.size();
 	}
 
 	/**
@@ -315,6 +551,108 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		this.testBeforeGetFromPool = testBeforeGetFromPool;
 	}
 
+	/**
+	 * Set to true to test the connections with the JDBC {@link Connection#isValid(int)} method instead of running the
+	 * database's ping statement. Drivers can usually check the connection without a full query round trip. If the
+	 * driver does not support it then we go back to the ping statement. Default is false.
+	 */
+	public void setTestWithIsValid(boolean testWithIsValid) {
+		this.testWithIsValid = testWithIsValid;
+	}
+
+	/**
+	 * Set the number of seconds that {@link Connection#isValid(int)} waits for the database to respond when
+	 * {@link #setTestWithIsValid(boolean)} is enabled. Default is 5.
+	 */
+	public void setIsValidTimeoutSeconds(int isValidTimeoutSeconds) {
+		this.isValidTimeoutSeconds = isValidTimeoutSeconds;
+	}
+
+	/**
+	 * Set the number of milliseconds after a connection was last used where it will not be tested, either by the
+	 * tester thread or before being handed out with {@link #setTestBeforeGet(boolean)}. A connection that was just used
+	 * successfully is very likely to still be good. Default is 0 which tests every time.
+	 */
+	public void setSkipTestIfUsedWithinMillis(long skipTestIfUsedWithinMillis) {
+		this.skipTestIfUsedWithinMillis = skipTestIfUsedWithinMillis;
+	}
+
+	/**
+	 * Set the number of threads that test the free connections in parallel. With the default of 1, the tester thread
+	 * tests each connection itself, one after the other. This should be called before the connection source is used.
+	 */
+	public void setTesterThreads(int testerThreads) {
+		this.testerThreads = testerThreads;
+	}
+
+	/**
+	 * Set to true to have each thread remember the last connection that it released and try to get it back on its next
+	 * get without touching the shared free list. If the connection has been taken by another thread in the meantime or
+	 * has expired then the free list is used as normal. This helps if threads get and release connections many times
+	 * in a row. Default is false.
+	 */
+	public void setThreadAffinity(boolean threadAffinity) {
+		this.threadAffinity = threadAffinity;
+	}
+
+	/**
+	 * Set the number of milliseconds that a connection can be held before the tester thread reports it as a possible
+	 * leak. Each connection is only reported once per borrow. Default is 0 which disables leak detection. This requires
+	 * that the tester thread is running, see {@link #setCheckConnectionsEveryMillis(long)}.
+	 */
+	public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+		this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+	}
+
+	/**
+	 * When leak detection is enabled, capture the stack trace of 1 in every N borrows so the leak report can say where
+	 * the connection was taken. Capturing a stack trace is expensive so the default is 100. Set to 1 to capture every
+	 * borrow while tracking down a leak or to 0 to never capture them.
+	 */
+	public void setLeakStackTraceSampleRate(int leakStackTraceSampleRate) {
+		this.leakStackTraceSampleRate = leakStackTraceSampleRate;
+	}
+
+	/**
+	 * Return the number of connections that have been reported as possible leaks.
+	 */
+	public long getLeakCount() {
+		return leakCount.sum();
+	}
+
+	/**
+	 * Return a snapshot of the connections that are currently handed out, who borrowed them, and for how long. The
+	 * thread name and stack trace are only recorded when leak detection is enabled.
+	 */
+	public List<BorrowedConnection> getBorrowedConnections() {
+		long now = System.currentTimeMillis();
+		List<BorrowedConnection> borrowed = new ArrayList<BorrowedConnection>();
+		for (ConnectionMetaData connMetaData : connectionMap.values()) {
+			long borrowedMillis = connMetaData.borrowedMillis;
+			if (borrowedMillis > 0) {
+				borrowed.add(new BorrowedConnection(connMetaData.connection, connMetaData.borrowThreadName,
+						borrowedMillis, now - borrowedMillis, connMetaData.borrowStackTrace));
+			}
+		}
+		return borrowed;
+	}
+
+	/**
+	 * Return the metrics of the pool which include histograms of the acquire, hold, creation, and test times of the
+	 * connections. This can be registered with JMX.
+	 */
+	public PooledConnectionSourceMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Set a listener that is called as connections are created, handed out, released, tested, and closed so the pool
+	 * can report to an external metrics system. Set to null to remove it.
+	 */
+	public void setListener(PooledConnectionListener listener) {
+		this.listener = listener;
+	}
+
 	/**
 	 * Mostly for testing purposes to see how many times our test loop ran.
 	 */
@@ -323,18 +661,25 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	}
 
 	/**
-	 * This should be inside of synchronized (lock) stanza.
+	 * Close the connection and remove it from the managed map. The connection must not be in the free list.
 	 */
 	protected void closeConnection(DatabaseConnection connection) throws SQLException {
 		// this can return null if we are closing the pool
 		ConnectionMetaData meta = connectionMap.remove(connection);
+		if (meta != null) {
+			meta.markClosed();
+		}
 		IOUtils.closeThrowSqlException(connection, "SQL connection");
 		logger.debug("closed connection {}", meta);
-		closeCount++;
+		closeCount.increment();
+		PooledConnectionListener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.connectionClosed();
+		}
 	}
 
 	/**
-	 * Must be called inside of synchronized(lock)
+	 * Close the connection ignoring any exceptions. The connection must not be in the free list.
 	 */
 	protected void closeConnectionQuietly(ConnectionMetaData connMetaData) {
 		try {
@@ -346,6 +691,22 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	}
 
 	protected boolean testConnection(ConnectionMetaData connMetaData) {
+		if (testWithIsValid && isValidSupported) {
+			Connection connection = connMetaData.connection.getUnderlyingConnection();
+			if (connection != null) {
+				try {
+					boolean valid = connection.isValid(isValidTimeoutSeconds);
+					logger.trace("tested connection {} with isValid, got {}", connMetaData, valid);
+					return valid;
+				} catch (SQLFeatureNotSupportedException e) {
+					logger.debug("driver does not support isValid, using the ping statement instead");
+					isValidSupported = false;
+				} catch (Exception e) {
+					logger.debug(e, "testing connection {} with isValid threw exception", connMetaData);
+					return false;
+				}
+			}
+		}
 		try {
 			// issue our ping statement
 			long result = connMetaData.connection.queryForLong(pingStatment);
@@ -357,23 +718,385 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		}
 	}
 
+	/**
+	 * Test the connection and record how long it took.
+	 */
+	private boolean timedTestConnection(ConnectionMetaData connMetaData) {
+		long startNanos = System.nanoTime();
+		boolean valid = testConnection(connMetaData);
+		long testNanos = System.nanoTime() - startNanos;
+		metrics.testHistogram.record(testNanos);
+		PooledConnectionListener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.connectionTested(testNanos, valid);
+		}
+		return valid;
+	}
+
+	/**
+	 * Get a connection from the free list or make a new one if there are none.
+	 */
+	private ConnectionMetaData getConnectionMetaData(long deadlineNanos) throws SQLException {
+		// take the first one off of the list
+		ConnectionMetaData connMetaData = getFreeConnection();
+		if (connMetaData != null) {
+			logger.debug("reusing connection {}", connMetaData);
+			return connMetaData;
+		}
+		if (creator == null) {
+			// if none in the free list then make a new one, this is done outside of any lock
+			connMetaData = createConnection();
+		} else {
+			connMetaData = waitForConnection(deadlineNanos);
+		}
+		noteConnectionsInUse(connectionMap.size());
+		return connMetaData;
+	}
+
+	/**
+	 * Make a new connection and add it to our connection map. It starts off in use.
+	 */
+	private ConnectionMetaData createConnection() throws SQLException {
+		long startNanos = System.nanoTime();
+		DatabaseConnection connection = makeConnection(logger);
+		long createNanos = System.nanoTime() - startNanos;
+		openCount.increment();
+		metrics.createHistogram.record(createNanos);
+		PooledConnectionListener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.connectionCreated(createNanos);
+		}
+		ConnectionMetaData connMetaData = new ConnectionMetaData(connection, maxConnectionAgeMillis);
+		connectionMap.put(connection, connMetaData);
+		return connMetaData;
+	}
+
+	/**
+	 * Wait until the deadline for the creator or a release to hand us a connection or for one to show up in the free
+	 * list.
+	 */
+	private ConnectionMetaData waitForConnection(long deadlineNanos) throws SQLException {
+		while (true) {
+			ConnectionCreator currentCreator = creator;
+			if (currentCreator != null) {
+				currentCreator.wakeUp();
+			}
+			long pollNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(HANDOFF_POLL_MILLIS),
+					Math.max(deadlineNanos - System.nanoTime(), 0));
+			ConnectionMetaData connMetaData;
+			try {
+				connMetaData = handoffQueue.poll(pollNanos, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for a connection from " + getClass().getSimpleName(),
+						e);
+			}
+			if (connMetaData != null) {
+				logger.debug("got handed connection {}", connMetaData);
+				connMetaData.noteUsed();
+				return connMetaData;
+			}
+			// a connection may have been released to the free list before we started waiting
+			connMetaData = getFreeConnection();
+			if (connMetaData != null) {
+				logger.debug("reusing connection {}", connMetaData);
+				return connMetaData;
+			}
+			if (!isOpen) {
+				throw new SQLException(getClass().getSimpleName() + " was closed while waiting for a connection");
+			}
+			if (deadlineNanos - System.nanoTime() <= 0) {
+				noteAcquireTimedOut();
+				SQLException lastException = (currentCreator == null ? null : currentCreator.lastException);
+				throw new ConnectionAcquireTimeoutException("Timed out after " + acquireTimeoutMillis
+						+ "ms waiting for the creator to make a connection for " + getClass().getSimpleName(),
+						lastException);
+			}
+		}
+	}
+
+	/**
+	 * Open connections until the free list has min-idle connections in it.
+	 */
+	private void fillIdleConnections() throws SQLException {
+		while (isOpen && needsIdleConnection()) {
+			addCreatedConnection(createConnection());
+		}
+	}
+
+	/**
+	 * Return true if there are fewer than min-idle free connections and we are allowed to make another.
+	 */
+	private boolean needsIdleConnection() {
+		// no point in filling above max-free since the release would just close them again
+		int target = Math.min(minConnectionsIdle, maxConnectionsFree);
+		return (getIdleConnectionCount() < target && !atMaxConnectionsTotal());
+	}
+
+	/**
+	 * Return the number of connections that are not in use by a caller which is the free ones plus the free ones that
+	 * the tester has claimed for the moment.
+	 */
+	private int getIdleConnectionCount() {
+		return connFreeCount.get() + connTestingCount.get();
+	}
+
+	private boolean atMaxConnectionsTotal() {
+		return (maxConnectionsTotal > 0 && connectionMap.size() >= maxConnectionsTotal);
+	}
+
+	/**
+	 * Hand a newly created connection to a waiting caller or add it to the free list.
+	 */
+	private void addCreatedConnection(ConnectionMetaData connMetaData) {
+		if (handoffQueue.tryTransfer(connMetaData)) {
+			logger.debug("handed new connection {} to a waiting caller", connMetaData);
+			return;
+		}
+		addFreeConnection(connMetaData);
+		logger.debug("added new connection {} to the free list", connMetaData);
+		if (!isOpen) {
+			// the pool was closed while we were making the connection
+			closeFreeConnections();
+		} else if (checkConnectionsEveryMillis > 0 && tester == null) {
+			startTester();
+		}
+	}
+
+	/**
+	 * Wait for one of the limited number of connections to be available.
+	 */
+	private void acquirePermit(Semaphore permits, long deadlineNanos) throws SQLException {
+		long startNanos = System.nanoTime();
+		boolean acquired;
+		try {
+			// NOTE: tryAcquire() without a timeout would barge in front of the waiting callers
+			acquired = permits.tryAcquire(deadlineNanos - startNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection from " + getClass().getSimpleName(), e);
+		}
+		long waitNanos = System.nanoTime() - startNanos;
+		acquireCount.increment();
+		acquireWaitNanos.add(waitNanos);
+		while (true) {
+			long max = maxAcquireWaitNanos.get();
+			if (waitNanos <= max || maxAcquireWaitNanos.compareAndSet(max, waitNanos)) {
+				break;
+			}
+		}
+		if (!acquired) {
+			noteAcquireTimedOut();
+			throw new ConnectionAcquireTimeoutException("Timed out after " + acquireTimeoutMillis
+					+ "ms waiting for one of the " + maxConnectionsTotal + " connections from "
+					+ getClass().getSimpleName() + ", " + permits.getQueueLength() + " other callers waiting");
+		}
+	}
+
 	private ConnectionMetaData getFreeConnection() {
-		synchronized (lock) {
-			long now = System.currentTimeMillis();
-			while (connFreeList.size() > 0) {
-				// take the first one off of the list
-				ConnectionMetaData connMetaData = connFreeList.remove(0);
-				// is it already expired
-				if (connMetaData.isExpired(now)) {
-					// close expired connection
-					closeConnectionQuietly(connMetaData);
-				} else {
-					connMetaData.noteUsed();
-					return connMetaData;
+		long now = System.currentTimeMillis();
+		while (true) {
+			ConnectionMetaData connMetaData = null;
+			if (threadAffinity) {
+				connMetaData = claimThreadConnection();
+			}
+			if (connMetaData == null) {
+				// take the first or last one off of the list
+				connMetaData = pollFreeConnection(reuseMostRecentlyUsed);
+				if (connMetaData == null) {
+					return null;
 				}
 			}
+			// is it already expired
+			if (connMetaData.isExpired(now)) {
+				// close expired connection
+				closeConnectionQuietly(connMetaData);
+			} else if (testBeforeGetFromPool && connMetaData.isIdle(now, skipTestIfUsedWithinMillis)
+					&& !timedTestConnection(connMetaData)) {
+				// close the bad connection
+				closeConnectionQuietly(connMetaData);
+			} else {
+				connMetaData.noteUsed();
+				ConnectionCreator currentCreator = creator;
+				if (currentCreator != null && getIdleConnectionCount() < minConnectionsIdle) {
+					currentCreator.wakeUp();
+				}
+				return connMetaData;
+			}
+		}
+	}
+
+	/**
+	 * Try to claim the last connection that this thread released.
+	 */
+	private ConnectionMetaData claimThreadConnection() {
+		ConnectionMetaData connMetaData = threadConnection.get();
+		if (connMetaData == null) {
+			return null;
+		}
+		if (connMetaData.claim()) {
+			// NOTE: its entry stays in the free list and is skipped when it is polled
+			connFreeCount.decrementAndGet();
+			return connMetaData;
+		} else {
+			// another thread stole it or it was closed
+			threadConnection.remove();
+			return null;
+		}
+	}
+
+	/**
+	 * Remove the least recently released connection from the head of the free list or the most recently released one
+	 * from the tail. Whoever gets it back from here owns it.
+	 */
+	private ConnectionMetaData pollFreeConnection(boolean mostRecent) {
+		while (true) {
+			ConnectionMetaData connMetaData;
+			if (mostRecent) {
+				connMetaData = connFreeList.pollLast();
+			} else {
+				connMetaData = connFreeList.pollFirst();
+			}
+			if (connMetaData == null) {
+				return null;
+			}
+			// this has to be done before the claim so a release that races with us re-adds the connection
+			connMetaData.clearQueued();
+			if (connMetaData.claim()) {
+				connFreeCount.decrementAndGet();
+				return connMetaData;
+			}
+			// entry for a connection that was claimed through the thread-affinity path, skip it
+		}
+	}
+
+	/**
+	 * Mark the connection as free and add it to the end of the free list. Returns false if it was already free.
+	 */
+	private boolean addFreeConnection(ConnectionMetaData connMetaData) {
+		// increment first so the count never goes negative when racing with the poll
+		connFreeCount.incrementAndGet();
+		if (!connMetaData.unclaim()) {
+			connFreeCount.decrementAndGet();
+			return false;
+		}
+		// if it still has an entry in the free list, from being claimed by its thread, then we don't add another
+		if (connMetaData.markQueued()) {
+			connFreeList.addLast(connMetaData);
+		}
+		return true;
+	}
+
+	private void closeFreeConnections() {
+		while (true) {
+			ConnectionMetaData connMetaData = pollFreeConnection(false);
+			if (connMetaData == null) {
+				return;
+			}
+			closeConnectionQuietly(connMetaData);
+		}
+	}
+
+	/**
+	 * Record when and, if leak detection is enabled, by whom the connection was borrowed.
+	 */
+	private void noteBorrowed(ConnectionMetaData connMetaData, long nowNanos) {
+		if (leakDetectionThresholdMillis <= 0) {
+			connMetaData.noteBorrowed(nowNanos, null, null);
+			return;
+		}
+		Throwable stackTrace = null;
+		int sampleRate = leakStackTraceSampleRate;
+		if (sampleRate == 1 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0)) {
+			stackTrace = new Throwable("connection borrowed here");
+		}
+		connMetaData.noteBorrowed(nowNanos, Thread.currentThread().getName(), stackTrace);
+		if (checkConnectionsEveryMillis > 0 && tester == null) {
+			// we don't want to wait for a release to start looking for leaks
+			startTester();
+		}
+	}
+
+	private void noteReleased(ConnectionMetaData connMetaData) {
+		long borrowedMillis = connMetaData.borrowedMillis;
+		long holdNanos = System.nanoTime() - connMetaData.borrowedNanos;
+		boolean leakReported = connMetaData.leakReported;
+		connMetaData.noteReleased();
+		if (borrowedMillis > 0) {
+			metrics.holdHistogram.record(holdNanos);
+			PooledConnectionListener currentListener = listener;
+			if (currentListener != null) {
+				currentListener.connectionReleased(holdNanos);
+			}
+		}
+		if (leakReported && borrowedMillis > 0) {
+			logger.info("connection {} that was reported as a possible leak was released after {}ms", connMetaData,
+					System.currentTimeMillis() - borrowedMillis);
+		}
+	}
+
+	/**
+	 * Report the connections that have been held for longer than the leak detection threshold.
+	 */
+	private void reportLeaks(long now) {
+		for (ConnectionMetaData connMetaData : connectionMap.values()) {
+			long borrowedMillis = connMetaData.borrowedMillis;
+			if (borrowedMillis <= 0 || now - borrowedMillis < leakDetectionThresholdMillis
+					|| connMetaData.leakReported) {
+				continue;
+			}
+			connMetaData.leakReported = true;
+			leakCount.increment();
+			Throwable stackTrace = connMetaData.borrowStackTrace;
+			if (stackTrace == null) {
+				logger.warn("connection {} borrowed by thread '{}' has been held for {}ms, possible leak", connMetaData,
+						connMetaData.borrowThreadName, now - borrowedMillis);
+			} else {
+				logger.warn(stackTrace, "connection {} borrowed by thread '{}' has been held for {}ms, possible leak",
+						connMetaData, connMetaData.borrowThreadName, now - borrowedMillis);
+			}
+		}
+	}
+
+	private void noteAcquireTimedOut() {
+		acquireTimeoutCount.increment();
+		PooledConnectionListener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.acquireTimedOut();
+		}
+	}
+
+	private void noteConnectionsInUse(int inUse) {
+		while (true) {
+			int max = maxEverUsed.get();
+			if (inUse <= max || maxEverUsed.compareAndSet(max, inUse)) {
+				return;
+			}
+		}
+	}
+
+	private void startTester() {
+		synchronized (threadLock) {
+			if (tester == null) {
+				ConnectionTester newTester = new ConnectionTester();
+				newTester.setName(getClass().getSimpleName() + " connection tester");
+				newTester.setDaemon(true);
+				newTester.start();
+				tester = newTester;
+			}
+		}
+	}
+
+	private void startCreator() {
+		synchronized (threadLock) {
+			if (creator == null) {
+				ConnectionCreator newCreator = new ConnectionCreator();
+				newCreator.setName(getClass().getSimpleName() + " connection creator");
+				newCreator.setDaemon(true);
+				newCreator.start();
+				creator = newCreator;
+			}
 		}
-		return null;
 	}
 
 	private void checkInitializedSqlException() throws SQLException {
@@ -392,9 +1115,26 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 	 * Class to hold the connection and its meta data.
 	 */
 	protected static class ConnectionMetaData {
+		private static final int STATE_FREE = 0;
+		private static final int STATE_IN_USE = 1;
+		private static final int STATE_CLOSED = 2;
+
 		public final DatabaseConnection connection;
 		private final long expiresMillis;
-		private long lastUsed;
+		private volatile long lastUsed;
+		// starts off in-use because a new connection is handed out right away
+		private final AtomicInteger state = new AtomicInteger(STATE_IN_USE);
+		// whether the connection has an entry in the free list, which may be stale if claimed by its thread
+		private final AtomicBoolean queued = new AtomicBoolean();
+		// permit that the connection holds while it is handed out, if the number of connections is limited
+		private final AtomicReference<Semaphore> heldPermit = new AtomicReference<Semaphore>();
+		// when the connection was handed out or 0 if it is not
+		volatile long borrowedMillis;
+		volatile long borrowedNanos;
+		// these are only set if leak detection is enabled
+		volatile String borrowThreadName;
+		volatile Throwable borrowStackTrace;
+		volatile boolean leakReported;
 
 		public ConnectionMetaData(DatabaseConnection connection, long maxConnectionAgeMillis) {
 			this.connection = connection;
@@ -411,6 +1151,13 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 			return (expiresMillis <= now);
 		}
 
+		/**
+		 * Return true if the connection has not been used in the last idle-millis.
+		 */
+		public boolean isIdle(long now, long idleMillis) {
+			return (now - lastUsed >= idleMillis);
+		}
+
 		public long getLastUsed() {
 			return lastUsed;
 		}
@@ -419,32 +1166,168 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 			this.lastUsed = System.currentTimeMillis();
 		}
 
+		void noteBorrowed(long nowNanos, String threadName, Throwable stackTrace) {
+			this.borrowedNanos = nowNanos;
+			this.borrowThreadName = threadName;
+			this.borrowStackTrace = stackTrace;
+			this.leakReported = false;
+			// last-used was just set when the connection was taken from the pool
+			this.borrowedMillis = lastUsed;
+		}
+
+		void noteReleased() {
+			this.borrowedMillis = 0;
+			this.borrowThreadName = null;
+			this.borrowStackTrace = null;
+			this.leakReported = false;
+		}
+
+		/**
+		 * Take ownership of a free connection. Returns false if someone else got it first or if it is closed.
+		 */
+		boolean claim() {
+			return state.compareAndSet(STATE_FREE, STATE_IN_USE);
+		}
+
+		/**
+		 * Give up ownership of the connection. Returns false if it was not in use.
+		 */
+		boolean unclaim() {
+			return state.compareAndSet(STATE_IN_USE, STATE_FREE);
+		}
+
+		void markClosed() {
+			state.set(STATE_CLOSED);
+		}
+
+		boolean isClosed() {
+			return (state.get() == STATE_CLOSED);
+		}
+
+		boolean markQueued() {
+			return !queued.getAndSet(true);
+		}
+
+		void clearQueued() {
+			queued.set(false);
+		}
+
+		void setHeldPermit(Semaphore permits) {
+			heldPermit.set(permits);
+		}
+
+		/**
+		 * Release the permit held by the connection. This is idempotent so a double release won't over-count.
+		 */
+		void releaseHeldPermit() {
+			Semaphore permits = heldPermit.getAndSet(null);
+			if (permits != null) {
+				permits.release();
+			}
+		}
+
 		@Override
 		public String toString() {
 			return "#" + hashCode();
 		}
 	}
 
+	/**
+	 * Information about a connection that is currently handed out, returned by {@link #getBorrowedConnections()}.
+	 */
+	public static class BorrowedConnection {
+
+		private final DatabaseConnection connection;
+		private final String threadName;
+		private final long borrowedMillis;
+		private final long heldMillis;
+		private final Throwable stackTrace;
+
+		public BorrowedConnection(DatabaseConnection connection, String threadName, long borrowedMillis,
+				long heldMillis, Throwable stackTrace) {
+			this.connection = connection;
+			this.threadName = threadName;
+			this.borrowedMillis = borrowedMillis;
+			this.heldMillis = heldMillis;
+			this.stackTrace = stackTrace;
+		}
+
+		public DatabaseConnection getConnection() {
+			return connection;
+		}
+
+		/**
+		 * Name of the thread that borrowed the connection or null if leak detection was not enabled.
+		 */
+		public String getThreadName() {
+			return threadName;
+		}
+
+		/**
+		 * Time in millis when the connection was borrowed.
+		 */
+		public long getBorrowedMillis() {
+			return borrowedMillis;
+		}
+
+		/**
+		 * Number of millis that the connection had been held when the snapshot was taken.
+		 */
+		public long getHeldMillis() {
+			return heldMillis;
+		}
+
+		/**
+		 * Where the connection was borrowed or null if the stack trace was not sampled.
+		 */
+		public Throwable getStackTrace() {
+			return stackTrace;
+		}
+
+		@Override
+		public String toString() {
+			return "connection #" + connection.hashCode() + " held by '" + threadName + "' for " + heldMillis + "ms";
+		}
+	}
+
 	/**
 	 * Tester thread that checks the connections that we have queued to make sure they are still good.
 	 */
 	private class ConnectionTester extends Thread {
 
-		// class field to reduce gc
-		private Set<ConnectionMetaData> testedSet = new HashSet<ConnectionMetaData>();
+		// runs the tests in parallel if there is more than one tester thread
+		private ExecutorService testExecutor;
 
 		@Override
 		public void run() {
-			while (checkConnectionsEveryMillis > 0) {
-				try {
-					Thread.sleep(checkConnectionsEveryMillis);
-					if (!testConnections()) {
+			if (testerThreads > 1) {
+				testExecutor = Executors.newFixedThreadPool(testerThreads, new ThreadFactory() {
+					private int threadCount;
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, getName() + " #" + ++threadCount);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+			try {
+				while (checkConnectionsEveryMillis > 0) {
+					try {
+						Thread.sleep(checkConnectionsEveryMillis);
+						if (!testConnections()) {
+							return;
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						// quit if we've been interrupted
 						return;
 					}
-				} catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-					// quit if we've been interrupted
-					return;
+				}
+			} finally {
+				if (testExecutor != null) {
+					testExecutor.shutdownNow();
 				}
 			}
 		}
@@ -452,62 +1335,198 @@ public class JdbcPooledConnectionSource extends JdbcConnectionSource implements
 		/**
 		 * Test the connections, returning true if we should continue.
 		 */
-		private boolean testConnections() {
-			// clear our tested set
-			testedSet.clear();
+		private boolean testConnections() throws InterruptedException {
 			long now = System.currentTimeMillis();
-
-			ConnectionMetaData connMetaData = null;
-			boolean closeLast = false;
-			while (true) {
+			List<Future<?>> futures = null;
+			/*
+			 * We walk the free list and claim each connection in place instead of taking them off and adding them back
+			 * so we don't change the order of the list. The iterator is weakly consistent so this doesn't block anyone.
+			 */
+			for (ConnectionMetaData connMetaData : connFreeList) {
 				testLoopCount++;
-				synchronized (lock) {
-					if (closeLast) {
-						if (connMetaData != null) {
-							closeConnectionQuietly(connMetaData);
-							connMetaData = null;
-						}
-						closeLast = false;
+				if (!isOpen) {
+					// we're closed
+					return false;
+				}
+				if (connMetaData.isClosed()) {
+					// stale entry of a connection that was closed while its thread had claimed it
+					connFreeList.removeFirstOccurrence(connMetaData);
+					continue;
+				}
+				/*
+				 * If the connections are limited then we need to hold a permit while we are testing so a caller doesn't
+				 * make a new connection in the meantime. If they are all in use then there is nothing to test.
+				 */
+				Semaphore permits = connectionPermits;
+				if (permits != null && !permits.tryAcquire()) {
+					break;
+				}
+				boolean submitted = false;
+				try {
+					// claim the connection, it is ours until we release it
+					if (!connMetaData.claim()) {
+						// someone is using it
+						continue;
 					}
-					if (connFreeList == null) {
-						// we're closed
-						return false;
+					// count it as testing before it leaves the free count so the idle count doesn't dip
+					connTestingCount.incrementAndGet();
+					connFreeCount.decrementAndGet();
+					// see if it is expires so it can be closed immediately
+					if (connMetaData.isExpired(now)) {
+						// close expired connection
+						logger.debug("closing expired connection {}", connMetaData);
+						closeFreeConnectionQuietly(connMetaData);
+					} else if (maxConnectionIdleMillis > 0 && getIdleConnectionCount() > minConnectionsIdle
+							&& connMetaData.isIdle(now, maxConnectionIdleMillis)) {
+						// the idle count includes this one so closing it leaves at least min-idle
+						logger.debug("closing idle connection {}", connMetaData);
+						closeFreeConnectionQuietly(connMetaData);
+					} else if (!connMetaData.isIdle(now, skipTestIfUsedWithinMillis)) {
+						// it was used recently so we don't bother testing it
+						releaseTestedConnection(connMetaData);
+					} else if (testExecutor != null) {
+						if (futures == null) {
+							futures = new ArrayList<Future<?>>();
+						}
+						futures.add(testExecutor.submit(new TestConnectionTask(connMetaData, permits)));
+						// the task releases the permit
+						submitted = true;
+					} else {
+						testAndReleaseConnection(connMetaData);
 					}
-					// add a tested connection back into the free-list
-					if (connMetaData != null) {
-						// we do this so we don't have to double lock in the loop
-						connFreeList.add(connMetaData);
+				} finally {
+					if (permits != null && !submitted) {
+						permits.release();
 					}
-					if (connFreeList.isEmpty()) {
-						// nothing to do, return to sleep and go again
-						return true;
+				}
+			}
+			if (futures != null) {
+				// wait for this round to finish so we don't test a connection twice at the same time
+				for (Future<?> future : futures) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						logger.error(e.getCause(), "testing a connection threw exception");
 					}
+				}
+			}
+			if (!isOpen) {
+				// make sure that we didn't put a connection back after the pool was closed
+				closeFreeConnections();
+				return false;
+			}
+			ConnectionCreator currentCreator = creator;
+			if (currentCreator != null && getIdleConnectionCount() < minConnectionsIdle) {
+				// replace the connections that we closed
+				currentCreator.wakeUp();
+			}
+			if (leakDetectionThresholdMillis > 0) {
+				reportLeaks(System.currentTimeMillis());
+			}
+			return true;
+		}
 
-					connMetaData = connFreeList.get(0);
-					if (testedSet.contains(connMetaData)) {
-						// we are done if we've tested it before on this pass
-						return true;
-					}
-					// otherwise, take the first one off the list
-					connMetaData = connFreeList.remove(0);
+		/**
+		 * Test a connection that we claimed and then release it which leaves it in the same place in the free-list or
+		 * close it if the test failed.
+		 */
+		private void testAndReleaseConnection(ConnectionMetaData connMetaData) {
+			if (timedTestConnection(connMetaData)) {
+				releaseTestedConnection(connMetaData);
+			} else {
+				closeFreeConnectionQuietly(connMetaData);
+			}
+		}
 
-					// see if it is expires so it can be closed immediately
-					if (connMetaData.isExpired(now)) {
-						// close expired connection
-						closeConnectionQuietly(connMetaData);
-						// don't return the connection to the free list
-						connMetaData = null;
-						continue;
+		/**
+		 * Close a connection that we claimed while it was in the free-list and remove its entry.
+		 */
+		private void closeFreeConnectionQuietly(ConnectionMetaData connMetaData) {
+			closeConnectionQuietly(connMetaData);
+			connFreeList.removeFirstOccurrence(connMetaData);
+			connTestingCount.decrementAndGet();
+		}
+
+		/**
+		 * Release a connection that we claimed while it was in the free-list which leaves it in the same place.
+		 */
+		private void releaseTestedConnection(ConnectionMetaData connMetaData) {
+			// added to the free count before it leaves the testing count so the idle count doesn't dip
+			addFreeConnection(connMetaData);
+			connTestingCount.decrementAndGet();
+		}
+
+		/**
+		 * Tests one connection on the executor and then releases the permit that was held for it.
+		 */
+		private class TestConnectionTask implements Runnable {
+
+			private final ConnectionMetaData connMetaData;
+			private final Semaphore permits;
+
+			public TestConnectionTask(ConnectionMetaData connMetaData, Semaphore permits) {
+				this.connMetaData = connMetaData;
+				this.permits = permits;
+			}
+
+			@Override
+			public void run() {
+				try {
+					testAndReleaseConnection(connMetaData);
+				} finally {
+					if (permits != null) {
+						permits.release();
 					}
 				}
+			}
+		}
+	}
+
+	/**
+	 * Creator thread that opens new connections in the background to keep min-idle connections in the free list and to
+	 * hand to the callers that are waiting for one.
+	 */
+	private class ConnectionCreator extends Thread {
+
+		volatile SQLException lastException;
 
-				if (testConnection(connMetaData)) {
-					testedSet.add(connMetaData);
-				} else {
-					// we close this inside of the synchronized block
-					closeLast = true;
+		/**
+		 * Tell the creator that a connection may be needed.
+		 */
+		void wakeUp() {
+			LockSupport.unpark(this);
+		}
+
+		@Override
+		public void run() {
+			while (isOpen) {
+				try {
+					while (isOpen && (handoffQueue.hasWaitingConsumer() || needsIdleConnection())) {
+						if (atMaxConnectionsTotal()) {
+							// the waiters will get a released connection
+							break;
+						}
+						addCreatedConnection(createConnection());
+						lastException = null;
+					}
+				} catch (SQLException e) {
+					lastException = e;
+					logger.warn(e, "creator could not open a new connection, trying again in {}ms",
+							CREATE_RETRY_MILLIS);
+					// sleep instead of park so the waiters waking us up don't hammer the database
+					try {
+						Thread.sleep(CREATE_RETRY_MILLIS);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					continue;
 				}
+				// unpark may come before we park in which case this returns right away and we check again
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(CREATE_RETRY_MILLIS));
 			}
+			// the pool was closed so make sure that we didn't leave anything in the free list
+			closeFreeConnections();
 		}
 	}
 }
@@ -83,6 +83,8 @@ public class JdbcSingleConnectionSource extends BaseJdbcConnectionSource impleme
 
 	@Override
 	protected DatabaseConnection makeConnection(Logger logger) {
-		return new JdbcDatabaseConnection(sqlConnection);
+		JdbcDatabaseConnection connection = new JdbcDatabaseConnection(sqlConnection);
+		connection.setDatabaseType(databaseType);
+		return connection;
 	}
 }
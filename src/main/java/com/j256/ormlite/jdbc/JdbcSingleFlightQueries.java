@@ -0,0 +1,292 @@
+package com.j256.ormlite.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Runs single object queries so that identical queries from different threads at the same time share one trip to the
+ * database. The queries are keyed by their SQL and their arguments. The first thread runs the query and the other
+ * threads with the same key wait for its result instead of each taking a connection from the pool and running the
+ * query themselves. This helps when a popular row falls out of a cache and many threads ask for it at once.
+ *
+ * <pre>
+ * JdbcSingleFlightQueries&lt;Account, Integer&gt; singleFlight =
+ * 		new JdbcSingleFlightQueries&lt;Account, Integer&gt;(accountDao);
+ * Account account = singleFlight.queryForId(accountId);
+ * </pre>
+ *
+ * <p>
+ * <b>NOTE:</b> the threads that share a query get the same object back, as if the DAO had an object cache, so it
+ * should not be changed by one thread while others are using it. If the result of the first thread is an exception
+ * then the waiting threads get the exception as well. Queries on a connection that is saved with
+ * {@link ConnectionSource#saveSpecialConnection(DatabaseConnection)}, for example in a transaction, are not shared since
+ * they might see data that the other threads can't.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class JdbcSingleFlightQueries<T, ID> {
+
+	private static Logger logger = LoggerFactory.getLogger(JdbcSingleFlightQueries.class);
+
+	private final Dao<T, ID> dao;
+	private final ConnectionSource connectionSource;
+	// SELECT * FROM table WHERE id = ? which is only used in the keys of the id queries
+	private final String queryForIdStatement;
+	private final ConcurrentHashMap<FlightKey, FutureTask<T>> flights =
+			new ConcurrentHashMap<FlightKey, FutureTask<T>>();
+	private final AtomicLong queryCount = new AtomicLong();
+	private final AtomicLong sharedCount = new AtomicLong();
+
+	public JdbcSingleFlightQueries(Dao<T, ID> dao) {
+		this.dao = dao;
+		this.connectionSource = dao.getConnectionSource();
+		FieldType idField = dao.getTableInfo().getIdField();
+		if (idField == null) {
+			this.queryForIdStatement = null;
+		} else {
+			DatabaseType databaseType = connectionSource.getDatabaseType();
+			StringBuilder sb = new StringBuilder(64);
+			sb.append("SELECT * FROM ");
+			databaseType.appendEscapedEntityName(sb, dao.getTableName());
+			sb.append(" WHERE ");
+			databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+			sb.append(" = ?");
+			this.queryForIdStatement = sb.toString();
+		}
+	}
+
+	/**
+	 * Like {@link Dao#queryForId(Object)} but shares the query with the other threads that are querying for the same id
+	 * at the same time.
+	 */
+	public T queryForId(final ID id) throws SQLException {
+		if (queryForIdStatement == null) {
+			throw new SQLException("Cannot query for id of " + dao.getDataClass() + " because it doesn't have an id field");
+		}
+		return execute(new FlightKey(queryForIdStatement, new Object[] { id }), new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.queryForId(id);
+			}
+		});
+	}
+
+	/**
+	 * Like {@link Dao#queryForFirst(PreparedQuery)} but shares the query with the other threads that are running the
+	 * same query with the same arguments at the same time. There must be an argument for each of the
+	 * {@link com.j256.ormlite.stmt.SelectArg}s of the prepared query since the arguments are part of the key. Values
+	 * that were set on the SelectArgs directly are ignored.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> the SQL of the prepared query is compiled for each call and the arguments are set on that statement
+	 * so the SelectArgs of the prepared query are never changed and it can still be used by the DAO at the same time.
+	 * Because of this the arguments do not go through the field converters. They are set by their Java types: Strings,
+	 * numbers, booleans, byte arrays, and {@link java.sql.Timestamp}s are passed as they are while {@link Date}s are
+	 * turned into Timestamps and enums, UUIDs, and Characters into Strings like the default persisters do.
+	 * </p>
+	 */
+	public T queryForFirst(final PreparedQuery<T> preparedQuery, final Object... args) throws SQLException {
+		if (args.length != preparedQuery.getNumArgs()) {
+			throw new SQLException("Prepared query has " + preparedQuery.getNumArgs() + " arguments but "
+					+ args.length + " were passed in");
+		}
+		return execute(new FlightKey(preparedQuery.getStatement(), args), new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return queryForFirstWithArgs(preparedQuery, args);
+			}
+		});
+	}
+
+	/**
+	 * Return the number of queries that have been run.
+	 */
+	public long getQueryCount() {
+		return queryCount.get();
+	}
+
+	/**
+	 * Return the number of calls that got their result from a query that another thread was already running.
+	 */
+	public long getSharedCount() {
+		return sharedCount.get();
+	}
+
+	/**
+	 * Run the query unless another thread is already running the query with the same key in which case wait for its
+	 * result.
+	 */
+	private T execute(FlightKey key, Callable<T> query) throws SQLException {
+		if (connectionSource.getSpecialConnection(dao.getTableName()) != null) {
+			// we might be in a transaction so the query can't be shared
+			return callQuery(query);
+		}
+		FutureTask<T> flight = new FutureTask<T>(query);
+		FutureTask<T> existing = flights.putIfAbsent(key, flight);
+		if (existing == null) {
+			queryCount.incrementAndGet();
+			try {
+				flight.run();
+			} finally {
+				// the next query with this key has to go to the database to see any changes
+				flights.remove(key, flight);
+			}
+		} else {
+			sharedCount.incrementAndGet();
+			logger.trace("waiting for the result of the query that is already running: {}", key.statement);
+			flight = existing;
+		}
+		return getResult(flight);
+	}
+
+	private T queryForFirstWithArgs(PreparedQuery<T> preparedQuery, Object[] args) throws SQLException {
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(dao.getTableName());
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			// our own statement so the arguments don't have to be set on the SelectArgs of the shared prepared query
+			compiledStatement = connection.compileStatement(preparedQuery.getStatement(), StatementType.SELECT, null,
+					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+			for (int i = 0; i < args.length; i++) {
+				Object arg = toSqlArg(args[i]);
+				compiledStatement.setObject(i, arg, sqlTypeOfArg(arg));
+			}
+			compiledStatement.setMaxRows(1);
+			results = compiledStatement.runQuery(dao.getObjectCache());
+			if (results.first()) {
+				return preparedQuery.mapRow(results);
+			} else {
+				return null;
+			}
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Convert the argument to the SQL value that the default persister of its type would use.
+	 */
+	private static Object toSqlArg(Object arg) {
+		if (arg instanceof Date && !(arg instanceof Timestamp)) {
+			return new Timestamp(((Date) arg).getTime());
+		} else if (arg instanceof Enum) {
+			return ((Enum<?>) arg).name();
+		} else if (arg instanceof UUID || arg instanceof Character) {
+			return arg.toString();
+		} else {
+			return arg;
+		}
+	}
+
+	private static SqlType sqlTypeOfArg(Object arg) {
+		if (arg instanceof String) {
+			return SqlType.STRING;
+		} else if (arg instanceof Long) {
+			return SqlType.LONG;
+		} else if (arg instanceof Integer) {
+			return SqlType.INTEGER;
+		} else if (arg instanceof Short) {
+			return SqlType.SHORT;
+		} else if (arg instanceof Byte) {
+			return SqlType.BYTE;
+		} else if (arg instanceof Boolean) {
+			return SqlType.BOOLEAN;
+		} else if (arg instanceof Double) {
+			return SqlType.DOUBLE;
+		} else if (arg instanceof Float) {
+			return SqlType.FLOAT;
+		} else if (arg instanceof BigDecimal) {
+			return SqlType.BIG_DECIMAL;
+		} else if (arg instanceof Timestamp) {
+			return SqlType.DATE;
+		} else if (arg instanceof byte[]) {
+			return SqlType.BYTE_ARRAY;
+		} else {
+			// null and anything else is left to the driver
+			return SqlType.OTHER;
+		}
+	}
+
+	private T callQuery(Callable<T> query) throws SQLException {
+		try {
+			return query.call();
+		} catch (SQLException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SQLException("Could not run query", e);
+		}
+	}
+
+	private T getResult(FutureTask<T> flight) throws SQLException {
+		try {
+			return flight.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for the query", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new SQLException("Could not run query", cause);
+			}
+		}
+	}
+
+	/**
+	 * Key of a query which is its SQL and its arguments.
+	 */
+	private static class FlightKey {
+		final String statement;
+		final Object[] args;
+
+		public FlightKey(String statement, Object[] args) {
+			this.statement = statement;
+			this.args = args;
+		}
+
+		@Override
+		public int hashCode() {
+			return statement.hashCode() * 31 + Arrays.deepHashCode(args);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			FlightKey other = (FlightKey) obj;
+			return statement.equals(other.statement) && Arrays.deepEquals(args, other.args);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.SQLException;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.SelectIterator;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Runs a single query so that its results are streamed from the database instead of being read into memory by the
+ * driver. This is the per-query version of {@link JdbcConnectionSource#setStreamingResults(boolean)} and is useful
+ * when iterating over very large tables.
+ *
+ * @author graywatson
+ */
+public class JdbcStreamingQueries {
+
+	/**
+	 * For static methods only.
+	 */
+	private JdbcStreamingQueries() {
+	}
+
+	/**
+	 * Like {@link Dao#iterator(PreparedQuery)} but streams the results from the database using the streaming fetch size
+	 * of the database type. The iterator must be closed to release the connection.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Auto-commit is not changed. The Postgres driver only streams inside of a transaction so the iterator
+	 * should be used inside of a {@link TransactionManager} transaction or with auto-commit off otherwise the results
+	 * are read into memory. On MySQL no other query can be run on the connection, such as the queries of eager foreign
+	 * fields, until the iterator is closed.
+	 * </p>
+	 *
+	 * @param fetchSize
+	 *            Number of rows to get from the database at a time or 0 for
+	 *            {@link JdbcDatabaseConnection#DEFAULT_STREAMING_FETCH_SIZE}.
+	 */
+	public static <T, ID> CloseableIterator<T> iterator(Dao<T, ID> dao, PreparedQuery<T> preparedQuery, int fetchSize)
+			throws SQLException {
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(dao.getTableName());
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement = preparedQuery.compile(connection, StatementType.SELECT);
+			if (connection instanceof JdbcDatabaseConnection && compiledStatement instanceof JdbcCompiledStatement) {
+				((JdbcDatabaseConnection) connection).streamResults((JdbcCompiledStatement) compiledStatement,
+						connectionSource.getDatabaseType(), fetchSize);
+			}
+			SelectIterator<T, ID> iterator = new SelectIterator<T, ID>(dao.getDataClass(), dao, preparedQuery,
+					connectionSource, connection, compiledStatement, dao.getObjectCache());
+			connection = null;
+			compiledStatement = null;
+			return iterator;
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			if (connection != null) {
+				connectionSource.releaseConnection(connection);
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.j256.ormlite.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low overhead histogram of durations used by {@link JdbcPooledConnectionSource} to track the acquire, hold, creation,
+ * and validation times of its connections. Values are counted in power-of-two nanosecond buckets so recording a value
+ * is a couple of uncontended adds and the percentiles are accurate to within a factor of two.
+ *
+ * @author graywatson
+ */
+public class PoolHistogram {
+
+	// one bucket for each possible bit length of a positive long
+	private static final int NUM_BUCKETS = 64;
+
+	private final LongAdder[] buckets = new LongAdder[NUM_BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public PoolHistogram() {
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a duration in nanoseconds. Negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		buckets[bucketFor(nanos)].increment();
+		count.increment();
+		totalNanos.add(nanos);
+		while (true) {
+			long max = maxNanos.get();
+			if (nanos <= max || maxNanos.compareAndSet(max, nanos)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of values recorded.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Return the average of the recorded values in nanoseconds or 0 if there are none.
+	 */
+	public long getMeanNanos() {
+		long num = count.sum();
+		if (num == 0) {
+			return 0;
+		} else {
+			return totalNanos.sum() / num;
+		}
+	}
+
+	/**
+	 * Return the upper bound in nanoseconds of the bucket that holds the percentile, from 0.0 to 100.0, of the recorded
+	 * values. It is capped at the maximum value that was recorded. Returns 0 if there are no values.
+	 */
+	public long getPercentileNanos(double percentile) {
+		long[] counts = new long[NUM_BUCKETS];
+		long num = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			num += counts[i];
+		}
+		if (num == 0) {
+			return 0;
+		}
+		// the rank of the value that we are looking for, at least 1
+		long rank = (long) Math.ceil(percentile / 100.0 * num);
+		if (rank < 1) {
+			rank = 1;
+		}
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(i), maxNanos.get());
+			}
+		}
+		return maxNanos.get();
+	}
+
+	/**
+	 * Return the percentile in milliseconds, see {@link #getPercentileNanos(double)}.
+	 */
+	public double getPercentileMillis(double percentile) {
+		return toMillis(getPercentileNanos(percentile));
+	}
+
+	public double getMeanMillis() {
+		return toMillis(getMeanNanos());
+	}
+
+	public double getMaxMillis() {
+		return toMillis(getMaxNanos());
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getCount() + ", mean=" + getMeanMillis() + "ms, p50=" + getPercentileMillis(50) + "ms, p99="
+				+ getPercentileMillis(99) + "ms, max=" + getMaxMillis() + "ms";
+	}
+
+	private static int bucketFor(long nanos) {
+		// bucket i holds the values that are i bits long, 0 is in bucket 0
+		return NUM_BUCKETS - Long.numberOfLeadingZeros(nanos);
+	}
+
+	private static long bucketUpperBound(int bucket) {
+		if (bucket >= NUM_BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		} else {
+			return (1L << bucket) - 1;
+		}
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,41 @@
+package com.j256.ormlite.jdbc;
+
+/**
+ * Listener that can be registered with {@link JdbcPooledConnectionSource#setListener(PooledConnectionListener)} to
+ * feed the pool's events into a metrics system. The methods are called on the threads that use the pool, often on the
+ * hot path, so they need to be fast and should not throw.
+ *
+ * @author graywatson
+ */
+public interface PooledConnectionListener {
+
+	/**
+	 * Called after a new connection has been opened.
+	 */
+	public void connectionCreated(long createNanos);
+
+	/**
+	 * Called after a connection has been handed out along with the time the caller spent getting it.
+	 */
+	public void connectionAcquired(long acquireNanos);
+
+	/**
+	 * Called when a connection is released along with the time it was held.
+	 */
+	public void connectionReleased(long holdNanos);
+
+	/**
+	 * Called after a connection has been tested.
+	 */
+	public void connectionTested(long testNanos, boolean valid);
+
+	/**
+	 * Called after a connection has been closed by the pool.
+	 */
+	public void connectionClosed();
+
+	/**
+	 * Called when a caller timed out waiting for a connection.
+	 */
+	public void acquireTimedOut();
+}
@@ -0,0 +1,174 @@
+package com.j256.ormlite.jdbc;
+
+/**
+ * Metrics of a {@link JdbcPooledConnectionSource}: its counters and histograms of how long it takes to get a
+ * connection, how long the connections are held, how long it takes to open one, and how long it takes to test one.
+ * This is an MXBean so it can be registered with JMX:
+ *
+ * <pre>
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(pooled.getMetrics(),
+ * 		new ObjectName(&quot;com.j256.ormlite:type=PooledConnectionSource,name=main&quot;));
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class PooledConnectionSourceMetrics implements PooledConnectionSourceMetricsMXBean {
+
+	private static final double PERCENTILE_99 = 99.0;
+
+	private final JdbcPooledConnectionSource pooled;
+	final PoolHistogram acquireHistogram = new PoolHistogram();
+	final PoolHistogram holdHistogram = new PoolHistogram();
+	final PoolHistogram createHistogram = new PoolHistogram();
+	final PoolHistogram testHistogram = new PoolHistogram();
+
+	public PooledConnectionSourceMetrics(JdbcPooledConnectionSource pooled) {
+		this.pooled = pooled;
+	}
+
+	/**
+	 * Return the histogram of the time that the callers spent getting a connection from the pool, including waiting
+	 * for a free one and opening a new one.
+	 */
+	public PoolHistogram getAcquireHistogram() {
+		return acquireHistogram;
+	}
+
+	/**
+	 * Return the histogram of the time between a connection being handed out and released.
+	 */
+	public PoolHistogram getHoldHistogram() {
+		return holdHistogram;
+	}
+
+	/**
+	 * Return the histogram of the time it took to open a new connection.
+	 */
+	public PoolHistogram getCreateHistogram() {
+		return createHistogram;
+	}
+
+	/**
+	 * Return the histogram of the time it took to test a connection.
+	 */
+	public PoolHistogram getTestHistogram() {
+		return testHistogram;
+	}
+
+	@Override
+	public long getOpenCount() {
+		return pooled.getOpenCount();
+	}
+
+	@Override
+	public long getReleaseCount() {
+		return pooled.getReleaseCount();
+	}
+
+	@Override
+	public long getCloseCount() {
+		return pooled.getCloseCount();
+	}
+
+	@Override
+	public long getBorrowCount() {
+		return acquireHistogram.getCount();
+	}
+
+	@Override
+	public long getAcquireTimeoutCount() {
+		return pooled.getAcquireTimeoutCount();
+	}
+
+	@Override
+	public long getLeakCount() {
+		return pooled.getLeakCount();
+	}
+
+	@Override
+	public int getMaxConnectionsEverUsed() {
+		return pooled.getMaxConnectionsEverUsed();
+	}
+
+	@Override
+	public int getCurrentConnectionsFree() {
+		return pooled.getCurrentConnectionsFree();
+	}
+
+	@Override
+	public int getCurrentConnectionsManaged() {
+		return pooled.getCurrentConnectionsManaged();
+	}
+
+	@Override
+	public int getCurrentConnectionWaiters() {
+		return pooled.getCurrentConnectionWaiters();
+	}
+
+	@Override
+	public double getAcquireMillisMean() {
+		return acquireHistogram.getMeanMillis();
+	}
+
+	@Override
+	public double getAcquireMillis99thPercentile() {
+		return acquireHistogram.getPercentileMillis(PERCENTILE_99);
+	}
+
+	@Override
+	public double getAcquireMillisMax() {
+		return acquireHistogram.getMaxMillis();
+	}
+
+	@Override
+	public double getHoldMillisMean() {
+		return holdHistogram.getMeanMillis();
+	}
+
+	@Override
+	public double getHoldMillis99thPercentile() {
+		return holdHistogram.getPercentileMillis(PERCENTILE_99);
+	}
+
+	@Override
+	public double getHoldMillisMax() {
+		return holdHistogram.getMaxMillis();
+	}
+
+	@Override
+	public double getCreateMillisMean() {
+		return createHistogram.getMeanMillis();
+	}
+
+	@Override
+	public double getCreateMillis99thPercentile() {
+		return createHistogram.getPercentileMillis(PERCENTILE_99);
+	}
+
+	@Override
+	public double getCreateMillisMax() {
+		return createHistogram.getMaxMillis();
+	}
+
+	@Override
+	public double getTestMillisMean() {
+		return testHistogram.getMeanMillis();
+	}
+
+	@Override
+	public double getTestMillis99thPercentile() {
+		return testHistogram.getPercentileMillis(PERCENTILE_99);
+	}
+
+	@Override
+	public double getTestMillisMax() {
+		return testHistogram.getMaxMillis();
+	}
+
+	@Override
+	public String toString() {
+		return "open=" + getOpenCount() + ", closed=" + getCloseCount() + ", free=" + getCurrentConnectionsFree()
+				+ ", managed=" + getCurrentConnectionsManaged() + ", acquire: " + acquireHistogram + ", hold: "
+				+ holdHistogram;
+	}
+}
@@ -0,0 +1,57 @@
+package com.j256.ormlite.jdbc;
+
+/**
+ * JMX interface for the metrics of a {@link JdbcPooledConnectionSource}, see
+ * {@link JdbcPooledConnectionSource#getMetrics()}. The times are in milliseconds.
+ *
+ * @author graywatson
+ */
+public interface PooledConnectionSourceMetricsMXBean {
+
+	public long getOpenCount();
+
+	public long getReleaseCount();
+
+	public long getCloseCount();
+
+	/**
+	 * Number of connections handed out by the pool, not counting the saved connection inside of a transaction.
+	 */
+	public long getBorrowCount();
+
+	public long getAcquireTimeoutCount();
+
+	public long getLeakCount();
+
+	public int getMaxConnectionsEverUsed();
+
+	public int getCurrentConnectionsFree();
+
+	public int getCurrentConnectionsManaged();
+
+	public int getCurrentConnectionWaiters();
+
+	public double getAcquireMillisMean();
+
+	public double getAcquireMillis99thPercentile();
+
+	public double getAcquireMillisMax();
+
+	public double getHoldMillisMean();
+
+	public double getHoldMillis99thPercentile();
+
+	public double getHoldMillisMax();
+
+	public double getCreateMillisMean();
+
+	public double getCreateMillis99thPercentile();
+
+	public double getCreateMillisMax();
+
+	public double getTestMillisMean();
+
+	public double getTestMillis99thPercentile();
+
+	public double getTestMillisMax();
+}
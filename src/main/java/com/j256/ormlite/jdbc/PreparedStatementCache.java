@@ -0,0 +1,160 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+
+/**
+ * Least-recently-used cache of the {@link PreparedStatement}s of a single JDBC connection, used by
+ * {@link JdbcDatabaseConnection} so the same SQL isn't prepared over and over. A statement is taken out of the cache
+ * while it is being used and put back when the caller is done with it so two callers never share a statement, even if
+ * a query is being iterated while another statement runs on the same connection.
+ *
+ * @author graywatson
+ */
+public class PreparedStatementCache {
+
+	private static Logger logger = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+	private final int maxSize;
+	private final Map<Key, PreparedStatement> statementMap;
+	private long hitCount;
+	private long missCount;
+	private boolean closed;
+
+	public PreparedStatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		// access-order so the iteration order is least recently used first
+		this.statementMap = new LinkedHashMap<Key, PreparedStatement>(16, 0.75F, true);
+	}
+
+	/**
+	 * Take the statement out of the cache. Returns null if it is not in the cache in which case the caller should
+	 * prepare a new one. Either way the caller should call {@link #release(Key, PreparedStatement)} when it is done.
+	 */
+	public synchronized PreparedStatement take(Key key) {
+		PreparedStatement stmt = statementMap.remove(key);
+		if (stmt == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return stmt;
+	}
+
+	/**
+	 * Put a statement back into the cache, closing the least recently used statement if the cache is full. The
+	 * statement is closed instead if the cache has been cleared or another statement with the same key is already
+	 * there.
+	 */
+	public void release(Key key, PreparedStatement stmt) throws SQLException {
+		PreparedStatement toClose = stmt;
+		synchronized (this) {
+			if (!closed && !statementMap.containsKey(key)) {
+				statementMap.put(key, stmt);
+				toClose = null;
+				if (statementMap.size() > maxSize) {
+					Iterator<Map.Entry<Key, PreparedStatement>> iterator = statementMap.entrySet().iterator();
+					Map.Entry<Key, PreparedStatement> eldest = iterator.next();
+					iterator.remove();
+					toClose = eldest.getValue();
+					logger.trace("evicted statement from the cache: {}", eldest.getKey().sql);
+				}
+			}
+		}
+		if (toClose != null) {
+			toClose.close();
+		}
+	}
+
+	/**
+	 * Close all of the cached statements. If close is true then any statements that are released after this are closed
+	 * instead of being cached.
+	 */
+	public void clear(boolean close) {
+		PreparedStatement[] statements;
+		synchronized (this) {
+			if (close) {
+				closed = true;
+			}
+			statements = statementMap.values().toArray(new PreparedStatement[statementMap.size()]);
+			statementMap.clear();
+		}
+		for (PreparedStatement stmt : statements) {
+			try {
+				stmt.close();
+			} catch (SQLException e) {
+				logger.trace(e, "closing cached statement threw");
+			}
+		}
+	}
+
+	public synchronized int size() {
+		return statementMap.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Key of a prepared statement: the SQL and the arguments that it was prepared with.
+	 */
+	public static class Key {
+
+		// result-set type for statements that were prepared with the default flags
+		public static final int DEFAULT_RESULT_SET_TYPE = -1;
+
+		final String sql;
+		final int resultSetType;
+		final String[] keyColumnNames;
+		private final int hashCode;
+
+		public Key(String sql, int resultSetType, String[] keyColumnNames) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.keyColumnNames = keyColumnNames;
+			int hash = sql.hashCode();
+			hash = 31 * hash + resultSetType;
+			hash = 31 * hash + Arrays.hashCode(keyColumnNames);
+			this.hashCode = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return (hashCode == other.hashCode && resultSetType == other.resultSetType && sql.equals(other.sql)
+					&& Arrays.equals(keyColumnNames, other.keyColumnNames));
+		}
+
+		@Override
+		public String toString() {
+			return sql;
+		}
+	}
+}
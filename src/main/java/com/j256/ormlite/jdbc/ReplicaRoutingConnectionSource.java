@@ -0,0 +1,220 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Connection source that sends the read-only requests to one or more replica connection sources and everything else to
+ * the primary. Writes, and reads made inside of a transaction on the primary, use the primary so they see their own
+ * changes. The replicas are used round-robin and their connections are set to be read-only with
+ * {@link Connection#setReadOnly(boolean)}. If a replica cannot provide a connection then the next one is tried and
+ * finally the primary.
+ *
+ * <p>
+ * The replica connection sources should only be used through this class since the connections that they hand out are
+ * left read-only. Typically each of them is a {@link JdbcPooledConnectionSource}.
+ * </p>
+ *
+ * <p>
+ * <b> NOTE: </b> If you are using the Spring type wiring in Java, {@link #initialize} should be called after all of the
+ * set methods. In Spring XML, init-method="initialize" should be used.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class ReplicaRoutingConnectionSource implements ConnectionSource {
+
+	private static Logger logger = LoggerFactory.getLogger(ReplicaRoutingConnectionSource.class);
+
+	private ConnectionSource primary;
+	private List<ConnectionSource> replicas;
+	private boolean initialized;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	// the replica that each of the handed out replica connections came from
+	private final Map<DatabaseConnection, ConnectionSource> replicaConnectionMap =
+			new ConcurrentHashMap<DatabaseConnection, ConnectionSource>();
+
+	/**
+	 * Constructor for Spring type wiring if you are using the set methods. If you are using Spring then your should
+	 * use: init-method="initialize"
+	 */
+	public ReplicaRoutingConnectionSource() {
+		// for spring type wiring
+	}
+
+	public ReplicaRoutingConnectionSource(ConnectionSource primary, ConnectionSource... replicas) {
+		this(primary, Arrays.asList(replicas));
+	}
+
+	public ReplicaRoutingConnectionSource(ConnectionSource primary, List<ConnectionSource> replicas) {
+		this.primary = primary;
+		this.replicas = replicas;
+		initialize();
+	}
+
+	/**
+	 * Initialize the class after the setters have been called. If you are using the no-arg constructor and Spring type
+	 * wiring, this should be called after all of the set methods.
+	 */
+	public void initialize() {
+		if (initialized) {
+			return;
+		}
+		if (primary == null) {
+			throw new IllegalStateException("primary was never set on " + getClass().getSimpleName());
+		}
+		if (replicas == null) {
+			replicas = new ArrayList<ConnectionSource>();
+		}
+		initialized = true;
+	}
+
+	@Override
+	public DatabaseConnection getReadOnlyConnection(String tableName) throws SQLException {
+		checkInitialized();
+		// if we are in a transaction on the primary then we need to use its connection to see our changes
+		DatabaseConnection special = primary.getSpecialConnection(tableName);
+		if (special != null) {
+			return special;
+		}
+		int numReplicas = replicas.size();
+		if (numReplicas == 0) {
+			return primary.getReadOnlyConnection(tableName);
+		}
+		int start = (nextReplica.getAndIncrement() & Integer.MAX_VALUE) % numReplicas;
+		for (int i = 0; i < numReplicas; i++) {
+			ConnectionSource replica = replicas.get((start + i) % numReplicas);
+			DatabaseConnection connection;
+			try {
+				connection = replica.getReadOnlyConnection(tableName);
+			} catch (SQLException e) {
+				logger.warn(e, "could not get a connection from replica {}, trying the next one", replica);
+				continue;
+			}
+			try {
+				setReadOnly(connection);
+			} catch (SQLException e) {
+				logger.warn(e, "could not set replica connection {} to be read-only, trying the next replica",
+						connection);
+				replica.releaseConnection(connection);
+				continue;
+			}
+			replicaConnectionMap.put(connection, replica);
+			return connection;
+		}
+		logger.warn("no replica could provide a connection, using the primary");
+		return primary.getReadOnlyConnection(tableName);
+	}
+
+	@Override
+	public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+		checkInitialized();
+		return primary.getReadWriteConnection(tableName);
+	}
+
+	@Override
+	public void releaseConnection(DatabaseConnection connection) throws SQLException {
+		checkInitialized();
+		ConnectionSource replica = replicaConnectionMap.remove(connection);
+		if (replica == null) {
+			primary.releaseConnection(connection);
+		} else {
+			replica.releaseConnection(connection);
+		}
+	}
+
+	@Override
+	public boolean saveSpecialConnection(DatabaseConnection connection) throws SQLException {
+		checkInitialized();
+		return primary.saveSpecialConnection(connection);
+	}
+
+	@Override
+	public void clearSpecialConnection(DatabaseConnection connection) {
+		checkInitialized();
+		primary.clearSpecialConnection(connection);
+	}
+
+	@Override
+	public DatabaseConnection getSpecialConnection(String tableName) {
+		checkInitialized();
+		return primary.getSpecialConnection(tableName);
+	}
+
+	/**
+	 * Close the primary and all of the replicas.
+	 */
+	@Override
+	public void close() throws Exception {
+		checkInitialized();
+		for (ConnectionSource replica : replicas) {
+			IOUtils.closeQuietly(replica);
+		}
+		primary.close();
+	}
+
+	@Override
+	public void closeQuietly() {
+		IOUtils.closeQuietly(this);
+	}
+
+	@Override
+	public DatabaseType getDatabaseType() {
+		checkInitialized();
+		return primary.getDatabaseType();
+	}
+
+	@Override
+	public boolean isOpen(String tableName) {
+		checkInitialized();
+		return primary.isOpen(tableName);
+	}
+
+	@Override
+	public boolean isSingleConnection(String tableName) {
+		checkInitialized();
+		return primary.isSingleConnection(tableName);
+	}
+
+	public ConnectionSource getPrimary() {
+		return primary;
+	}
+
+	public void setPrimary(ConnectionSource primary) {
+		this.primary = primary;
+	}
+
+	public List<ConnectionSource> getReplicas() {
+		return replicas;
+	}
+
+	public void setReplicas(List<ConnectionSource> replicas) {
+		this.replicas = replicas;
+	}
+
+	private void setReadOnly(DatabaseConnection connection) throws SQLException {
+		Connection jdbcConnection = connection.getUnderlyingConnection();
+		if (jdbcConnection != null && !jdbcConnection.isReadOnly()) {
+			jdbcConnection.setReadOnly(true);
+		}
+	}
+
+	private void checkInitialized() {
+		if (!initialized) {
+			throw new IllegalStateException(getClass().getSimpleName() + ".initialize() was not called");
+		}
+	}
+}
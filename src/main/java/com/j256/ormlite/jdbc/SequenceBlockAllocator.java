@@ -0,0 +1,137 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Hands out the ids of a database sequence from memory in blocks so that an insert doesn't need a round trip to the
+ * database to get the next value of the sequence. The sequence must be created with an INCREMENT BY of the block size.
+ * Each value that the database returns is the start of a block of ids from the value up to, but not including, the
+ * value plus the block size. This is sometimes called a "pooled" hi-lo allocator. Because the database value is the
+ * first id of the block, other clients that use the sequence directly, one value per row, won't collide with our ids.
+ * Call {@link #checkIncrement(DatabaseConnection)} before handing out any ids to make sure that the sequence increments
+ * by the block size.
+ *
+ * <p>
+ * The ids are handed out without locking. If more than one thread finds the block used up at the same time then each
+ * of them gets a new block from the database and all but one of the blocks is dropped which leaves a gap in the ids.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class SequenceBlockAllocator {
+
+	private static Logger logger = LoggerFactory.getLogger(SequenceBlockAllocator.class);
+
+	private final String nextValStatement;
+	private final int blockSize;
+	private final AtomicReference<Block> currentBlock = new AtomicReference<Block>();
+
+	/**
+	 * @param nextValStatement
+	 *            Statement that selects the next value of the sequence from the database.
+	 * @param blockSize
+	 *            Number of ids in each block which must be the INCREMENT BY of the sequence.
+	 */
+	public SequenceBlockAllocator(String nextValStatement, int blockSize) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+		}
+		this.nextValStatement = nextValStatement;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Create an allocator for a sequence using the database type to build the next-value statement.
+	 */
+	public SequenceBlockAllocator(DatabaseType databaseType, String sequenceName, int blockSize) {
+		this(buildNextValStatement(databaseType, sequenceName), blockSize);
+	}
+
+	/**
+	 * Get two values from the sequence and throw if they are not the block size apart, which means that the INCREMENT
+	 * BY of the sequence does not match the block size and the blocks would overlap. The second block is then used
+	 * for the next ids. If another client gets a value from the sequence at the same time then this also throws.
+	 */
+	public void checkIncrement(DatabaseConnection connection) throws SQLException {
+		long first = queryForBlockStart(connection);
+		long second = queryForBlockStart(connection);
+		if (second - first != blockSize) {
+			throw new SQLException("Sequence values " + first + " and " + second + " are not the block size "
+					+ blockSize + " apart, the INCREMENT BY of the sequence must be the block size for stmt: "
+					+ nextValStatement);
+		}
+		currentBlock.set(new Block(second, second + blockSize));
+	}
+
+	/**
+	 * Return the next id from the current block or get a new block from the sequence using the connection.
+	 */
+	public long nextId(DatabaseConnection connection) throws SQLException {
+		Block block = currentBlock.get();
+		if (block != null) {
+			long id = block.next.getAndIncrement();
+			if (id < block.end) {
+				return id;
+			}
+		}
+		long start = queryForBlockStart(connection);
+		logger.debug("got block of {} ids starting at {} using stmt: {}", blockSize, start, nextValStatement);
+		Block newBlock = new Block(start, start + blockSize);
+		long id = newBlock.next.getAndIncrement();
+		// if another thread got a block at the same time then we use our first id and drop the rest of our block
+		currentBlock.compareAndSet(block, newBlock);
+		return id;
+	}
+
+	private long queryForBlockStart(DatabaseConnection connection) throws SQLException {
+		long start;
+		if (connection instanceof JdbcDatabaseConnection) {
+			// go around the connection's allocator lookup which would send us back here
+			start = ((JdbcDatabaseConnection) connection).queryForSequenceValue(nextValStatement);
+		} else {
+			start = connection.queryForLong(nextValStatement);
+		}
+		if (start == 0) {
+			// sanity check that it is working
+			throw new SQLException("Should not have returned 0 for stmt: " + nextValStatement);
+		}
+		return start;
+	}
+
+	public String getNextValStatement() {
+		return nextValStatement;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * Build the statement that selects the next value of a sequence.
+	 */
+	public static String buildNextValStatement(DatabaseType databaseType, String sequenceName) {
+		StringBuilder sb = new StringBuilder(64);
+		databaseType.appendSelectNextValFromSequence(sb, sequenceName);
+		return sb.toString();
+	}
+
+	/**
+	 * A block of ids from next up to but not including end.
+	 */
+	private static class Block {
+		final AtomicLong next;
+		final long end;
+
+		public Block(long start, long end) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
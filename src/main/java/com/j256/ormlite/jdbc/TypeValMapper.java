@@ -2,21 +2,29 @@ package com.j256.ormlite.jdbc;
 
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
 
 /**
- * Map from {@link SqlType} to the constants in the {@link Types} class.
+ * Map from {@link SqlType} to the constants in the {@link Types} class. The type values are stored in a table indexed by
+ * the ordinal of the {@link SqlType} since they are looked up for every argument that is set on a statement.
  * 
  * @author graywatson
  */
 public class TypeValMapper {
 
-	private static final Map<SqlType, int[]> typeToValMap = new HashMap<SqlType, int[]>();
+	// all of the type values of each SqlType, indexed by ordinal
+	private static final int[][] typeValsBySqlType = new int[SqlType.values().length][];
+	// sorted type values and the SqlType of each one for the reverse lookup without boxing the type value
+	private static final int[] sortedTypeVals;
+	private static final SqlType[] sqlTypesBySortedTypeVal;
 
 	static {
+		Map<Integer, SqlType> sqlTypeByTypeVal = new HashMap<Integer, SqlType>();
 		for (SqlType sqlType : SqlType.values()) {
 			int[] values;
 			switch (sqlType) {
@@ -78,7 +86,23 @@ public class TypeValMapper {
 				default:
 					throw new IllegalArgumentException("No JDBC mapping for unknown SqlType " + sqlType);
 			}
-			typeToValMap.put(sqlType, values);
+			typeValsBySqlType[sqlType.ordinal()] = values;
+			for (int typeVal : values) {
+				// the first sql-type in ordinal order wins if more than one maps to the same type value
+				if (!sqlTypeByTypeVal.containsKey(typeVal)) {
+					sqlTypeByTypeVal.put(typeVal, sqlType);
+				}
+			}
+		}
+		sortedTypeVals = new int[sqlTypeByTypeVal.size()];
+		int typeValC = 0;
+		for (Integer typeVal : sqlTypeByTypeVal.keySet()) {
+			sortedTypeVals[typeValC++] = typeVal;
+		}
+		Arrays.sort(sortedTypeVals);
+		sqlTypesBySortedTypeVal = new SqlType[sortedTypeVals.length];
+		for (int i = 0; i < sortedTypeVals.length; i++) {
+			sqlTypesBySortedTypeVal[i] = sqlTypeByTypeVal.get(sortedTypeVals[i]);
 		}
 	}
 
@@ -86,10 +110,10 @@ public class TypeValMapper {
 	 * Returns the primary type value associated with the SqlType argument.
 	 */
 	public static int getTypeValForSqlType(SqlType sqlType) throws SQLException {
-		int[] typeVals = typeToValMap.get(sqlType);
-		if (typeVals == null) {
+		if (sqlType == null) {
 			throw new SQLException("SqlType is unknown to type val mapping: " + sqlType);
 		}
+		int[] typeVals = typeValsBySqlType[sqlType.ordinal()];
 		if (typeVals.length == 0) {
 			throw new SQLException("SqlType does not have any JDBC type value mapping: " + sqlType);
 		} else {
@@ -98,17 +122,27 @@ public class TypeValMapper {
 	}
 
 	/**
-	 * Returns the SqlType value associated with the typeVal argument. Can be slow-er.
+	 * Returns the primary type values of the SqlTypes of the field-type arguments. The values are not cached so callers
+	 * that set the same arguments many times, like the batch statements of {@link JdbcBulkOperations}, should look them
+	 * up once and keep the returned array.
+	 */
+	public static int[] getTypeValsForFieldTypes(FieldType[] argFieldTypes) throws SQLException {
+		int[] typeVals = new int[argFieldTypes.length];
+		for (int i = 0; i < argFieldTypes.length; i++) {
+			typeVals[i] = getTypeValForSqlType(argFieldTypes[i].getSqlType());
+		}
+		return typeVals;
+	}
+
+	/**
+	 * Returns the SqlType value associated with the typeVal argument.
 	 */
 	public static SqlType getSqlTypeForTypeVal(int typeVal) {
-		// iterate through to save on the extra HashMap since only for errors
-		for (Map.Entry<SqlType, int[]> entry : typeToValMap.entrySet()) {
-			for (int val : entry.getValue()) {
-				if (val == typeVal) {
-					return entry.getKey();
-				}
-			}
+		int index = Arrays.binarySearch(sortedTypeVals, typeVal);
+		if (index < 0) {
+			return SqlType.UNKNOWN;
+		} else {
+			return sqlTypesBySortedTypeVal[index];
 		}
-		return SqlType.UNKNOWN;
 	}
 }
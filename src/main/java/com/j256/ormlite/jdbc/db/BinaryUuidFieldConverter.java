@@ -0,0 +1,117 @@
+package com.j256.ormlite.jdbc.db;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import com.j256.ormlite.field.BaseFieldConverter;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Converts a {@link UUID} field to and from the 16 bytes of a BINARY(16) column instead of a 36 character string. This
+ * is used by the database types that don't have a native UUID type when binary UUIDs are enabled, see
+ * {@link MysqlDatabaseType#setBinaryUuids(boolean)}. The bytes are in the UUID's big-endian order so time-ordered UUIDs
+ * sort in time order in the index.
+ *
+ * @author graywatson
+ */
+public class BinaryUuidFieldConverter extends BaseFieldConverter {
+
+	public static final int UUID_NUM_BYTES = 16;
+
+	private static final BinaryUuidFieldConverter singleTon = new BinaryUuidFieldConverter();
+
+	public static BinaryUuidFieldConverter getSingleton() {
+		return singleTon;
+	}
+
+	private BinaryUuidFieldConverter() {
+	}
+
+	@Override
+	public SqlType getSqlType() {
+		return SqlType.BYTE_ARRAY;
+	}
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		return uuidToBytes(parseUuid(defaultStr));
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) {
+		return uuidToBytes((UUID) javaObject);
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getBytes(columnPos);
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		byte[] bytes = (byte[]) sqlArg;
+		if (bytes.length != UUID_NUM_BYTES) {
+			throw new SQLException(
+					"Problems with column " + columnPos + ", UUID should be " + UUID_NUM_BYTES + " bytes not "
+							+ bytes.length);
+		}
+		return bytesToUuid(bytes);
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		// drivers return binary columns as hex strings
+		if (stringValue.length() == UUID_NUM_BYTES * 2) {
+			try {
+				return new UUID(Long.parseUnsignedLong(stringValue.substring(0, 16), 16),
+						Long.parseUnsignedLong(stringValue.substring(16), 16));
+			} catch (NumberFormatException e) {
+				throw new SQLException("Problems with column " + columnPos + " parsing UUID-hex '" + stringValue + "'",
+						e);
+			}
+		}
+		return parseUuid(stringValue);
+	}
+
+	/**
+	 * Return the 16 big-endian bytes of the UUID.
+	 */
+	public static byte[] uuidToBytes(UUID uuid) {
+		byte[] bytes = new byte[UUID_NUM_BYTES];
+		putLong(bytes, 0, uuid.getMostSignificantBits());
+		putLong(bytes, 8, uuid.getLeastSignificantBits());
+		return bytes;
+	}
+
+	/**
+	 * Return the UUID from its 16 big-endian bytes.
+	 */
+	public static UUID bytesToUuid(byte[] bytes) {
+		return new UUID(getLong(bytes, 0), getLong(bytes, 8));
+	}
+
+	private static UUID parseUuid(String uuidStr) throws SQLException {
+		try {
+			return UUID.fromString(uuidStr);
+		} catch (IllegalArgumentException e) {
+			throw new SQLException("Problems parsing UUID-string '" + uuidStr + "'", e);
+		}
+	}
+
+	private static void putLong(byte[] bytes, int offset, long value) {
+		for (int i = 7; i >= 0; i--) {
+			bytes[offset + i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
+	private static long getLong(byte[] bytes, int offset) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (bytes[offset + i] & 0xFF);
+		}
+		return value;
+	}
+}
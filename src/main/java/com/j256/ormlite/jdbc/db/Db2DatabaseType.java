@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 
 /**
  * IBM DB2 database type information used to create the tables, etc..
@@ -16,13 +17,15 @@ import com.j256.ormlite.field.FieldType;
  * 
  * @author graywatson
  */
-public class Db2DatabaseType extends BaseDatabaseType {
+public class Db2DatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "db2";
 	private final static String DATABASE_NAME = "DB2";
 	private final static String NEWER_DRIVER_CLASS_NAME = "com.ibm.db2.jcc.DB2Driver";
 	private final static String OLDER_DRIVER_CLASS_NAME = "COM.ibm.db2.jdbc.app.DB2Driver";
 
+	private boolean insertReturningIds;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -38,6 +41,16 @@ public class Db2DatabaseType extends BaseDatabaseType {
 		return DATABASE_NAME;
 	}
 
+	/**
+	 * Set to true to get the generated ids of the inserts from the insert statement with SELECT ... FROM FINAL TABLE
+	 * (INSERT ...) instead of with {@link java.sql.Statement#getGeneratedKeys()}. This saves a round trip per insert and
+	 * lets the multi-row inserts of {@link com.j256.ormlite.jdbc.JdbcBulkOperations} get all of their ids. Default is
+	 * false.
+	 */
+	public void setInsertReturningIds(boolean insertReturningIds) {
+		this.insertReturningIds = insertReturningIds;
+	}
+
 	@Override
 	protected void appendBooleanType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
 		sb.append("SMALLINT");
@@ -76,4 +89,72 @@ public class Db2DatabaseType extends BaseDatabaseType {
 		// there is no easy way to do this in this database type
 		return false;
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		return 32767;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isInsertReturningSupported() {
+		return insertReturningIds;
+	}
+
+	@Override
+	public void appendInsertReturning(StringBuilder sb, String insertStatement, String idColumnName) {
+		// the data change delta table has the rows after the insert
+		sb.append("SELECT ");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(" FROM FINAL TABLE (").append(insertStatement).append(')');
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		sb.append("MERGE INTO ").append(tableName).append(" AS ").append(UpsertStatements.TARGET_ALIAS);
+		UpsertStatements.appendValuesSource(this, sb, columnNames);
+		UpsertStatements.appendMergeActions(this, sb, idColumnName, columnNames);
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR(255)";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		// declared temporary tables are always in the SESSION schema
+		sb.append("SESSION.");
+		appendEscapedEntityName(sb, tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		// this needs a user temporary tablespace
+		sb.append("DECLARE GLOBAL TEMPORARY TABLE ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(") WITH REPLACE ON COMMIT PRESERVE ROWS NOT LOGGED");
+	}
 }
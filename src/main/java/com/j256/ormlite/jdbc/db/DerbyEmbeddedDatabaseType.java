@@ -26,7 +26,7 @@ import com.j256.ormlite.support.DatabaseResults;
  * 
  * @author graywatson
  */
-public class DerbyEmbeddedDatabaseType extends BaseDatabaseType {
+public class DerbyEmbeddedDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	protected final static String DATABASE_URL_PORTION = "derby";
 	private final static String DRIVER_CLASS_NAME = "org.apache.derby.jdbc.EmbeddedDriver";
@@ -150,6 +150,11 @@ public class DerbyEmbeddedDatabaseType extends BaseDatabaseType {
 		super.appendSerializableType(sb, fieldType, fieldWidth);
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
 	/**
 	 * Conversion from the Object Java field to the BLOB Jdbc type because the varbinary needs a size otherwise.
 	 */
@@ -12,7 +12,7 @@ import com.j256.ormlite.db.BaseDatabaseType;
  * 
  * @author Dale Asberry
  */
-public class GenericOdbcDatabaseType extends BaseDatabaseType {
+public class GenericOdbcDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "odbc";
 	private final static String DRIVER_CLASS_NAME = "sun.jdbc.odbc.JdbcOdbcDriver";
@@ -1,9 +1,15 @@
 package com.j256.ormlite.jdbc.db;
 
 import java.util.List;
+import java.util.UUID;
 
 import com.j256.ormlite.db.BaseDatabaseType;
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.UuidType;
+import com.j256.ormlite.stmt.SelectArg;
 
 /**
  * H2 database type information used to create the tables, etc..
@@ -12,12 +18,15 @@ import com.j256.ormlite.field.FieldType;
  * 
  * @author graywatson
  */
-public class H2DatabaseType extends BaseDatabaseType {
+public class H2DatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "h2";
 	private final static String DRIVER_CLASS_NAME = "org.h2.Driver";
 	private final static String DATABASE_NAME = "H2";
 
+	private boolean binaryUuids;
+	private boolean insertReturningIds;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -33,6 +42,35 @@ public class H2DatabaseType extends BaseDatabaseType {
 		return DATABASE_NAME;
 	}
 
+	/**
+	 * Set to true to get the generated ids of the inserts from the insert statement with SELECT ... FROM FINAL TABLE
+	 * (INSERT ...) instead of with {@link java.sql.Statement#getGeneratedKeys()}. This saves a round trip per insert.
+	 * Default is false.
+	 */
+	public void setInsertReturningIds(boolean insertReturningIds) {
+		this.insertReturningIds = insertReturningIds;
+	}
+
+	/**
+	 * Set to true to store {@link UUID} fields in BINARY(16) columns instead of 36 character strings which makes the
+	 * columns and their indexes less than half the size. Fields with the native UUID type already use H2's UUID type.
+	 * Existing string UUID columns need to be converted when this is enabled. Queries that compare a UUID field to a
+	 * value need to use a {@link SelectArg} so the value is passed as bytes. Default is false.
+	 */
+	public void setBinaryUuids(boolean binaryUuids) {
+		this.binaryUuids = binaryUuids;
+	}
+
+	@Override
+	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
+		// the native UUID type is already binary
+		if (binaryUuids && dataPersister instanceof UuidType && dataPersister.getSqlType() == SqlType.STRING) {
+			return BinaryUuidFieldConverter.getSingleton();
+		} else {
+			return super.getFieldConverter(dataPersister, fieldType);
+		}
+	}
+
 	@Override
 	protected void configureGeneratedId(String tableName, StringBuilder sb, FieldType fieldType,
 			List<String> statementsBefore, List<String> statementsAfter, List<String> additionalArgs,
@@ -41,6 +79,21 @@ public class H2DatabaseType extends BaseDatabaseType {
 		configureId(sb, fieldType, statementsBefore, additionalArgs, queriesAfter);
 	}
 
+	@Override
+	protected void appendStringType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		if (fieldType.getSqlType() == SqlType.BYTE_ARRAY) {
+			// binary UUIDs, see getFieldConverter()
+			sb.append("BINARY(16)");
+		} else {
+			super.appendStringType(sb, fieldType, fieldWidth);
+		}
+	}
+
+	@Override
+	protected void appendUuidNativeType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		sb.append("UUID");
+	}
+
 	@Override
 	public void appendLimitValue(StringBuilder sb, long limit, Long offset) {
 		sb.append("LIMIT ");
@@ -79,4 +132,106 @@ public class H2DatabaseType extends BaseDatabaseType {
 	public boolean isLimitDeleteAtEndSupported() {
 		return true;
 	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isInsertReturningSupported() {
+		return insertReturningIds;
+	}
+
+	@Override
+	public void appendInsertReturning(StringBuilder sb, String insertStatement, String idColumnName) {
+		// the data change delta table has the rows after the insert
+		sb.append("SELECT ");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(" FROM FINAL TABLE (").append(insertStatement).append(')');
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		sb.append("MERGE INTO ").append(tableName).append(" (");
+		UpsertStatements.appendColumnNames(this, sb, null, columnNames);
+		sb.append(") KEY (");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(") VALUES (");
+		for (int i = 0; i < columnNames.size(); i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(')');
+	}
+
+	@Override
+	public String getArrayArgumentTypeName(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR";
+			case UUID:
+				return "UUID";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendInArrayArgument(StringBuilder sb, String columnName) {
+		// H2 2.x has dropped IN(UNNEST(?)) but can compare with ANY
+		appendEscapedEntityName(sb, columnName);
+		sb.append(" = ANY(?)");
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR(255)";
+			case UUID:
+				return "UUID";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		appendEscapedEntityName(sb, tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		// TRANSACTIONAL so it doesn't commit the transaction that we might be in
+		sb.append("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(") TRANSACTIONAL");
+	}
 }
@@ -5,18 +5,21 @@ import java.util.List;
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.SequenceBlockAllocator;
 
 /**
  * HyberSQL database type information used to create the tables, etc..
  * 
  * @author graywatson
  */
-public class HsqldbDatabaseType extends BaseDatabaseType {
+public class HsqldbDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "hsqldb";
 	private final static String DRIVER_CLASS_NAME = "org.hsqldb.jdbcDriver";
 	private final static String DATABASE_NAME = "HSQLdb";
 
+	private int sequenceIncrement = 1;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -57,6 +60,14 @@ public class HsqldbDatabaseType extends BaseDatabaseType {
 		appendByteArrayType(sb, fieldType, fieldWidth);
 	}
 
+	/**
+	 * Set the INCREMENT BY of the sequences that are created for generated-id fields. Default is 1. This should match
+	 * the block size of a {@link SequenceBlockAllocator} that hands out the ids of the sequence in blocks.
+	 */
+	public void setSequenceIncrement(int sequenceIncrement) {
+		this.sequenceIncrement = sequenceIncrement;
+	}
+
 	@Override
 	protected void configureGeneratedIdSequence(StringBuilder sb, FieldType fieldType, List<String> statementsBefore,
 			List<String> additionalArgs, List<String> queriesAfter) {
@@ -71,6 +82,9 @@ public class HsqldbDatabaseType extends BaseDatabaseType {
 		}
 		// with hsqldb (as opposed to all else) the sequences start at 0, grumble
 		seqSb.append(" START WITH 1");
+		if (sequenceIncrement > 1) {
+			seqSb.append(" INCREMENT BY ").append(sequenceIncrement);
+		}
 		statementsBefore.add(seqSb.toString());
 		sb.append("GENERATED BY DEFAULT AS IDENTITY ");
 		configureId(sb, fieldType, statementsBefore, additionalArgs, queriesAfter);
@@ -161,4 +175,43 @@ public class HsqldbDatabaseType extends BaseDatabaseType {
 		// support for EXISTS subquery was added in 2.3.x, thanks to @lukewhitt
 		return (driver != null && driver.getMajorVersion() >= 2 && driver.getMinorVersion() >= 3);
 	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		sb.append("MERGE INTO ").append(tableName).append(" AS ").append(UpsertStatements.TARGET_ALIAS);
+		UpsertStatements.appendValuesSource(this, sb, columnNames);
+		UpsertStatements.appendMergeActions(this, sb, idColumnName, columnNames);
+	}
+
+	@Override
+	public String getArrayArgumentTypeName(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendInArrayArgument(StringBuilder sb, String columnName) {
+		appendEscapedEntityName(sb, columnName);
+		sb.append(" IN(UNNEST(?))");
+	}
 }
@@ -0,0 +1,169 @@
+package com.j256.ormlite.jdbc.db;
+
+import java.util.List;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.SqlType;
+
+/**
+ * Database type information which is only used by the JDBC code and so is not part of the core {@link DatabaseType}.
+ * All of the database types in this package implement it. Database types that don't implement it get the most
+ * conservative behavior which is also what the default methods here return so a database type only needs to override
+ * the features that it supports.
+ *
+ * @author graywatson
+ */
+public interface JdbcDatabaseType {
+
+	/**
+	 * Return the name of the database for log and exception messages. This is implemented by the core
+	 * {@link DatabaseType#getDatabaseName()}.
+	 */
+	public String getDatabaseName();
+
+	/**
+	 * Return the maximum number of ? arguments that can be in a single statement or 0 if there is no practical limit.
+	 */
+	public default int getMaxStatementArguments() {
+		return 0;
+	}
+
+	/**
+	 * Return true if the database supports inserting more than one row with INSERT INTO ... VALUES (...),(...).
+	 */
+	public default boolean isMultiRowInsertSupported() {
+		return false;
+	}
+
+	/**
+	 * Return the maximum number of rows in a multi-row insert or 0 if it is only limited by
+	 * {@link #getMaxStatementArguments()}.
+	 */
+	public default int getMaxMultiRowInsertRows() {
+		return 0;
+	}
+
+	/**
+	 * Return true if the driver returns the generated keys of all of the rows of a multi-row insert and not just the
+	 * last one.
+	 */
+	public default boolean isMultiRowInsertGeneratedKeysSupported() {
+		return false;
+	}
+
+	/**
+	 * Return the fetch size to set on a query so the driver streams the results from the server instead of reading
+	 * them all into memory. The fetch-size argument is the number of rows that the caller would like per round trip. A
+	 * negative fetch size, which blocks the connection until the results are closed, is only used for the queries that
+	 * are streamed one at a time.
+	 */
+	public default int getStreamingFetchSize(int fetchSize) {
+		return fetchSize;
+	}
+
+	/**
+	 * Return true if the driver only uses a server-side cursor to stream the results when auto-commit is off. The
+	 * connection doesn't change auto-commit so the caller has to stream the results inside of a transaction.
+	 */
+	public default boolean isStreamingRequiresNoAutoCommit() {
+		return false;
+	}
+
+	/**
+	 * Return true if the generated ids of an insert should be returned by the insert statement itself so the insert and
+	 * the ids are one round trip. See {@link #appendInsertReturning(StringBuilder, String, String)}. The dialects that
+	 * can do this only do it if it is turned on with their setInsertReturningIds(true) so by default the ids come from
+	 * {@link java.sql.Statement#getGeneratedKeys()}.
+	 */
+	public default boolean isInsertReturningSupported() {
+		return false;
+	}
+
+	/**
+	 * Append to the string builder the insert statement changed so that it returns the id column of each of the rows
+	 * that it inserts as a result set, in the order of the rows. This is only called if
+	 * {@link #isInsertReturningSupported()} returns true.
+	 */
+	public default void appendInsertReturning(StringBuilder sb, String insertStatement, String idColumnName) {
+		throw new IllegalStateException("Insert returning is not supported by " + getDatabaseName());
+	}
+
+	/**
+	 * Return true if the database can insert a row, or update the row with the same id if it already exists, in a
+	 * single statement. See {@link #appendUpsert(StringBuilder, String, String, List)}.
+	 */
+	public default boolean isUpsertSupported() {
+		return false;
+	}
+
+	/**
+	 * Return true if the upsert statement updates the existing row on a conflict with any of the unique keys of the
+	 * table and not just the id. Upserts are then not used on tables that have other unique columns.
+	 */
+	public default boolean isUpsertOnAnyUniqueKey() {
+		return false;
+	}
+
+	/**
+	 * Append to the string builder an upsert statement which inserts a row with the columns or, if a row with the same
+	 * id already exists, updates the other columns of that row. The arguments of the statement are the values of the
+	 * columns in order and the id column is one of the columns. The table name has already been escaped. This is only
+	 * called if {@link #isUpsertSupported()} returns true.
+	 */
+	public default void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		throw new IllegalStateException("Upsert is not supported by " + getDatabaseName());
+	}
+
+	/**
+	 * Return the type name to pass to {@link java.sql.Connection#createArrayOf(String, Object[])} for an array of
+	 * arguments of the SQL type or null if the database can't take an array of them as a single argument. A statement
+	 * with an array argument can be used for any number of elements. See
+	 * {@link #appendInArrayArgument(StringBuilder, String)}.
+	 */
+	public default String getArrayArgumentTypeName(SqlType sqlType) {
+		return null;
+	}
+
+	/**
+	 * Append to the string builder a where clause which is true if the column is equal to one of the elements of a
+	 * single array argument, for example "id" = ANY(?). This is only called if
+	 * {@link #getArrayArgumentTypeName(SqlType)} returns a type name.
+	 */
+	public default void appendInArrayArgument(StringBuilder sb, String columnName) {
+		throw new IllegalStateException("Array arguments are not supported by " + getDatabaseName());
+	}
+
+	/**
+	 * Return the maximum number of elements in an IN (...) list or 0 if it is only limited by
+	 * {@link #getMaxStatementArguments()}.
+	 */
+	public default int getMaxInListElements() {
+		return 0;
+	}
+
+	/**
+	 * Return the column type of a temporary table column which holds arguments of the SQL type or null if the database
+	 * can't create a temporary table for them. A temporary table is private to the connection and goes away when the
+	 * connection is closed. See {@link #appendCreateTempTable(StringBuilder, String, String, String)}.
+	 */
+	public default String getTempTableColumnType(SqlType sqlType) {
+		return null;
+	}
+
+	/**
+	 * Append to the string builder the name that statements use to refer to the temporary table with the name, for
+	 * example #name on SQL Server. This is only called if {@link #getTempTableColumnType(SqlType)} returns a type.
+	 */
+	public default void appendTempTableName(StringBuilder sb, String tableName) {
+		throw new IllegalStateException("Temporary tables are not supported by " + getDatabaseName());
+	}
+
+	/**
+	 * Append to the string builder a statement which creates the temporary table with a single column of the column
+	 * type if the connection doesn't already have it. The statement must not commit a transaction that the connection
+	 * is in. This is only called if {@link #getTempTableColumnType(SqlType)} returns a type.
+	 */
+	public default void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		throw new IllegalStateException("Temporary tables are not supported by " + getDatabaseName());
+	}
+}
@@ -55,4 +55,10 @@ public class MariaDbDatabaseType extends MysqlDatabaseType {
 	public boolean isCreateIndexIfNotExistsSupported() {
 		return true;
 	}
+
+	@Override
+	public int getStreamingFetchSize(int fetchSize) {
+		// unlike MySQL, the MariaDB driver streams with a real fetch size
+		return fetchSize;
+	}
 }
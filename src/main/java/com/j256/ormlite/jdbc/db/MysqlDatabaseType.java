@@ -1,9 +1,15 @@
 package com.j256.ormlite.jdbc.db;
 
 import java.util.List;
+import java.util.UUID;
 
 import com.j256.ormlite.db.BaseDatabaseType;
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.UuidType;
+import com.j256.ormlite.stmt.SelectArg;
 
 /**
  * MySQL database type information used to create the tables, etc..
@@ -17,7 +23,7 @@ import com.j256.ormlite.field.FieldType;
  * 
  * @author graywatson
  */
-public class MysqlDatabaseType extends BaseDatabaseType {
+public class MysqlDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "mysql";
 	private final static String DRIVER_CLASS_NAME_OLD = "com.mysql.jdbc.Driver";
@@ -30,6 +36,7 @@ public class MysqlDatabaseType extends BaseDatabaseType {
 	public final static String DEFAULT_CREATE_TABLE_SUFFIX = "ENGINE=InnoDB";
 
 	private String createTableSuffix = DEFAULT_CREATE_TABLE_SUFFIX;
+	private boolean binaryUuids;
 
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
@@ -53,6 +60,45 @@ public class MysqlDatabaseType extends BaseDatabaseType {
 		this.createTableSuffix = createTableSuffix;
 	}
 
+	/**
+	 * Set to true to store {@link UUID} fields in BINARY(16) columns instead of 36 character strings which makes the
+	 * columns and their indexes less than half the size. Existing string UUID columns need to be converted when this is
+	 * enabled. Queries that compare a UUID field to a value need to use a {@link SelectArg} so the value is passed as
+	 * bytes. Default is false.
+	 */
+	public void setBinaryUuids(boolean binaryUuids) {
+		this.binaryUuids = binaryUuids;
+	}
+
+	@Override
+	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
+		if (binaryUuids && dataPersister instanceof UuidType) {
+			return BinaryUuidFieldConverter.getSingleton();
+		} else {
+			return super.getFieldConverter(dataPersister, fieldType);
+		}
+	}
+
+	@Override
+	protected void appendStringType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		if (fieldType.getSqlType() == SqlType.BYTE_ARRAY) {
+			// binary UUIDs, see getFieldConverter()
+			sb.append("BINARY(16)");
+		} else {
+			super.appendStringType(sb, fieldType, fieldWidth);
+		}
+	}
+
+	@Override
+	protected void appendUuidNativeType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		if (fieldType.getSqlType() == SqlType.BYTE_ARRAY) {
+			// binary UUIDs, see getFieldConverter()
+			sb.append("BINARY(16)");
+		} else {
+			super.appendUuidNativeType(sb, fieldType, fieldWidth);
+		}
+	}
+
 	@Override
 	protected void appendDateType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
 		/**
@@ -115,4 +161,97 @@ public class MysqlDatabaseType extends BaseDatabaseType {
 	protected void appendLongStringType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
 		super.appendLongStringType(sb, fieldType, fieldWidth);
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// the argument count is sent as an unsigned 16-bit number
+		return 65535;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		return true;
+	}
+
+	@Override
+	public int getStreamingFetchSize(int fetchSize) {
+		// the driver only streams row by row with this magic value unless useCursorFetch is set on the URL
+		return Integer.MIN_VALUE;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	/**
+	 * ON DUPLICATE KEY UPDATE fires on a duplicate of any of the unique keys of the table and not just the id.
+	 */
+	@Override
+	public boolean isUpsertOnAnyUniqueKey() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		UpsertStatements.appendInsert(this, sb, tableName, columnNames);
+		// NOTE: this fires on a duplicate of any of the unique keys, see isUpsertOnAnyUniqueKey()
+		sb.append(" ON DUPLICATE KEY UPDATE ");
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (columnName.equals(idColumnName)) {
+				continue;
+			}
+			if (first) {
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendEscapedEntityName(sb, columnName);
+			sb.append(" = VALUES(");
+			appendEscapedEntityName(sb, columnName);
+			sb.append(')');
+		}
+		if (first) {
+			// nothing to update so the row is left as is
+			appendEscapedEntityName(sb, idColumnName);
+			sb.append(" = ");
+			appendEscapedEntityName(sb, idColumnName);
+		}
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR(255)";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		appendEscapedEntityName(sb, tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		sb.append("CREATE TEMPORARY TABLE IF NOT EXISTS ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(')');
+	}
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.SequenceBlockAllocator;
 
 /**
  * Netezza database type information used to create the tables, etc..
@@ -15,12 +16,14 @@ import com.j256.ormlite.field.FieldType;
  * 
  * @author Richard Kooijman
  */
-public class NetezzaDatabaseType extends BaseDatabaseType {
+public class NetezzaDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "netezza";
 	private final static String DRIVER_CLASS_NAME = "org.netezza.Driver";
 	private final static String DATABASE_NAME = "Netezza";
 
+	private int sequenceIncrement = 1;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -41,6 +44,14 @@ public class NetezzaDatabaseType extends BaseDatabaseType {
 		sb.append("BYTEINT");
 	}
 
+	/**
+	 * Set the INCREMENT BY of the sequences that are created for generated-id fields. Default is 1. This should match
+	 * the block size of a {@link SequenceBlockAllocator} that hands out the ids of the sequence in blocks.
+	 */
+	public void setSequenceIncrement(int sequenceIncrement) {
+		this.sequenceIncrement = sequenceIncrement;
+	}
+
 	@Override
 	protected void configureGeneratedIdSequence(StringBuilder sb, FieldType fieldType, List<String> statementsBefore,
 			List<String> additionalArgs, List<String> queriesAfter) {
@@ -50,6 +61,9 @@ public class NetezzaDatabaseType extends BaseDatabaseType {
 		seqSb.append("CREATE SEQUENCE ");
 		// when it is created, it needs to be escaped specially
 		appendEscapedEntityName(seqSb, sequenceName);
+		if (sequenceIncrement > 1) {
+			seqSb.append(" INCREMENT BY ").append(sequenceIncrement);
+		}
 		statementsBefore.add(seqSb.toString());
 
 		configureId(sb, fieldType, statementsBefore, additionalArgs, queriesAfter);
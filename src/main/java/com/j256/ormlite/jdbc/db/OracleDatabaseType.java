@@ -8,6 +8,7 @@ import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.converter.CharacterCompatFieldConverter;
+import com.j256.ormlite.jdbc.SequenceBlockAllocator;
 
 /**
  * Oracle database type information used to create the tables, etc..
@@ -20,13 +21,15 @@ import com.j256.ormlite.field.converter.CharacterCompatFieldConverter;
  * 
  * @author graywatson
  */
-public class OracleDatabaseType extends BaseDatabaseType {
+public class OracleDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "oracle";
 	private final static String DRIVER_CLASS_NAME = "oracle.jdbc.driver.OracleDriver";
 	private final static String DATABASE_NAME = "Oracle";
 	private static final String BOOLEAN_INTEGER_FORMAT = "integer";
 
+	private int sequenceIncrement = 1;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -111,6 +114,14 @@ public class OracleDatabaseType extends BaseDatabaseType {
 		}
 	}
 
+	/**
+	 * Set the INCREMENT BY of the sequences that are created for generated-id fields. Default is 1. This should match
+	 * the block size of a {@link SequenceBlockAllocator} that hands out the ids of the sequence in blocks.
+	 */
+	public void setSequenceIncrement(int sequenceIncrement) {
+		this.sequenceIncrement = sequenceIncrement;
+	}
+
 	@Override
 	protected void configureGeneratedIdSequence(StringBuilder sb, FieldType fieldType, List<String> statementsBefore,
 			List<String> additionalArgs, List<String> queriesAfter) {
@@ -120,6 +131,9 @@ public class OracleDatabaseType extends BaseDatabaseType {
 		seqSb.append("CREATE SEQUENCE ");
 		// when it is created, it needs to be escaped specially
 		appendEscapedEntityName(seqSb, seqName);
+		if (sequenceIncrement > 1) {
+			seqSb.append(" INCREMENT BY ").append(sequenceIncrement);
+		}
 		statementsBefore.add(seqSb.toString());
 
 		configureId(sb, fieldType, statementsBefore, additionalArgs, queriesAfter);
@@ -188,4 +202,45 @@ public class OracleDatabaseType extends BaseDatabaseType {
 		// from stew
 		return true;
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		return 65535;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		// needs INSERT ALL instead
+		return false;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		// no VALUES lists in Oracle so the source row is selected from dual
+		sb.append("MERGE INTO ").append(tableName).append(' ').append(UpsertStatements.TARGET_ALIAS);
+		sb.append(" USING (SELECT ");
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			sb.append("? ");
+			appendEscapedEntityName(sb, columnName);
+		}
+		sb.append(" FROM DUAL) ").append(UpsertStatements.SOURCE_ALIAS);
+		UpsertStatements.appendMergeActions(this, sb, idColumnName, columnNames);
+	}
+
+	@Override
+	public int getMaxInListElements() {
+		// ORA-01795
+		return 1000;
+	}
 }
@@ -4,18 +4,23 @@ import java.util.List;
 
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.SequenceBlockAllocator;
 
 /**
  * Postgres database type information used to create the tables, etc..
  * 
  * @author graywatson
  */
-public class PostgresDatabaseType extends BaseDatabaseType {
+public class PostgresDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "postgresql";
 	private final static String DRIVER_CLASS_NAME = "org.postgresql.Driver";
 	private final static String DATABASE_NAME = "Postgres";
 
+	private int sequenceIncrement = 1;
+	private boolean insertReturningIds;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -51,6 +56,23 @@ public class PostgresDatabaseType extends BaseDatabaseType {
 		sb.append("BYTEA");
 	}
 
+	/**
+	 * Set the INCREMENT BY of the sequences that are created for generated-id fields. Default is 1. This should match
+	 * the block size of a {@link SequenceBlockAllocator} that hands out the ids of the sequence in blocks.
+	 */
+	public void setSequenceIncrement(int sequenceIncrement) {
+		this.sequenceIncrement = sequenceIncrement;
+	}
+
+	/**
+	 * Set to true to get the generated ids from the insert statement with INSERT ... RETURNING instead of selecting the
+	 * next value of the sequence before each insert. This saves a round trip per insert and is an alternative to using
+	 * a {@link SequenceBlockAllocator}. Default is false.
+	 */
+	public void setInsertReturningIds(boolean insertReturningIds) {
+		this.insertReturningIds = insertReturningIds;
+	}
+
 	@Override
 	protected void configureGeneratedIdSequence(StringBuilder sb, FieldType fieldType, List<String> statementsBefore,
 			List<String> additionalArgs, List<String> queriesAfter) {
@@ -60,6 +82,9 @@ public class PostgresDatabaseType extends BaseDatabaseType {
 		seqSb.append("CREATE SEQUENCE ");
 		// when it is created, it needs to be escaped specially
 		appendEscapedEntityName(seqSb, sequenceName);
+		if (sequenceIncrement > 1) {
+			seqSb.append(" INCREMENT BY ").append(sequenceIncrement);
+		}
 		statementsBefore.add(seqSb.toString());
 
 		sb.append("DEFAULT NEXTVAL(");
@@ -103,7 +128,8 @@ public class PostgresDatabaseType extends BaseDatabaseType {
 
 	@Override
 	public boolean isSelectSequenceBeforeInsert() {
-		return true;
+		// if we are returning the ids from the insert then the id column is filled in by the NEXTVAL default
+		return !insertReturningIds;
 	}
 
 	@Override
@@ -133,4 +159,125 @@ public class PostgresDatabaseType extends BaseDatabaseType {
 	public boolean isSequenceNamesMustBeLowerCase() {
 		return true;
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// the argument count is sent as a 16-bit number
+		return 32767;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamingRequiresNoAutoCommit() {
+		// the driver reads all of the results into memory unless it is in a transaction
+		return true;
+	}
+
+	@Override
+	public boolean isInsertReturningSupported() {
+		return insertReturningIds;
+	}
+
+	@Override
+	public void appendInsertReturning(StringBuilder sb, String insertStatement, String idColumnName) {
+		sb.append(insertStatement).append(" RETURNING ");
+		appendEscapedEntityName(sb, idColumnName);
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		UpsertStatements.appendInsert(this, sb, tableName, columnNames);
+		sb.append(" ON CONFLICT (");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(')');
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (columnName.equals(idColumnName)) {
+				continue;
+			}
+			if (first) {
+				sb.append(" DO UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendEscapedEntityName(sb, columnName);
+			sb.append(" = EXCLUDED.");
+			appendEscapedEntityName(sb, columnName);
+		}
+		if (first) {
+			// nothing to update
+			sb.append(" DO NOTHING");
+		}
+	}
+
+	@Override
+	public String getArrayArgumentTypeName(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "smallint";
+			case INTEGER:
+				return "integer";
+			case LONG:
+				return "bigint";
+			case STRING:
+				return "varchar";
+			case UUID:
+				return "uuid";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendInArrayArgument(StringBuilder sb, String columnName) {
+		appendEscapedEntityName(sb, columnName);
+		sb.append(" = ANY(?)");
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR(255)";
+			case UUID:
+				return "UUID";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		appendEscapedEntityName(sb, tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		sb.append("CREATE TEMPORARY TABLE IF NOT EXISTS ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(')');
+	}
 }
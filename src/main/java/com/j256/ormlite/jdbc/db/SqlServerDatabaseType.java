@@ -22,7 +22,7 @@ import com.j256.ormlite.support.DatabaseResults;
  * 
  * @author graywatson
  */
-public class SqlServerDatabaseType extends BaseDatabaseType {
+public class SqlServerDatabaseType extends BaseDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "sqlserver";
 	private final static String DRIVER_CLASS_NAME = "com.microsoft.sqlserver.jdbc.SQLServerDriver";
@@ -31,6 +31,8 @@ public class SqlServerDatabaseType extends BaseDatabaseType {
 	private final static FieldConverter byteConverter = new ByteFieldConverter();
 	private final static FieldConverter booleanConverter = new BooleanNumberFieldConverter();
 
+	private boolean insertReturningIds;
+
 	@Override
 	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
 		return DATABASE_URL_PORTION.equals(dbTypePart);
@@ -46,6 +48,15 @@ public class SqlServerDatabaseType extends BaseDatabaseType {
 		return DATABASE_NAME;
 	}
 
+	/**
+	 * Set to true to get the generated ids of the inserts from the insert statement with OUTPUT INSERTED instead of with
+	 * {@link java.sql.Statement#getGeneratedKeys()}. This saves a round trip per insert and lets the multi-row inserts
+	 * of {@link com.j256.ormlite.jdbc.JdbcBulkOperations} get all of their ids. Default is false.
+	 */
+	public void setInsertReturningIds(boolean insertReturningIds) {
+		this.insertReturningIds = insertReturningIds;
+	}
+
 	@Override
 	public FieldConverter getFieldConverter(DataPersister dataType, FieldType fieldType) {
 		// we are only overriding certain types
@@ -184,6 +195,28 @@ public class SqlServerDatabaseType extends BaseDatabaseType {
 		return true;
 	}
 
+	@Override
+	public int getMaxStatementArguments() {
+		return 2100;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		// a table value constructor can have at most 1000 rows
+		return 1000;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		// only the last identity value is returned
+		return false;
+	}
+
 	/**
 	 * Conversion from the byte Java field to the SMALLINT Jdbc type because TINYINT looks to be 0-255 and unsigned.
 	 */
@@ -230,4 +263,77 @@ public class SqlServerDatabaseType extends BaseDatabaseType {
 			return sqlArgToJava(fieldType, Short.parseShort(stringValue), columnPos);
 		}
 	}
+
+	@Override
+	public boolean isInsertReturningSupported() {
+		return insertReturningIds;
+	}
+
+	@Override
+	public void appendInsertReturning(StringBuilder sb, String insertStatement, String idColumnName) {
+		// the OUTPUT clause goes after the column list and before the VALUES
+		int index = insertStatement.indexOf(") VALUES ");
+		if (index >= 0) {
+			index++;
+		} else {
+			index = insertStatement.lastIndexOf(" DEFAULT VALUES");
+			if (index < 0) {
+				throw new IllegalArgumentException("Could not find the VALUES in insert statement: " + insertStatement);
+			}
+		}
+		sb.append(insertStatement, 0, index).append(" OUTPUT INSERTED.");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(insertStatement, index, insertStatement.length());
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		// the HOLDLOCK stops two concurrent merges from both inserting the same id
+		sb.append("MERGE INTO ").append(tableName).append(" WITH (HOLDLOCK) AS ");
+		sb.append(UpsertStatements.TARGET_ALIAS);
+		UpsertStatements.appendValuesSource(this, sb, columnNames);
+		UpsertStatements.appendMergeActions(this, sb, idColumnName, columnNames);
+		// MERGE statements must be terminated
+		sb.append(';');
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+				return "SMALLINT";
+			case INTEGER:
+				return "INTEGER";
+			case LONG:
+				return "BIGINT";
+			case STRING:
+				return "VARCHAR(255)";
+			case UUID:
+				return "UNIQUEIDENTIFIER";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		// the # makes it a temporary table that is private to the connection
+		sb.append('#').append(tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		sb.append("IF OBJECT_ID('tempdb..");
+		appendTempTableName(sb, tableName);
+		sb.append("') IS NULL CREATE TABLE ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(')');
+	}
 }
@@ -39,4 +39,10 @@ public class SqlServerJtdsDatabaseType extends SqlServerDatabaseType {
 	public String getDatabaseName() {
 		return DATABASE_NAME;
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// jTDS limits the arguments to less than the server does
+		return 2000;
+	}
 }
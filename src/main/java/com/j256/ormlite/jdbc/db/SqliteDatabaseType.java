@@ -1,18 +1,29 @@
 package com.j256.ormlite.jdbc.db;
 
+import java.util.List;
+import java.util.UUID;
+
 import com.j256.ormlite.db.BaseSqliteDatabaseType;
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.FieldConverter;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.UuidType;
+import com.j256.ormlite.stmt.SelectArg;
 
 /**
  * Sqlite database type information used to create the tables, etc..
  * 
  * @author graywatson
  */
-public class SqliteDatabaseType extends BaseSqliteDatabaseType {
+public class SqliteDatabaseType extends BaseSqliteDatabaseType implements JdbcDatabaseType {
 
 	private final static String DATABASE_URL_PORTION = "sqlite";
 	private final static String DRIVER_CLASS_NAME = "org.sqlite.JDBC";
 	private final static String DATABASE_NAME = "SQLite";
 
+	private boolean binaryUuids;
+
 	public SqliteDatabaseType() {
 	}
 
@@ -31,6 +42,45 @@ public class SqliteDatabaseType extends BaseSqliteDatabaseType {
 		return DATABASE_NAME;
 	}
 
+	/**
+	 * Set to true to store {@link UUID} fields in 16 byte BLOB columns instead of 36 character strings which makes the
+	 * columns and their indexes less than half the size. Existing string UUID columns need to be converted when this is
+	 * enabled. Queries that compare a UUID field to a value need to use a {@link SelectArg} so the value is passed as
+	 * bytes. Default is false.
+	 */
+	public void setBinaryUuids(boolean binaryUuids) {
+		this.binaryUuids = binaryUuids;
+	}
+
+	@Override
+	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
+		if (binaryUuids && dataPersister instanceof UuidType) {
+			return BinaryUuidFieldConverter.getSingleton();
+		} else {
+			return super.getFieldConverter(dataPersister, fieldType);
+		}
+	}
+
+	@Override
+	protected void appendStringType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		if (fieldType.getSqlType() == SqlType.BYTE_ARRAY) {
+			// binary UUIDs, see getFieldConverter()
+			sb.append("BLOB");
+		} else {
+			super.appendStringType(sb, fieldType, fieldWidth);
+		}
+	}
+
+	@Override
+	protected void appendUuidNativeType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		if (fieldType.getSqlType() == SqlType.BYTE_ARRAY) {
+			// binary UUIDs, see getFieldConverter()
+			sb.append("BLOB");
+		} else {
+			super.appendUuidNativeType(sb, fieldType, fieldWidth);
+		}
+	}
+
 	@Override
 	public void appendLimitValue(StringBuilder sb, long limit, Long offset) {
 		sb.append("LIMIT ");
@@ -64,4 +114,81 @@ public class SqliteDatabaseType extends BaseSqliteDatabaseType {
 	public boolean isLimitDeleteAtEndSupported() {
 		return true;
 	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// SQLITE_MAX_VARIABLE_NUMBER of older versions
+		return 999;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		// only the last row-id is returned
+		return false;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, String idColumnName, List<String> columnNames) {
+		UpsertStatements.appendInsert(this, sb, tableName, columnNames);
+		sb.append(" ON CONFLICT (");
+		appendEscapedEntityName(sb, idColumnName);
+		sb.append(')');
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (columnName.equals(idColumnName)) {
+				continue;
+			}
+			if (first) {
+				sb.append(" DO UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendEscapedEntityName(sb, columnName);
+			sb.append(" = EXCLUDED.");
+			appendEscapedEntityName(sb, columnName);
+		}
+		if (first) {
+			// nothing to update
+			sb.append(" DO NOTHING");
+		}
+	}
+
+	@Override
+	public String getTempTableColumnType(SqlType sqlType) {
+		switch (sqlType) {
+			case SHORT:
+			case INTEGER:
+			case LONG:
+				return "INTEGER";
+			case STRING:
+				return "VARCHAR";
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void appendTempTableName(StringBuilder sb, String tableName) {
+		appendEscapedEntityName(sb, tableName);
+	}
+
+	@Override
+	public void appendCreateTempTable(StringBuilder sb, String tableName, String columnName, String columnType) {
+		sb.append("CREATE TEMP TABLE IF NOT EXISTS ");
+		appendTempTableName(sb, tableName);
+		sb.append(" (");
+		appendEscapedEntityName(sb, columnName);
+		sb.append(' ').append(columnType).append(')');
+	}
 }
@@ -0,0 +1,106 @@
+package com.j256.ormlite.jdbc.db;
+
+import java.util.List;
+
+import com.j256.ormlite.db.DatabaseType;
+
+/**
+ * Pieces of the upsert statements that are shared by the database types, see
+ * {@link JdbcDatabaseType#appendUpsert(StringBuilder, String, String, List)}.
+ *
+ * @author graywatson
+ */
+class UpsertStatements {
+
+	static final String TARGET_ALIAS = "dst";
+	static final String SOURCE_ALIAS = "src";
+
+	/**
+	 * For static methods only.
+	 */
+	private UpsertStatements() {
+	}
+
+	/**
+	 * Append INSERT INTO table (col1,col2) VALUES (?,?).
+	 */
+	static void appendInsert(DatabaseType databaseType, StringBuilder sb, String tableName, List<String> columnNames) {
+		sb.append("INSERT INTO ").append(tableName).append(" (");
+		appendColumnNames(databaseType, sb, null, columnNames);
+		sb.append(") VALUES (");
+		appendArgs(sb, columnNames.size());
+		sb.append(')');
+	}
+
+	/**
+	 * Append USING (VALUES (?,?)) AS src (col1,col2) for the MERGE statements that can select from a VALUES list.
+	 */
+	static void appendValuesSource(DatabaseType databaseType, StringBuilder sb, List<String> columnNames) {
+		sb.append(" USING (VALUES (");
+		appendArgs(sb, columnNames.size());
+		sb.append(")) AS ").append(SOURCE_ALIAS).append(" (");
+		appendColumnNames(databaseType, sb, null, columnNames);
+		sb.append(')');
+	}
+
+	/**
+	 * Append the ON and WHEN clauses of a MERGE INTO table dst USING ... src statement which update the other columns
+	 * of a matching row or insert the source row.
+	 */
+	static void appendMergeActions(DatabaseType databaseType, StringBuilder sb, String idColumnName,
+			List<String> columnNames) {
+		sb.append(" ON (").append(TARGET_ALIAS).append('.');
+		databaseType.appendEscapedEntityName(sb, idColumnName);
+		sb.append(" = ").append(SOURCE_ALIAS).append('.');
+		databaseType.appendEscapedEntityName(sb, idColumnName);
+		sb.append(')');
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (columnName.equals(idColumnName)) {
+				continue;
+			}
+			if (first) {
+				sb.append(" WHEN MATCHED THEN UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			databaseType.appendEscapedEntityName(sb, columnName);
+			sb.append(" = ").append(SOURCE_ALIAS).append('.');
+			databaseType.appendEscapedEntityName(sb, columnName);
+		}
+		sb.append(" WHEN NOT MATCHED THEN INSERT (");
+		appendColumnNames(databaseType, sb, null, columnNames);
+		sb.append(") VALUES (");
+		appendColumnNames(databaseType, sb, SOURCE_ALIAS, columnNames);
+		sb.append(')');
+	}
+
+	/**
+	 * Append col1,col2 with each of the column names prefixed by the alias if it is not null.
+	 */
+	static void appendColumnNames(DatabaseType databaseType, StringBuilder sb, String alias,
+			List<String> columnNames) {
+		boolean first = true;
+		for (String columnName : columnNames) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			if (alias != null) {
+				sb.append(alias).append('.');
+			}
+			databaseType.appendEscapedEntityName(sb, columnName);
+		}
+	}
+
+	private static void appendArgs(StringBuilder sb, int numArgs) {
+		for (int i = 0; i < numArgs; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.j256.ormlite.jdbc.id;
+
+import java.util.UUID;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.NativeUuidType;
+
+/**
+ * Type that persists a {@link UUID} with the database's native UUID type like {@link NativeUuidType}, UUID on Postgres
+ * and UNIQUEIDENTIFIER on SQL Server, but generates time-ordered version 7 UUIDs with {@link UuidV7Generator} for
+ * generated-id fields instead of random ones.
+ *
+ * <p>
+ * <b>NOTE:</b> SQL Server compares UNIQUEIDENTIFIER values starting with their last 6 bytes so version 7 UUIDs are not
+ * inserted at the end of its indexes. Use {@link SnowflakeIdType} there if that matters.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class NativeUuidV7Type extends NativeUuidType {
+
+	private static final NativeUuidV7Type singleTon = new NativeUuidV7Type();
+
+	public static NativeUuidV7Type getSingleton() {
+		return singleTon;
+	}
+
+	private NativeUuidV7Type() {
+		super(SqlType.UUID, new Class<?>[0]);
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected NativeUuidV7Type(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	@Override
+	public Object generateId() {
+		return UuidV7Generator.getDefault().generate();
+	}
+}
@@ -0,0 +1,88 @@
+package com.j256.ormlite.jdbc.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates Snowflake-style 64-bit ids on the client so an insert doesn't need a sequence or a generated key from the
+ * database. Each id is 41 bits of milliseconds since the epoch, a 10 bit node-id, and a 12 bit counter so the ids from
+ * every node are unique as long as each node has its own node-id. The ids are time-ordered so B-tree index inserts stay
+ * at the right-hand edge of the index.
+ *
+ * <p>
+ * The ids are generated without locking. If more than 4096 ids are asked for in a millisecond, or the clock goes
+ * backwards, then the time part of the ids runs ahead of the clock until it catches up so the ids from a generator are
+ * always increasing. 41 bits of milliseconds lasts for about 69 years after the epoch.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class SnowflakeIdGenerator {
+
+	/** 2020-01-01T00:00:00Z */
+	public static final long DEFAULT_EPOCH_MILLIS = 1577836800000L;
+	public static final int MAX_NODE_ID = 1023;
+
+	private static final int NODE_BITS = 10;
+	private static final int COUNTER_BITS = 12;
+	private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+	private final long nodeBits;
+	private final long epochMillis;
+	// the milliseconds since the epoch shifted over the counter bits of the last id that was generated
+	private final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+	public SnowflakeIdGenerator(int nodeId) {
+		this(nodeId, DEFAULT_EPOCH_MILLIS);
+	}
+
+	/**
+	 * @param nodeId
+	 *            Number from 0 to {@link #MAX_NODE_ID} which must be different for each of the processes that generate
+	 *            ids for the same table.
+	 * @param epochMillis
+	 *            Unix time in milliseconds that the time part of the ids starts from.
+	 */
+	public SnowflakeIdGenerator(int nodeId, long epochMillis) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node-id must be from 0 to " + MAX_NODE_ID + ": " + nodeId);
+		}
+		this.nodeBits = ((long) nodeId) << COUNTER_BITS;
+		this.epochMillis = epochMillis;
+	}
+
+	/**
+	 * Return the next id which is larger than all of the ones that this generator has returned before.
+	 */
+	public long generate() {
+		long now = (currentTimeMillis() - epochMillis) << COUNTER_BITS;
+		while (true) {
+			long last = lastTimeAndCounter.get();
+			long next = Math.max(now, last + 1);
+			if (lastTimeAndCounter.compareAndSet(last, next)) {
+				return ((next >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)) | nodeBits | (next & COUNTER_MASK);
+			}
+		}
+	}
+
+	public int getNodeId() {
+		return (int) (nodeBits >>> COUNTER_BITS);
+	}
+
+	public long getEpochMillis() {
+		return epochMillis;
+	}
+
+	/**
+	 * Return the Unix time in milliseconds of an id from this generator.
+	 */
+	public long extractMillis(long id) {
+		return (id >>> (NODE_BITS + COUNTER_BITS)) + epochMillis;
+	}
+
+	/**
+	 * Return the current time in milliseconds. Here for testing.
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,70 @@
+package com.j256.ormlite.jdbc.id;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.LongType;
+
+/**
+ * Type that persists a long like {@link LongType} but generates the ids of generated-id fields on the client with a
+ * {@link SnowflakeIdGenerator} so inserts don't need a sequence or a generated key from the database. It works for long
+ * and Long fields.
+ *
+ * <p>
+ * <b>NOTE:</b> the generator has to be set with {@link #setGenerator(SnowflakeIdGenerator)} when the application starts
+ * with a node-id that is different for each process that inserts into the same tables. There is no default since two
+ * processes with the same node-id can generate the same ids so generating an id without it throws.
+ * </p>
+ *
+ * <pre>
+ * &#64;DatabaseField(generatedId = true, persisterClass = SnowflakeIdType.class)
+ * long id;
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class SnowflakeIdType extends LongType {
+
+	private static final SnowflakeIdType singleTon = new SnowflakeIdType();
+	private static volatile SnowflakeIdGenerator generator;
+
+	public static SnowflakeIdType getSingleton() {
+		return singleTon;
+	}
+
+	private SnowflakeIdType() {
+		super(SqlType.LONG, new Class<?>[0]);
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected SnowflakeIdType(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	/**
+	 * Set the generator that is used for all of the fields with this type. This has to be called before any ids are
+	 * generated.
+	 */
+	public static void setGenerator(SnowflakeIdGenerator generator) {
+		SnowflakeIdType.generator = generator;
+	}
+
+	public static SnowflakeIdGenerator getGenerator() {
+		return generator;
+	}
+
+	@Override
+	public boolean isSelfGeneratedId() {
+		return true;
+	}
+
+	@Override
+	public Object generateId() {
+		SnowflakeIdGenerator currentGenerator = generator;
+		if (currentGenerator == null) {
+			throw new IllegalStateException("The node-id of the snowflake ids has not been configured, call "
+					+ SnowflakeIdType.class.getSimpleName() + ".setGenerator(...) with the node-id of this process");
+		}
+		return (Long) currentGenerator.generate();
+	}
+}
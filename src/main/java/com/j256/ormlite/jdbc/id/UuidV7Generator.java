@@ -0,0 +1,75 @@
+package com.j256.ormlite.jdbc.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562) on the client so an insert doesn't need a sequence or a generated
+ * key from the database. The first 48 bits are the Unix time in milliseconds so new ids sort after the old ones and
+ * B-tree index inserts stay at the right-hand edge of the index. The 12 bits after the version are a counter that
+ * keeps the ids from this generator in order inside of the same millisecond and the last 62 bits are random.
+ *
+ * <p>
+ * The ids are generated without locking. If more than 4096 ids are asked for in a millisecond, or the clock goes
+ * backwards, then the time part of the ids runs ahead of the clock until it catches up so the ids are always
+ * increasing. The random bits come from {@link ThreadLocalRandom} so the ids should not be used as secrets.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class UuidV7Generator {
+
+	private static final UuidV7Generator defaultGenerator = new UuidV7Generator();
+
+	private static final int COUNTER_BITS = 12;
+	private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+	private static final long VERSION_BITS = 0x7000L;
+	private static final long VARIANT_BITS = 0x8000000000000000L;
+	private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+	// the milliseconds shifted over the counter bits of the last id that was generated
+	private final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+	/**
+	 * Return the generator that is shared by the UUID persisters in this package.
+	 */
+	public static UuidV7Generator getDefault() {
+		return defaultGenerator;
+	}
+
+	/**
+	 * Return the next UUID which is larger than all of the ones that this generator has returned before.
+	 */
+	public UUID generate() {
+		long timeAndCounter = nextTimeAndCounter();
+		long mostSigBits = ((timeAndCounter >>> COUNTER_BITS) << 16) | VERSION_BITS | (timeAndCounter & COUNTER_MASK);
+		long leastSigBits = VARIANT_BITS | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+		return new UUID(mostSigBits, leastSigBits);
+	}
+
+	/**
+	 * Return the Unix time in milliseconds of a version 7 UUID.
+	 */
+	public static long extractMillis(UUID uuid) {
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+
+	/**
+	 * Return the current time in milliseconds. Here for testing.
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private long nextTimeAndCounter() {
+		long now = currentTimeMillis() << COUNTER_BITS;
+		while (true) {
+			long last = lastTimeAndCounter.get();
+			long next = Math.max(now, last + 1);
+			if (lastTimeAndCounter.compareAndSet(last, next)) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.j256.ormlite.jdbc.id;
+
+import java.util.UUID;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.UuidType;
+
+/**
+ * Type that persists a {@link UUID} as a string like {@link UuidType} but generates time-ordered version 7 UUIDs with
+ * {@link UuidV7Generator} for generated-id fields instead of random ones.
+ *
+ * <pre>
+ * &#64;DatabaseField(generatedId = true, persisterClass = UuidV7Type.class)
+ * UUID id;
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class UuidV7Type extends UuidType {
+
+	private static final UuidV7Type singleTon = new UuidV7Type();
+
+	public static UuidV7Type getSingleton() {
+		return singleTon;
+	}
+
+	private UuidV7Type() {
+		super(SqlType.STRING, new Class<?>[0]);
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected UuidV7Type(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	@Override
+	public Object generateId() {
+		return UuidV7Generator.getDefault().generate();
+	}
+}
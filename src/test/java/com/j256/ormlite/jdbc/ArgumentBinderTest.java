@@ -0,0 +1,75 @@
+package com.j256.ormlite.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+public class ArgumentBinderTest {
+
+	@Test
+	public void testTypedSetters() throws Exception {
+		PreparedStatement stmt = createMock(PreparedStatement.class);
+		Timestamp stamp = new Timestamp(1000);
+		byte[] bytes = new byte[] { 1, 2 };
+		BigDecimal dec = new BigDecimal("1.5");
+		stmt.setString(1, "foo");
+		stmt.setTimestamp(2, stamp);
+		stmt.setBoolean(3, true);
+		stmt.setByte(4, (byte) 5);
+		stmt.setBytes(5, bytes);
+		stmt.setShort(6, (short) 6);
+		stmt.setInt(7, 7);
+		stmt.setLong(8, 8L);
+		stmt.setFloat(9, 9.0F);
+		stmt.setDouble(10, 10.0);
+		stmt.setBigDecimal(11, dec);
+		stmt.setString(12, "bar");
+		replay(stmt);
+		ArgumentBinder.setArgument(stmt, 1, "foo", Types.VARCHAR);
+		ArgumentBinder.setArgument(stmt, 2, stamp, Types.TIMESTAMP);
+		ArgumentBinder.setArgument(stmt, 3, true, Types.BOOLEAN);
+		ArgumentBinder.setArgument(stmt, 4, (byte) 5, Types.TINYINT);
+		ArgumentBinder.setArgument(stmt, 5, bytes, Types.VARBINARY);
+		ArgumentBinder.setArgument(stmt, 6, (short) 6, Types.SMALLINT);
+		ArgumentBinder.setArgument(stmt, 7, 7, Types.INTEGER);
+		ArgumentBinder.setArgument(stmt, 8, 8L, Types.BIGINT);
+		ArgumentBinder.setArgument(stmt, 9, 9.0F, Types.FLOAT);
+		ArgumentBinder.setArgument(stmt, 10, 10.0, Types.DOUBLE);
+		ArgumentBinder.setArgument(stmt, 11, dec, Types.DECIMAL);
+		ArgumentBinder.setArgument(stmt, 12, "bar", Types.LONGVARCHAR);
+		verify(stmt);
+	}
+
+	@Test
+	public void testNull() throws Exception {
+		PreparedStatement stmt = createMock(PreparedStatement.class);
+		stmt.setNull(1, Types.BIGINT);
+		replay(stmt);
+		ArgumentBinder.setArgument(stmt, 1, null, Types.BIGINT);
+		verify(stmt);
+	}
+
+	@Test
+	public void testSetObjectFallback() throws Exception {
+		PreparedStatement stmt = createMock(PreparedStatement.class);
+		// not the java type that we expect for the type value
+		stmt.setObject(1, 1, Types.BIGINT);
+		stmt.setObject(2, "1", Types.INTEGER);
+		// no typed setter for these
+		stmt.setObject(3, 'c', Types.CHAR);
+		stmt.setObject(4, "other", Types.OTHER);
+		replay(stmt);
+		ArgumentBinder.setArgument(stmt, 1, 1, Types.BIGINT);
+		ArgumentBinder.setArgument(stmt, 2, "1", Types.INTEGER);
+		ArgumentBinder.setArgument(stmt, 3, 'c', Types.CHAR);
+		ArgumentBinder.setArgument(stmt, 4, "other", Types.OTHER);
+		verify(stmt);
+	}
+}
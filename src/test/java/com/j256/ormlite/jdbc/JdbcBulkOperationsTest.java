@@ -0,0 +1,702 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.dao.ReferenceObjectCache;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.table.TableUtils;
+
+public class JdbcBulkOperationsTest extends BaseJdbcTest {
+
+	@Test
+	public void testCreate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(3);
+		assertEquals(3, bulkOperations.getBatchSize());
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		assertEquals(10, bulkOperations.create(foos));
+		assertEquals(10, dao.countOf());
+		Set<Integer> ids = new HashSet<Integer>();
+		for (Foo foo : foos) {
+			assertNotEquals(0, foo.id);
+			ids.add(foo.id);
+			Foo result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.val, result.val);
+		}
+		assertEquals(10, ids.size());
+		assertEquals(0, bulkOperations.create(Collections.<Foo> emptyList()));
+	}
+
+	@Test
+	public void testMultiRowInsert() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		assertFalse(bulkOperations.isMultiRowInsert());
+		bulkOperations.setMultiRowInsert(true);
+		assertTrue(bulkOperations.isMultiRowInsert());
+		bulkOperations.setBatchSize(4);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 11; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		assertEquals(11, bulkOperations.create(foos));
+		assertEquals(11, dao.countOf());
+		Set<Integer> ids = new HashSet<Integer>();
+		for (Foo foo : foos) {
+			ids.add(foo.id);
+			assertEquals(foo.val, dao.queryForId(foo.id).val);
+		}
+		assertEquals(11, ids.size());
+	}
+
+	@Test
+	public void testMultiRowInsertArgumentLimit() throws Exception {
+		H2DatabaseType limitDatabaseType = new H2DatabaseType() {
+			@Override
+			public int getMaxStatementArguments() {
+				return 5;
+			}
+		};
+		JdbcConnectionSource limitConnectionSource = new JdbcConnectionSource(DEFAULT_DATABASE_URL, limitDatabaseType);
+		limitConnectionSource.setStatementCacheSize(10);
+		try {
+			Dao<TwoFoo, Integer> dao = DaoManager.createDao(limitConnectionSource, TwoFoo.class);
+			TableUtils.createTableIfNotExists(limitConnectionSource, TwoFoo.class);
+			JdbcBulkOperations<TwoFoo, Integer> bulkOperations = new JdbcBulkOperations<TwoFoo, Integer>(dao);
+			bulkOperations.setMultiRowInsert(true);
+			JdbcDatabaseConnection connection =
+					(JdbcDatabaseConnection) limitConnectionSource.getReadWriteConnection(null);
+			limitConnectionSource.releaseConnection(connection);
+
+			List<TwoFoo> foos = new ArrayList<TwoFoo>();
+			for (int i = 0; i < 10; i++) {
+				TwoFoo foo = new TwoFoo();
+				foo.val = i;
+				foo.stuff = Integer.toString(i);
+				foos.add(foo);
+			}
+			long missCount = connection.getStatementCacheMissCount();
+			// 2 columns so 2 rows per insert, all in one JDBC batch
+			assertEquals(10, bulkOperations.create(foos));
+			assertEquals(missCount + 1, connection.getStatementCacheMissCount());
+			for (TwoFoo foo : foos) {
+				TwoFoo result = dao.queryForId(foo.id);
+				assertEquals(foo.val, result.val);
+				assertEquals(foo.stuff, result.stuff);
+			}
+
+			foos.clear();
+			for (int i = 0; i < 3; i++) {
+				TwoFoo foo = new TwoFoo();
+				foo.val = i;
+				foos.add(foo);
+			}
+			missCount = connection.getStatementCacheMissCount();
+			long hitCount = connection.getStatementCacheHitCount();
+			// the 2 row insert is reused and then a single row insert
+			assertEquals(3, bulkOperations.create(foos));
+			assertEquals(hitCount + 1, connection.getStatementCacheHitCount());
+			assertEquals(missCount + 1, connection.getStatementCacheMissCount());
+			assertEquals(13, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			limitConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testMultiRowInsertReturning() throws Exception {
+		H2DatabaseType noKeysDatabaseType = new H2DatabaseType() {
+			@Override
+			public boolean isMultiRowInsertGeneratedKeysSupported() {
+				return false;
+			}
+		};
+		noKeysDatabaseType.setInsertReturningIds(true);
+		JdbcConnectionSource noKeysConnectionSource = new JdbcConnectionSource(DEFAULT_DATABASE_URL, noKeysDatabaseType);
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(noKeysConnectionSource, Foo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+			bulkOperations.setMultiRowInsert(true);
+			bulkOperations.setBatchSize(4);
+			List<Foo> foos = new ArrayList<Foo>();
+			for (int i = 0; i < 10; i++) {
+				Foo foo = new Foo();
+				foo.val = i;
+				foos.add(foo);
+			}
+			// the ids come back from the inserts with FINAL TABLE
+			assertEquals(10, bulkOperations.create(foos));
+			for (Foo foo : foos) {
+				assertEquals(foo.val, dao.queryForId(foo.id).val);
+			}
+			TableUtils.dropTable(dao, true);
+		} finally {
+			noKeysConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(2);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		bulkOperations.create(foos);
+		for (Foo foo : foos) {
+			foo.val += 100;
+		}
+		Foo missing = new Foo();
+		missing.id = 1000000;
+		foos.add(missing);
+		assertEquals(5, bulkOperations.update(foos));
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i + 100, dao.queryForId(foos.get(i).id).val);
+		}
+	}
+
+	@Test
+	public void testUpdateVersion() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		JdbcBulkOperations<VersionFoo, Integer> bulkOperations = new JdbcBulkOperations<VersionFoo, Integer>(dao);
+		VersionFoo foo1 = new VersionFoo();
+		VersionFoo foo2 = new VersionFoo();
+		assertEquals(2, bulkOperations.create(Arrays.asList(foo1, foo2)));
+		assertEquals(0, dao.queryForId(foo1.id).version);
+
+		// out of date version so it isn't updated
+		VersionFoo stale = dao.queryForId(foo2.id);
+		dao.update(foo2);
+		assertEquals(1, foo2.version);
+		assertEquals(1, bulkOperations.update(Arrays.asList(foo1, stale)));
+		assertEquals(1, foo1.version);
+		assertEquals(0, stale.version);
+		assertEquals(1, dao.queryForId(foo1.id).version);
+	}
+
+	@Test
+	public void testCreateOrUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(2);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		bulkOperations.create(foos);
+
+		List<Foo> upserts = new ArrayList<Foo>();
+		for (Foo foo : foos) {
+			Foo other = new Foo();
+			other.id = foo.id;
+			other.val = foo.val + 100;
+			upserts.add(other);
+		}
+		Foo created = new Foo();
+		created.val = 200;
+		upserts.add(created);
+		Foo missing = new Foo();
+		missing.id = 1000000;
+		missing.val = 300;
+		upserts.add(missing);
+		assertEquals(5, bulkOperations.createOrUpdate(upserts));
+
+		assertEquals(5, dao.countOf());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(i + 100, dao.queryForId(foos.get(i).id).val);
+		}
+		assertNotEquals(0, created.id);
+		assertEquals(200, dao.queryForId(created.id).val);
+		// given a new id like Dao.createOrUpdate instead of inserting the generated id
+		assertNotEquals(1000000, missing.id);
+		assertNull(dao.queryForId(1000000));
+		assertEquals(300, dao.queryForId(missing.id).val);
+		assertEquals(0, bulkOperations.createOrUpdate(Collections.<Foo> emptyList()));
+	}
+
+	@Test
+	public void testCreateOrUpdateNaturalId() throws Exception {
+		Dao<NaturalFoo, Integer> dao = createDao(NaturalFoo.class, true);
+		JdbcBulkOperations<NaturalFoo, Integer> bulkOperations = new JdbcBulkOperations<NaturalFoo, Integer>(dao);
+		bulkOperations.setBatchSize(2);
+		NaturalFoo foo1 = new NaturalFoo();
+		foo1.id = 1;
+		foo1.val = 10;
+		assertEquals(1, bulkOperations.create(Arrays.asList(foo1)));
+
+		NaturalFoo other = new NaturalFoo();
+		other.id = 1;
+		other.val = 11;
+		NaturalFoo foo2 = new NaturalFoo();
+		foo2.id = 2;
+		foo2.val = 20;
+		assertEquals(2, bulkOperations.createOrUpdate(Arrays.asList(other, foo2)));
+		assertEquals(2, dao.countOf());
+		assertEquals(11, dao.queryForId(1).val);
+		assertEquals(20, dao.queryForId(2).val);
+	}
+
+	@Test
+	public void testCreateOrUpdateUpsertOnAnyUniqueKey() throws Exception {
+		H2DatabaseType anyKeyDatabaseType = new H2DatabaseType() {
+			@Override
+			public boolean isUpsertOnAnyUniqueKey() {
+				return true;
+			}
+
+			@Override
+			public void appendUpsert(StringBuilder sb, String tableName, String idColumnName,
+					List<String> columnNames) {
+				throw new IllegalStateException("upsert should not be used with other unique columns");
+			}
+		};
+		JdbcConnectionSource anyKeyConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, anyKeyDatabaseType);
+		try {
+			Dao<NaturalUniqueFoo, Integer> dao = DaoManager.createDao(anyKeyConnectionSource, NaturalUniqueFoo.class);
+			TableUtils.createTableIfNotExists(anyKeyConnectionSource, NaturalUniqueFoo.class);
+			// the DAO is used for each object instead of an upsert which could update the row with the same value
+			JdbcBulkOperations<NaturalUniqueFoo, Integer> bulkOperations =
+					new JdbcBulkOperations<NaturalUniqueFoo, Integer>(dao);
+			NaturalUniqueFoo foo1 = new NaturalUniqueFoo();
+			foo1.id = 1;
+			foo1.val = 10;
+			NaturalUniqueFoo foo2 = new NaturalUniqueFoo();
+			foo2.id = 2;
+			foo2.val = 20;
+			assertEquals(2, bulkOperations.createOrUpdate(Arrays.asList(foo1, foo2)));
+			NaturalUniqueFoo other = new NaturalUniqueFoo();
+			other.id = 3;
+			other.val = 10;
+			assertThrowsExactly(SQLException.class, () -> bulkOperations.createOrUpdate(Arrays.asList(other)));
+			assertEquals(10, dao.queryForId(1).val);
+			assertEquals(2, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			anyKeyConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testCreateOrUpdateVersion() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		JdbcBulkOperations<VersionFoo, Integer> bulkOperations = new JdbcBulkOperations<VersionFoo, Integer>(dao);
+		VersionFoo foo1 = new VersionFoo();
+		assertEquals(1, bulkOperations.create(Arrays.asList(foo1)));
+		VersionFoo foo2 = new VersionFoo();
+		// the versions have to be checked so each object goes through the DAO
+		assertEquals(2, bulkOperations.createOrUpdate(Arrays.asList(foo1, foo2)));
+		assertEquals(1, foo1.version);
+		assertEquals(1, dao.queryForId(foo1.id).version);
+		assertEquals(2, dao.countOf());
+	}
+
+	@Test
+	public void testForeignAutoCreate() throws Exception {
+		Dao<ForeignFoo, Integer> dao = createDao(ForeignFoo.class, true);
+		Dao<Foo, Integer> fooDao = createDao(Foo.class, true);
+		JdbcBulkOperations<ForeignFoo, Integer> bulkOperations = new JdbcBulkOperations<ForeignFoo, Integer>(dao);
+		List<ForeignFoo> foreignFoos = new ArrayList<ForeignFoo>();
+		for (int i = 0; i < 3; i++) {
+			ForeignFoo foreignFoo = new ForeignFoo();
+			foreignFoo.foo = new Foo();
+			foreignFoo.foo.val = i;
+			foreignFoos.add(foreignFoo);
+		}
+		// the DAO creates the foreign objects
+		assertEquals(3, bulkOperations.create(foreignFoos));
+		assertEquals(3, fooDao.countOf());
+		for (ForeignFoo foreignFoo : foreignFoos) {
+			assertNotEquals(0, foreignFoo.foo.id);
+			assertEquals(foreignFoo.foo.id, dao.queryForId(foreignFoo.id).foo.id);
+		}
+	}
+
+	@Test
+	public void testQueryForIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(ReferenceObjectCache.makeWeakCache());
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(3);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 7; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		bulkOperations.create(foos);
+		dao.clearObjectCache();
+		Foo cached = dao.queryForId(foos.get(0).id);
+
+		List<Integer> ids = new ArrayList<Integer>();
+		for (Foo foo : foos) {
+			ids.add(foo.id);
+		}
+		ids.add(1000000);
+		List<Foo> results = bulkOperations.queryForIds(ids);
+		assertEquals(7, results.size());
+		assertTrue(results.contains(cached));
+		Set<Integer> vals = new HashSet<Integer>();
+		for (Foo result : results) {
+			vals.add(result.val);
+		}
+		assertEquals(7, vals.size());
+		assertTrue(bulkOperations.queryForIds(Collections.<Integer> emptyList()).isEmpty());
+	}
+
+	@Test
+	public void testPaddedIdLists() throws Exception {
+		H2DatabaseType noArraysDatabaseType = new H2DatabaseType() {
+			@Override
+			public String getArrayArgumentTypeName(SqlType sqlType) {
+				return null;
+			}
+		};
+		JdbcConnectionSource noArraysConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, noArraysDatabaseType);
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(noArraysConnectionSource, Foo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+			bulkOperations.setBatchSize(5);
+			List<Foo> foos = new ArrayList<Foo>();
+			List<Integer> ids = new ArrayList<Integer>();
+			for (int i = 0; i < 11; i++) {
+				Foo foo = new Foo();
+				foo.val = i;
+				foos.add(foo);
+			}
+			bulkOperations.create(foos);
+			for (Foo foo : foos) {
+				ids.add(foo.id);
+			}
+			// batches of 5, 5, and 1 ids padded to IN lists of 8, 8, and 1
+			assertEquals(11, bulkOperations.queryForIds(ids).size());
+			assertEquals(3, bulkOperations.queryForIds(ids.subList(0, 3)).size());
+			assertEquals(6, bulkOperations.deleteIds(ids.subList(0, 6)));
+			assertEquals(5, dao.countOf());
+			assertEquals(5, bulkOperations.delete(foos.subList(4, 11)));
+			assertEquals(0, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			noArraysConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testIdArgumentLimit() throws Exception {
+		H2DatabaseType limitedDatabaseType = new H2DatabaseType() {
+			@Override
+			public String getArrayArgumentTypeName(SqlType sqlType) {
+				return null;
+			}
+
+			@Override
+			public int getMaxStatementArguments() {
+				return 3;
+			}
+		};
+		JdbcConnectionSource limitedConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, limitedDatabaseType);
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(limitedConnectionSource, Foo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+			bulkOperations.setTempTableMinIds(0);
+			List<Foo> foos = new ArrayList<Foo>();
+			for (int i = 0; i < 10; i++) {
+				foos.add(new Foo());
+			}
+			bulkOperations.create(foos);
+			List<Integer> ids = new ArrayList<Integer>();
+			for (Foo foo : foos) {
+				ids.add(foo.id);
+			}
+			// statements of 3, 3, 3, and 1 ids even though the batch size is larger
+			assertEquals(10, bulkOperations.queryForIds(ids).size());
+			assertEquals(7, bulkOperations.deleteIds(ids.subList(0, 7)));
+			assertEquals(3, bulkOperations.delete(foos));
+			assertEquals(0, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			limitedConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testTempTable() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		assertEquals(JdbcBulkOperations.DEFAULT_TEMP_TABLE_MIN_IDS, bulkOperations.getTempTableMinIds());
+		bulkOperations.setBatchSize(2);
+		bulkOperations.setTempTableMinIds(10);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 30; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		bulkOperations.create(foos);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (Foo foo : foos) {
+			ids.add(foo.id);
+		}
+		// 15 statements of 2 ids so the temporary table is cheaper
+		List<Foo> results = bulkOperations.queryForIds(ids);
+		assertEquals(30, results.size());
+		Set<Integer> vals = new HashSet<Integer>();
+		for (Foo result : results) {
+			vals.add(result.val);
+		}
+		assertEquals(30, vals.size());
+		// the temporary table is cleared after each use
+		assertEquals(0, dao.queryRawValue("SELECT COUNT(*) FROM `ormlite_ids_integer`"));
+		assertEquals(12, bulkOperations.queryForIds(ids.subList(0, 12)).size());
+		// duplicate ids don't duplicate the rows
+		List<Integer> duplicateIds = new ArrayList<Integer>(ids.subList(0, 10));
+		duplicateIds.addAll(ids.subList(0, 10));
+		assertEquals(10, bulkOperations.queryForIds(duplicateIds).size());
+		// fewer than the minimum so IN lists
+		assertEquals(4, bulkOperations.queryForIds(ids.subList(0, 4)).size());
+
+		assertEquals(12, bulkOperations.deleteIds(ids.subList(0, 12)));
+		assertEquals(18, dao.countOf());
+		assertEquals(18, bulkOperations.delete(foos));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testTempTableInTransaction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(1);
+		bulkOperations.setTempTableMinIds(1);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			dao.create(foo);
+			ids.add(foo.id);
+		}
+		// the rolled back delete shows that creating the temporary table didn't commit it
+		assertThrowsExactly(SQLException.class, () -> TransactionManager.callInTransaction(connectionSource, () -> {
+			assertEquals(10, bulkOperations.deleteIds(ids));
+			assertEquals(0, dao.countOf());
+			throw new SQLException("roll back");
+		}));
+		assertEquals(10, dao.countOf());
+		assertEquals(10, bulkOperations.queryForIds(ids).size());
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		bulkOperations.setBatchSize(2);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 5; i++) {
+			foos.add(new Foo());
+		}
+		bulkOperations.create(foos);
+		assertEquals(3, bulkOperations.delete(foos.subList(0, 3)));
+		assertEquals(2, dao.countOf());
+		assertEquals(2, bulkOperations.deleteIds(Arrays.asList(foos.get(3).id, foos.get(4).id, 1000000)));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testObjectCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(ReferenceObjectCache.makeWeakCache());
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		Foo foo = new Foo();
+		foo.val = 1;
+		bulkOperations.create(Arrays.asList(foo));
+		assertSame(foo, dao.queryForId(foo.id));
+
+		Foo other = new Foo();
+		other.id = foo.id;
+		other.val = 2;
+		assertEquals(1, bulkOperations.update(Arrays.asList(other)));
+		// the cached object was updated
+		assertEquals(2, foo.val);
+		other.val = 3;
+		assertEquals(1, bulkOperations.createOrUpdate(Arrays.asList(other)));
+		assertEquals(3, foo.val);
+
+		assertEquals(1, bulkOperations.delete(Arrays.asList(foo)));
+		assertNull(dao.queryForId(foo.id));
+	}
+
+	@Test
+	public void testBatchUseTransaction() throws Exception {
+		H2DatabaseType transactionDatabaseType = new H2DatabaseType() {
+			@Override
+			public boolean isBatchUseTransaction() {
+				return true;
+			}
+		};
+		JdbcConnectionSource transactionConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, transactionDatabaseType);
+		try {
+			Dao<UniqueFoo, Integer> dao = DaoManager.createDao(transactionConnectionSource, UniqueFoo.class);
+			TableUtils.createTableIfNotExists(transactionConnectionSource, UniqueFoo.class);
+			JdbcBulkOperations<UniqueFoo, Integer> bulkOperations = new JdbcBulkOperations<UniqueFoo, Integer>(dao);
+			UniqueFoo foo1 = new UniqueFoo();
+			foo1.val = 1;
+			bulkOperations.create(Arrays.asList(foo1));
+			UniqueFoo foo2 = new UniqueFoo();
+			foo2.val = 2;
+			UniqueFoo foo3 = new UniqueFoo();
+			foo3.val = 1;
+			// the duplicate value makes the batch fail and the whole thing is rolled back
+			assertThrowsExactly(SQLException.class, () -> bulkOperations.create(Arrays.asList(foo2, foo3)));
+			assertEquals(1, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			transactionConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testNoId() throws Exception {
+		Dao<NoIdFoo, Void> dao = createDao(NoIdFoo.class, true);
+		JdbcBulkOperations<NoIdFoo, Void> bulkOperations = new JdbcBulkOperations<NoIdFoo, Void>(dao);
+		NoIdFoo foo = new NoIdFoo();
+		foo.val = 12;
+		assertEquals(1, bulkOperations.create(Arrays.asList(foo)));
+		assertEquals(12, dao.queryForAll().get(0).val);
+		assertThrowsExactly(SQLException.class, () -> bulkOperations.update(Arrays.asList(foo)));
+		assertThrowsExactly(SQLException.class, () -> bulkOperations.delete(Arrays.asList(foo)));
+	}
+
+	@Test
+	public void testBadBatchSize() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		JdbcBulkOperations<Foo, Integer> bulkOperations = new JdbcBulkOperations<Foo, Integer>(dao);
+		assertThrowsExactly(IllegalArgumentException.class, () -> bulkOperations.setBatchSize(0));
+	}
+
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		int val;
+
+		public Foo() {
+		}
+	}
+
+	protected static class TwoFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		int val;
+		@DatabaseField
+		String stuff;
+
+		public TwoFoo() {
+		}
+	}
+
+	protected static class VersionFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(version = true)
+		int version;
+		@DatabaseField
+		String stuff;
+
+		public VersionFoo() {
+		}
+	}
+
+	protected static class ForeignFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoCreate = true)
+		Foo foo;
+
+		public ForeignFoo() {
+		}
+	}
+
+	protected static class UniqueFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(unique = true)
+		int val;
+
+		public UniqueFoo() {
+		}
+	}
+
+	protected static class NaturalFoo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		int val;
+
+		public NaturalFoo() {
+		}
+	}
+
+	protected static class NaturalUniqueFoo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(unique = true)
+		int val;
+
+		public NaturalUniqueFoo() {
+		}
+	}
+
+	protected static class NoIdFoo {
+		@DatabaseField
+		int val;
+
+		public NoIdFoo() {
+		}
+	}
+}
@@ -7,8 +7,12 @@ import static org.easymock.EasyMock.verify;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
+import java.sql.Array;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
@@ -37,6 +41,44 @@ public class JdbcCompiledStatementTest extends BaseCoreTest {
 		verify(preparedStatement, metadata);
 	}
 
+	@Test
+	public void testOpenResultSetClosedBeforeReuse() throws Exception {
+		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
+		ResultSet resultSet = createMock(ResultSet.class);
+		expect(preparedStatement.getResultSet()).andReturn(resultSet);
+		resultSet.close();
+		preparedStatement.clearParameters();
+		replay(preparedStatement, resultSet);
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		PreparedStatementCache.Key key = new PreparedStatementCache.Key("statement", ResultSet.TYPE_FORWARD_ONLY, null);
+		JdbcCompiledStatement stmt =
+				new JdbcCompiledStatement(preparedStatement, "statement", StatementType.SELECT, false);
+		stmt.setStatementCache(cache, key);
+		stmt.close();
+		assertEquals(1, cache.size());
+		verify(preparedStatement, resultSet);
+	}
+
+	@Test
+	public void testResultSetCloseFailsEvicts() throws Exception {
+		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
+		ResultSet resultSet = createMock(ResultSet.class);
+		expect(preparedStatement.getResultSet()).andReturn(resultSet);
+		resultSet.close();
+		EasyMock.expectLastCall().andThrow(new SQLException("close failed"));
+		// the statement is closed instead of going back into the cache
+		preparedStatement.close();
+		replay(preparedStatement, resultSet);
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		PreparedStatementCache.Key key = new PreparedStatementCache.Key("statement", ResultSet.TYPE_FORWARD_ONLY, null);
+		JdbcCompiledStatement stmt =
+				new JdbcCompiledStatement(preparedStatement, "statement", StatementType.SELECT, false);
+		stmt.setStatementCache(cache, key);
+		stmt.close();
+		assertEquals(0, cache.size());
+		verify(preparedStatement, resultSet);
+	}
+
 	@Test
 	public void testGetMoreResults() throws Exception {
 		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
@@ -64,6 +106,24 @@ public class JdbcCompiledStatementTest extends BaseCoreTest {
 		verify(preparedStatement);
 	}
 
+	@Test
+	public void testSetArray() throws Exception {
+		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
+		Connection connection = createMock(Connection.class);
+		Array array = createMock(Array.class);
+		Object[] elements = new Object[] { 1, 2, 3 };
+		expect(preparedStatement.getConnection()).andReturn(connection);
+		expect(connection.createArrayOf("integer", elements)).andReturn(array);
+		preparedStatement.setArray(1, array);
+		preparedStatement.close();
+		replay(preparedStatement, connection, array);
+		JdbcCompiledStatement stmt =
+				new JdbcCompiledStatement(preparedStatement, "statement", StatementType.SELECT, false);
+		stmt.setArray(0, "integer", elements);
+		stmt.close();
+		verify(preparedStatement, connection, array);
+	}
+
 	@Test
 	public void testExecuteUpdateWithSelectType() {
 		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
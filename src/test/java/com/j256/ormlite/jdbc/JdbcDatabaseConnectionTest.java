@@ -4,11 +4,15 @@ import static org.easymock.EasyMock.aryEq;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.or;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -17,17 +21,27 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.jdbc.db.MysqlDatabaseType;
+import com.j256.ormlite.jdbc.db.PostgresDatabaseType;
 import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.GeneratedKeyHolder;
 import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
 
 public class JdbcDatabaseConnectionTest extends BaseJdbcTest {
 
@@ -115,6 +129,181 @@ public class JdbcDatabaseConnectionTest extends BaseJdbcTest {
 		verify(connection, prepStmt);
 	}
 
+	@Test
+	public void testInsertBatch() throws Exception {
+		Connection connection = createMock(Connection.class);
+		DatabaseMetaData databaseMetaData = createMock(DatabaseMetaData.class);
+		PreparedStatement prepStmt = createMock(PreparedStatement.class);
+		ResultSet resultSet = createMock(ResultSet.class);
+		ResultSetMetaData metaData = createMock(ResultSetMetaData.class);
+		GeneratedKeyHolder keyHolder = createMock(GeneratedKeyHolder.class);
+		FieldType fieldType = createMock(FieldType.class);
+
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		String statement = "insert into foo (val) values (?)";
+		expect(keyHolder.getColumnName()).andReturn("id");
+		expect(connection.getMetaData()).andReturn(databaseMetaData);
+		expect(databaseMetaData.supportsGetGeneratedKeys()).andReturn(true);
+		expect(connection.prepareStatement(eq(statement), aryEq(new String[] { "id" }))).andReturn(prepStmt);
+		// the type values of the field types are only looked up once
+		expect(fieldType.getSqlType()).andReturn(SqlType.INTEGER);
+		for (int i = 0; i < 3; i++) {
+			prepStmt.setInt(1, i);
+			prepStmt.addBatch();
+		}
+		// batches of 2 and then 1
+		expect(prepStmt.executeBatch()).andReturn(new int[] { 1, 1 });
+		expect(prepStmt.executeBatch()).andReturn(new int[] { 1 });
+		expect(prepStmt.getGeneratedKeys()).andReturn(resultSet).times(2);
+		expect(resultSet.getMetaData()).andReturn(metaData).times(2);
+		expect(metaData.getColumnCount()).andReturn(1).times(2);
+		expect(metaData.getColumnType(1)).andReturn(Types.INTEGER).times(3);
+		expect(resultSet.next()).andReturn(true).times(2).andReturn(false).andReturn(true).andReturn(false);
+		expect(resultSet.getInt(1)).andReturn(10).andReturn(11).andReturn(12);
+		keyHolder.addKey(10);
+		keyHolder.addKey(11);
+		keyHolder.addKey(12);
+		prepStmt.close();
+		replay(connection, databaseMetaData, prepStmt, resultSet, metaData, keyHolder, fieldType);
+		List<Object[]> argsList = new ArrayList<Object[]>();
+		for (int i = 0; i < 3; i++) {
+			argsList.add(new Object[] { i });
+		}
+		int[] rowCounts = jdc.insertBatch(statement, argsList, new FieldType[] { fieldType }, keyHolder, 2);
+		assertArrayEquals(new int[] { 1, 1, 1 }, rowCounts);
+		verify(connection, databaseMetaData, prepStmt, resultSet, metaData, keyHolder, fieldType);
+	}
+
+	@Test
+	public void testUpdateBatchStatementCache() throws Exception {
+		Dao<Foo, Object> dao = createDao(Foo.class, true);
+		JdbcDatabaseConnection databaseConnection =
+				(JdbcDatabaseConnection) connectionSource.getReadWriteConnection(FOO_TABLE_NAME);
+		try {
+			databaseConnection.setStatementCacheSize(10);
+			List<Object[]> argsList = new ArrayList<Object[]>();
+			for (long id = 1; id <= 5; id++) {
+				argsList.add(new Object[] { id });
+			}
+			FieldType[] argFieldTypes = new FieldType[] { dao.getTableInfo().getFieldTypes()[0] };
+			StringBuilder sb = new StringBuilder();
+			sb.append("insert into foo (");
+			databaseType.appendEscapedEntityName(sb, "id");
+			sb.append(") values (?)");
+			int[] rowCounts = databaseConnection.insertBatch(sb.toString(), argsList, argFieldTypes, null, 2);
+			assertEquals(5, rowCounts.length);
+			assertEquals(5, dao.countOf());
+
+			sb.setLength(0);
+			sb.append("delete from foo where ");
+			databaseType.appendEscapedEntityName(sb, "id");
+			sb.append(" = ?");
+			rowCounts = databaseConnection.deleteBatch(sb.toString(), argsList.subList(0, 2), argFieldTypes, 0);
+			assertArrayEquals(new int[] { 1, 1 }, rowCounts);
+			long hitCount = databaseConnection.getStatementCacheHitCount();
+			rowCounts = databaseConnection.deleteBatch(sb.toString(), argsList, argFieldTypes, 0);
+			assertArrayEquals(new int[] { 0, 0, 1, 1, 1 }, rowCounts);
+			// the delete statement was reused
+			assertEquals(hitCount + 1, databaseConnection.getStatementCacheHitCount());
+			assertEquals(0, dao.countOf());
+		} finally {
+			databaseConnection.setStatementCacheSize(0);
+			connectionSource.releaseConnection(databaseConnection);
+		}
+	}
+
+	@Test
+	public void testUpdateStatementCache() throws Exception {
+		Connection connection = createMock(Connection.class);
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		jdc.setStatementCacheSize(10);
+		String statement = "statement";
+		PreparedStatement prepStmt = createMock(PreparedStatement.class);
+		// prepared only once
+		expect(connection.prepareStatement(statement)).andReturn(prepStmt);
+		expect(prepStmt.executeUpdate()).andReturn(1).times(2);
+		prepStmt.clearParameters();
+		expectLastCall().times(2);
+		// closed when the connection is closed
+		prepStmt.close();
+		connection.close();
+		replay(connection, prepStmt);
+		jdc.update(statement, new Object[0], new FieldType[0]);
+		jdc.update(statement, new Object[0], new FieldType[0]);
+		assertEquals(1, jdc.getStatementCacheHitCount());
+		assertEquals(1, jdc.getStatementCacheMissCount());
+		jdc.close();
+		verify(connection, prepStmt);
+	}
+
+	@Test
+	public void testUpdateStatementCacheThrows() throws Exception {
+		Connection connection = createMock(Connection.class);
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		jdc.setStatementCacheSize(10);
+		String statement = "statement";
+		PreparedStatement prepStmt1 = createMock(PreparedStatement.class);
+		PreparedStatement prepStmt2 = createMock(PreparedStatement.class);
+		expect(connection.prepareStatement(statement)).andReturn(prepStmt1);
+		expect(prepStmt1.executeUpdate()).andThrow(new SQLException("bad"));
+		// the statement that threw is not reused
+		prepStmt1.close();
+		expect(connection.prepareStatement(statement)).andReturn(prepStmt2);
+		expect(prepStmt2.executeUpdate()).andReturn(1);
+		prepStmt2.clearParameters();
+		prepStmt2.close();
+		connection.close();
+		replay(connection, prepStmt1, prepStmt2);
+		assertThrowsExactly(SQLException.class, () -> {
+			jdc.update(statement, new Object[0], new FieldType[0]);
+		});
+		jdc.update(statement, new Object[0], new FieldType[0]);
+		jdc.close();
+		verify(connection, prepStmt1, prepStmt2);
+	}
+
+	@Test
+	public void testStatementCacheDao() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		pooled.setStatementCacheSize(20);
+		try {
+			Dao<CachedFoo, Integer> dao = DaoManager.createDao(pooled, CachedFoo.class);
+			TableUtils.createTableIfNotExists(pooled, CachedFoo.class);
+			for (int i = 0; i < 10; i++) {
+				CachedFoo foo = new CachedFoo();
+				foo.id = i + 1;
+				assertEquals(1, dao.create(foo));
+				assertEquals(foo.id, dao.queryForId(foo.id).id);
+				assertEquals(1, dao.update(foo));
+			}
+			// only one connection has been used so far
+			JdbcDatabaseConnection conn = (JdbcDatabaseConnection) pooled.getReadWriteConnection(null);
+			assertTrue(conn.getStatementCacheHitCount() >= 27, "hits = " + conn.getStatementCacheHitCount());
+			pooled.releaseConnection(conn);
+			assertEquals(10, dao.queryForAll().size());
+			assertEquals(10, dao.countOf());
+			// iterating a query while running the same query
+			for (CachedFoo foo : dao) {
+				assertEquals(foo.id, dao.queryForId(foo.id).id);
+			}
+			for (CachedFoo foo : dao) {
+				assertEquals(foo.id, dao.queryForId(foo.id).id);
+			}
+			for (int i = 0; i < 10; i++) {
+				assertEquals(1, dao.deleteById(i + 1));
+			}
+			TableUtils.dropTable(pooled, CachedFoo.class, true);
+			// make sure that the table drop invalidated the cache
+			TableUtils.createTable(pooled, CachedFoo.class);
+			CachedFoo foo = new CachedFoo();
+			foo.id = 1;
+			assertEquals(1, dao.create(foo));
+			TableUtils.dropTable(pooled, CachedFoo.class, true);
+		} finally {
+			pooled.close();
+		}
+	}
+
 	@Test
 	public void testInsertReleaseConnection() throws Exception {
 		Connection connection = createMock(Connection.class);
@@ -163,7 +352,6 @@ public class JdbcDatabaseConnectionTest extends BaseJdbcTest {
 		expect(connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
 				.andReturn(prepStmt);
 		expect(prepStmt.executeQuery()).andReturn(resultSet);
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.next()).andReturn(false);
 		resultSet.close();
 		expect(prepStmt.getMoreResults()).andReturn(false);
@@ -274,9 +462,134 @@ public class JdbcDatabaseConnectionTest extends BaseJdbcTest {
 		});
 	}
 
+	@Test
+	public void testStreamResults() throws Exception {
+		Connection connection = createMock(Connection.class);
+		PreparedStatement prepStmt = createMock(PreparedStatement.class);
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		jdc.setStreamingResults(new PostgresDatabaseType(), 0);
+		assertEquals(JdbcDatabaseConnection.DEFAULT_STREAMING_FETCH_SIZE, jdc.getFetchSize());
+		String statement = "select * from foo";
+		expect(connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+				.andReturn(prepStmt);
+		prepStmt.setFetchSize(JdbcDatabaseConnection.DEFAULT_STREAMING_FETCH_SIZE);
+		// auto-commit is not touched even though postgres only streams in a transaction
+		prepStmt.close();
+		replay(connection, prepStmt);
+		CompiledStatement compiledStatement = jdc.compileStatement(statement, StatementType.SELECT, new FieldType[0],
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		compiledStatement.close();
+		verify(connection, prepStmt);
+	}
+
+	@Test
+	public void testStreamingResultsNoRowAtATime() throws Exception {
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(createMock(Connection.class));
+		// mysql's row at a time fetch size would block the connection for all of the other queries
+		jdc.setStreamingResults(new MysqlDatabaseType(), 0);
+		assertEquals(JdbcDatabaseConnection.DEFAULT_STREAMING_FETCH_SIZE, jdc.getFetchSize());
+		jdc.setStreamingResults(new MysqlDatabaseType(), 50);
+		assertEquals(50, jdc.getFetchSize());
+	}
+
+	@Test
+	public void testFetchSizeNotOnUpdate() throws Exception {
+		Connection connection = createMock(Connection.class);
+		PreparedStatement prepStmt = createMock(PreparedStatement.class);
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		jdc.setFetchSize(100);
+		String statement = "delete from foo";
+		expect(connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+				.andReturn(prepStmt);
+		prepStmt.close();
+		replay(connection, prepStmt);
+		CompiledStatement compiledStatement = jdc.compileStatement(statement, StatementType.DELETE, new FieldType[0],
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		compiledStatement.close();
+		verify(connection, prepStmt);
+	}
+
+	@Test
+	public void testInsertReturning() throws Exception {
+		Connection connection = createMock(Connection.class);
+		PreparedStatement prepStmt = createMock(PreparedStatement.class);
+		ResultSet resultSet = createMock(ResultSet.class);
+		ResultSetMetaData metaData = createMock(ResultSetMetaData.class);
+		JdbcDatabaseConnection jdc = new JdbcDatabaseConnection(connection);
+		PostgresDatabaseType postgresDatabaseType = new PostgresDatabaseType();
+		postgresDatabaseType.setInsertReturningIds(true);
+		jdc.setDatabaseType(postgresDatabaseType);
+		assertTrue(jdc.isInsertReturningSupported());
+		String statement = "INSERT INTO \"foo\" (\"stuff\" ) VALUES (?)";
+		expect(connection.prepareStatement(statement + " RETURNING \"id\"")).andReturn(prepStmt);
+		prepStmt.setString(1, "hello");
+		expect(prepStmt.executeQuery()).andReturn(resultSet);
+		expect(resultSet.getMetaData()).andReturn(metaData);
+		expect(resultSet.next()).andReturn(true);
+		expect(metaData.getColumnType(1)).andReturn(Types.INTEGER);
+		expect(resultSet.getInt(1)).andReturn(10);
+		expect(resultSet.next()).andReturn(false);
+		resultSet.close();
+		prepStmt.close();
+		GeneratedKeyHolder keyHolder = createMock(GeneratedKeyHolder.class);
+		expect(keyHolder.getColumnName()).andReturn("id");
+		keyHolder.addKey(10);
+		replay(connection, prepStmt, resultSet, metaData, keyHolder);
+		FieldType fieldType = createMock(FieldType.class);
+		expect(fieldType.getSqlType()).andReturn(SqlType.STRING);
+		replay(fieldType);
+		assertEquals(1, jdc.insert(statement, new Object[] { "hello" }, new FieldType[] { fieldType }, keyHolder));
+		verify(connection, prepStmt, resultSet, metaData, keyHolder);
+	}
+
+	@Test
+	public void testInsertReturningH2() throws Exception {
+		JdbcDatabaseConnection connection = (JdbcDatabaseConnection) connectionSource.getReadWriteConnection(null);
+		try {
+			// getGeneratedKeys() is used by default
+			assertFalse(connection.isInsertReturningSupported());
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+		H2DatabaseType returningDatabaseType = new H2DatabaseType();
+		returningDatabaseType.setInsertReturningIds(true);
+		JdbcConnectionSource returningConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, returningDatabaseType);
+		try {
+			Dao<FooInt, Object> dao = DaoManager.createDao(returningConnectionSource, FooInt.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			connection = (JdbcDatabaseConnection) returningConnectionSource.getReadWriteConnection(null);
+			try {
+				assertTrue(connection.isInsertReturningSupported());
+			} finally {
+				returningConnectionSource.releaseConnection(connection);
+			}
+			for (int i = 1; i <= 3; i++) {
+				FooInt foo = new FooInt();
+				foo.stuff = "stuff" + i;
+				assertEquals(1, dao.create(foo));
+				assertEquals(i, foo.id);
+			}
+			TableUtils.dropTable(dao, true);
+		} finally {
+			returningConnectionSource.close();
+		}
+	}
+
 	/* =================================================================================================== */
 
 	@DatabaseTable(tableName = FOO_TABLE_NAME)
+	protected static class CachedFoo {
+		@DatabaseField(id = true)
+		public int id;
+		@DatabaseField
+		public String stuff;
+
+		public CachedFoo() {
+		}
+	}
+
 	protected static class Foo {
 		@DatabaseField
 		public long id;
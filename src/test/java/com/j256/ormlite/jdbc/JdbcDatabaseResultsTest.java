@@ -12,6 +12,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -30,7 +32,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		Blob blob = createMock(Blob.class);
 		InputStream is = new ByteArrayInputStream(new byte[] {});
 		expect(blob.getBinaryStream()).andReturn(is);
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getBlob(1)).andReturn(blob);
 		resultSet.close();
 		replay(preparedStatement, blob, resultSet);
@@ -44,7 +45,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 	public void testGetBlobStreamNull() throws Exception {
 		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
 		ResultSet resultSet = createMock(ResultSet.class);
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getBlob(1)).andReturn(null);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -60,7 +60,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 21323;
 		String name = "name";
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.findColumn(name)).andReturn(colN);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -91,7 +90,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 213;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.wasNull()).andReturn(true);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -105,7 +103,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 	public void testNext() throws Exception {
 		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
 		ResultSet resultSet = createMock(ResultSet.class);
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.next()).andReturn(true);
 		expect(resultSet.next()).andReturn(false);
 		expect(preparedStatement.getMoreResults()).andReturn(true);
@@ -128,7 +125,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		boolean val = true;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getBoolean(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -144,7 +140,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		byte val = 69;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getByte(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -160,7 +155,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		byte[] val = new byte[] { 23, 1, 17 };
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getBytes(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -176,7 +170,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		double val = 69.123;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getDouble(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -192,7 +185,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		float val = 69.77F;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getFloat(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -208,7 +200,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		int val = 613123129;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getInt(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -224,7 +215,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		short val = 6129;
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getShort(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -240,7 +230,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		String val = "zippy";
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getString(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -256,7 +245,6 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		ResultSet resultSet = createMock(ResultSet.class);
 		int colN = 120;
 		Timestamp val = new Timestamp(123123123123L);
-		expect(resultSet.getMetaData()).andReturn(null);
 		expect(resultSet.getTimestamp(colN + 1)).andReturn(val);
 		resultSet.close();
 		replay(preparedStatement, resultSet);
@@ -265,4 +253,111 @@ public class JdbcDatabaseResultsTest extends BaseCoreTest {
 		results.close();
 		verify(preparedStatement, resultSet);
 	}
+
+	@Test
+	public void testFindColumnCachedLayout() throws Exception {
+		JdbcDatabaseResults.clearColumnLayoutCache();
+		String statement = "select id, ID, name from foo";
+		PreparedStatement preparedStatement = mockStatement("jdbc:h2:mem:foo");
+		ResultSet resultSet = createMock(ResultSet.class);
+		ResultSetMetaData metaData = createMock(ResultSetMetaData.class);
+		// the cached layout is checked against the metadata of each of the results
+		expect(resultSet.getMetaData()).andReturn(metaData).times(2);
+		expect(metaData.getColumnCount()).andReturn(3).times(2);
+		expect(metaData.getColumnLabel(1)).andReturn("id").times(2);
+		expect(metaData.getColumnLabel(2)).andReturn("ID").times(2);
+		expect(metaData.getColumnLabel(3)).andReturn("NAME").times(2);
+		// the driver resolves the names that aren't labels
+		expect(resultSet.findColumn("foo.name")).andReturn(3).times(2);
+		replay(preparedStatement, resultSet, metaData);
+		for (int i = 0; i < 2; i++) {
+			JdbcDatabaseResults results =
+					new JdbcDatabaseResults(preparedStatement, resultSet, null, false, statement);
+			// exact case first and then the first label that matches ignoring case
+			assertEquals(0, results.findColumn("id"));
+			assertEquals(1, results.findColumn("ID"));
+			assertEquals(0, results.findColumn("Id"));
+			assertEquals(2, results.findColumn("name"));
+			assertEquals(2, results.findColumn("foo.name"));
+		}
+		verify(preparedStatement, resultSet, metaData);
+	}
+
+	@Test
+	public void testFindColumnLayoutChanged() throws Exception {
+		JdbcDatabaseResults.clearColumnLayoutCache();
+		String statement = "select * from foo";
+		PreparedStatement preparedStatement = mockStatement("jdbc:h2:mem:foo");
+		ResultSet resultSet = createMock(ResultSet.class);
+		ResultSetMetaData metaData = createMock(ResultSetMetaData.class);
+		expect(resultSet.getMetaData()).andReturn(metaData).times(2);
+		expect(metaData.getColumnCount()).andReturn(2).times(3);
+		expect(metaData.getColumnLabel(1)).andReturn("ID");
+		expect(metaData.getColumnLabel(2)).andReturn("NAME");
+		// same number of columns but the table was altered so they are in another order
+		expect(metaData.getColumnLabel(1)).andReturn("NAME").times(2);
+		expect(metaData.getColumnLabel(2)).andReturn("ID");
+		replay(preparedStatement, resultSet, metaData);
+		JdbcDatabaseResults results = new JdbcDatabaseResults(preparedStatement, resultSet, null, false, statement);
+		assertEquals(0, results.findColumn("id"));
+		results = new JdbcDatabaseResults(preparedStatement, resultSet, null, false, statement);
+		// the cached layout doesn't match the metadata so it is replaced
+		assertEquals(1, results.findColumn("id"));
+		assertEquals(0, results.findColumn("name"));
+		verify(preparedStatement, resultSet, metaData);
+	}
+
+	@Test
+	public void testFindColumnOtherDatabase() throws Exception {
+		JdbcDatabaseResults.clearColumnLayoutCache();
+		String statement = "select * from foo";
+		PreparedStatement preparedStatement1 = mockStatement("jdbc:h2:mem:foo");
+		PreparedStatement preparedStatement2 = mockStatement("jdbc:h2:mem:bar");
+		ResultSet resultSet = createMock(ResultSet.class);
+		ResultSetMetaData metaData1 = createMock(ResultSetMetaData.class);
+		ResultSetMetaData metaData2 = createMock(ResultSetMetaData.class);
+		expect(resultSet.getMetaData()).andReturn(metaData1);
+		expect(resultSet.getMetaData()).andReturn(metaData2);
+		expect(resultSet.getMetaData()).andReturn(metaData1);
+		expect(metaData1.getColumnCount()).andReturn(2).times(2);
+		expect(metaData1.getColumnLabel(1)).andReturn("ID").times(2);
+		expect(metaData1.getColumnLabel(2)).andReturn("NAME").times(2);
+		expect(metaData2.getColumnCount()).andReturn(2);
+		expect(metaData2.getColumnLabel(1)).andReturn("NAME");
+		expect(metaData2.getColumnLabel(2)).andReturn("ID");
+		replay(preparedStatement1, preparedStatement2, resultSet, metaData1, metaData2);
+		JdbcDatabaseResults results = new JdbcDatabaseResults(preparedStatement1, resultSet, null, false, statement);
+		assertEquals(0, results.findColumn("id"));
+		results = new JdbcDatabaseResults(preparedStatement2, resultSet, null, false, statement);
+		assertEquals(1, results.findColumn("id"));
+		// the other database didn't replace the layout of the first
+		results = new JdbcDatabaseResults(preparedStatement1, resultSet, null, false, statement);
+		assertEquals(0, results.findColumn("id"));
+		verify(preparedStatement1, preparedStatement2, resultSet, metaData1, metaData2);
+	}
+
+	@Test
+	public void testMetaDataLazy() throws Exception {
+		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
+		ResultSet resultSet = createMock(ResultSet.class);
+		expect(resultSet.next()).andReturn(true);
+		expect(resultSet.getLong(1)).andReturn(10L);
+		replay(preparedStatement, resultSet);
+		JdbcDatabaseResults results =
+				new JdbcDatabaseResults(preparedStatement, resultSet, null, false, "select count(*) from foo");
+		assertTrue(results.first());
+		assertEquals(10L, results.getLong(0));
+		verify(preparedStatement, resultSet);
+	}
+
+	private PreparedStatement mockStatement(String url) throws Exception {
+		PreparedStatement preparedStatement = createMock(PreparedStatement.class);
+		Connection connection = createMock(Connection.class);
+		DatabaseMetaData databaseMetaData = createMock(DatabaseMetaData.class);
+		expect(preparedStatement.getConnection()).andReturn(connection).anyTimes();
+		expect(connection.getMetaData()).andReturn(databaseMetaData).anyTimes();
+		expect(databaseMetaData.getURL()).andReturn(url).anyTimes();
+		replay(connection, databaseMetaData);
+		return preparedStatement;
+	}
 }
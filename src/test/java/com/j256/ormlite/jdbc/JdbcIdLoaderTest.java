@@ -0,0 +1,199 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.table.TableUtils;
+
+public class JdbcIdLoaderTest extends BaseJdbcTest {
+
+	private static final int NUM_THREADS = 8;
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 7;
+		dao.create(foo);
+		JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+		loader.setWindowMicros(0);
+		assertEquals(0, loader.getWindowMicros());
+		assertEquals(7, loader.queryForId(foo.id).val);
+		assertNull(loader.queryForId(foo.id + 1));
+		assertEquals(2, loader.getQueryCount());
+		assertEquals(2, loader.getLoadCount());
+	}
+
+	@Test
+	public void testQueryForIdOtherNumberType() throws Exception {
+		Dao<LongFoo, Object> dao = createDao(LongFoo.class, true);
+		LongFoo foo = new LongFoo();
+		foo.val = 8;
+		dao.create(foo);
+		JdbcIdLoader<LongFoo, Object> loader = new JdbcIdLoader<LongFoo, Object>(dao);
+		loader.setWindowMicros(0);
+		// an Integer for the long id still matches the result
+		assertEquals(8, loader.queryForId(Integer.valueOf((int) foo.id)).val);
+		assertEquals(8, loader.queryForId(Long.valueOf(foo.id)).val);
+	}
+
+	@Test
+	public void testConcurrentQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < NUM_THREADS; i++) {
+			Foo foo = new Foo();
+			foo.val = i * 10;
+			dao.create(foo);
+			ids.add(foo.id);
+		}
+		final JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+		loader.setWindowMicros(TimeUnit.MILLISECONDS.toMicros(200));
+		ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS + 2);
+		try {
+			List<Future<Foo>> futures = new ArrayList<Future<Foo>>();
+			for (Integer id : ids) {
+				futures.add(executor.submit(() -> loader.queryForId(id)));
+			}
+			// a missing id and a duplicate id
+			Future<Foo> missingFuture = executor.submit(() -> loader.queryForId(ids.get(0) + 1000));
+			Future<Foo> duplicateFuture = executor.submit(() -> loader.queryForId(ids.get(0)));
+			for (int i = 0; i < futures.size(); i++) {
+				Foo result = futures.get(i).get(10, TimeUnit.SECONDS);
+				assertEquals(ids.get(i), (Integer) result.id);
+				assertEquals(i * 10, result.val);
+			}
+			assertNull(missingFuture.get(10, TimeUnit.SECONDS));
+			Foo duplicate = duplicateFuture.get(10, TimeUnit.SECONDS);
+			assertEquals(ids.get(0), (Integer) duplicate.id);
+		} finally {
+			executor.shutdownNow();
+		}
+		// the calls were gathered into fewer queries
+		assertTrue(loader.getQueryCount() < NUM_THREADS + 2);
+		assertEquals(NUM_THREADS + 2, loader.getLoadCount());
+	}
+
+	@Test
+	public void testFullBatch() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < NUM_THREADS; i++) {
+			Foo foo = new Foo();
+			dao.create(foo);
+			ids.add(foo.id);
+		}
+		JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+		loader.setWindowMicros(TimeUnit.SECONDS.toMicros(30));
+		loader.setBatchSize(NUM_THREADS);
+		ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+		try {
+			List<Future<Foo>> futures = new ArrayList<Future<Foo>>();
+			for (Integer id : ids) {
+				futures.add(executor.submit(() -> loader.queryForId(id)));
+			}
+			// nowhere near the 30 second window because the full batch is queried right away
+			for (int i = 0; i < futures.size(); i++) {
+				assertEquals(ids.get(i), (Integer) futures.get(i).get(10, TimeUnit.SECONDS).id);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loader.getQueryCount());
+	}
+
+	@Test
+	public void testQueryThrows() throws Exception {
+		// no table so the batch query throws
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+		loader.setWindowMicros(TimeUnit.SECONDS.toMicros(30));
+		loader.setBatchSize(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Foo> future1 = executor.submit(() -> loader.queryForId(1));
+			Future<Foo> future2 = executor.submit(() -> loader.queryForId(2));
+			ExecutionException e1 = assertThrowsExactly(ExecutionException.class, () -> future1.get(10, TimeUnit.SECONDS));
+			assertTrue(e1.getCause() instanceof SQLException);
+			ExecutionException e2 = assertThrowsExactly(ExecutionException.class, () -> future2.get(10, TimeUnit.SECONDS));
+			assertSame(e1.getCause(), e2.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testTransactionNotBatched() throws Exception {
+		JdbcPooledConnectionSource pooledConnectionSource = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(pooledConnectionSource, Foo.class);
+			TableUtils.createTable(dao);
+			JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+			Foo result = TransactionManager.callInTransaction(pooledConnectionSource, () -> {
+				Foo foo = new Foo();
+				foo.val = 4;
+				dao.create(foo);
+				return loader.queryForId(foo.id);
+			});
+			assertEquals(4, result.val);
+			assertEquals(0, loader.getQueryCount());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testBadSettings() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		JdbcIdLoader<Foo, Integer> loader = new JdbcIdLoader<Foo, Integer>(dao);
+		assertEquals(JdbcIdLoader.DEFAULT_BATCH_SIZE, loader.getBatchSize());
+		assertEquals(JdbcIdLoader.DEFAULT_WINDOW_MICROS, loader.getWindowMicros());
+		assertThrowsExactly(IllegalArgumentException.class, () -> loader.setBatchSize(0));
+		assertThrowsExactly(IllegalArgumentException.class, () -> loader.setWindowMicros(-1));
+	}
+
+	@Test
+	public void testNoId() throws Exception {
+		Dao<NoIdFoo, Void> dao = createDao(NoIdFoo.class, false);
+		JdbcIdLoader<NoIdFoo, Void> loader = new JdbcIdLoader<NoIdFoo, Void>(dao);
+		assertThrowsExactly(SQLException.class, () -> loader.queryForId(null));
+	}
+
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		int val;
+	}
+
+	protected static class LongFoo {
+		@DatabaseField(generatedId = true)
+		long id;
+		@DatabaseField
+		int val;
+	}
+
+	protected static class NoIdFoo {
+		@DatabaseField
+		int val;
+	}
+}
@@ -12,6 +12,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +26,9 @@ import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource.BorrowedConnection;
 import com.j256.ormlite.jdbc.db.DatabaseTypeUtils;
+import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
@@ -531,6 +540,650 @@ public class JdbcPooledConnectionSourceTest {
 		}
 	}
 
+	@Test
+	public void testConcurrentBorrowRelease() throws Exception {
+		final JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		final int numThreads = 16;
+		final int numLoops = 200;
+		pooled.setMaxConnectionsFree(numThreads);
+		try {
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			Thread[] threads = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				threads[i] = new Thread(() -> {
+					try {
+						for (int loopC = 0; loopC < numLoops; loopC++) {
+							DatabaseConnection conn = pooled.getReadWriteConnection(null);
+							pooled.releaseConnection(conn);
+						}
+					} catch (Throwable th) {
+						failure.set(th);
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertNull(failure.get());
+			assertEquals(numThreads * numLoops, pooled.getReleaseCount());
+			assertTrue(pooled.getOpenCount() <= numThreads);
+			assertTrue(pooled.getMaxConnectionsEverUsed() <= numThreads);
+			assertEquals(pooled.getOpenCount(), pooled.getCurrentConnectionsFree());
+			assertEquals(pooled.getCurrentConnectionsFree(), pooled.getCurrentConnectionsManaged());
+		} finally {
+			pooled.close();
+		}
+		assertEquals(0, pooled.getCurrentConnectionsFree());
+		assertEquals(pooled.getOpenCount(), pooled.getCloseCount());
+	}
+
+	@Test
+	public void testMaxConnectionsTotalTimeout() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setMaxConnectionsTotal(2);
+			pooled.setAcquireTimeoutMillis(100);
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			assertThrowsExactly(ConnectionAcquireTimeoutException.class, () -> {
+				pooled.getReadWriteConnection(null);
+			});
+			assertEquals(1, pooled.getAcquireTimeoutCount());
+			assertEquals(3, pooled.getAcquireCount());
+			assertTrue(pooled.getAcquireWaitMillisMax() >= 100);
+			assertTrue(pooled.getAcquireWaitMillisTotal() >= 100);
+			assertEquals(2, pooled.getOpenCount());
+
+			pooled.releaseConnection(conn1);
+			// a double release should not give us an extra connection
+			pooled.releaseConnection(conn2);
+			pooled.releaseConnection(conn2);
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn4 = pooled.getReadWriteConnection(null);
+			assertThrowsExactly(ConnectionAcquireTimeoutException.class, () -> {
+				pooled.getReadWriteConnection(null);
+			});
+			pooled.releaseConnection(conn3);
+			pooled.releaseConnection(conn4);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testAcquireTimeoutCoversPermitAndCreate() throws Exception {
+		final AtomicLong createDelayMillis = new AtomicLong();
+		final JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL) {
+			@Override
+			protected DatabaseConnection makeConnection(Logger logger) throws SQLException {
+				try {
+					Thread.sleep(createDelayMillis.get());
+				} catch (InterruptedException e) {
+					throw new SQLException(e);
+				}
+				return super.makeConnection(logger);
+			}
+		};
+		try {
+			pooled.setMaxConnectionsTotal(1);
+			// the creator makes the connections for the waiting callers
+			pooled.setMinConnectionsIdle(1);
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			long timeoutMillis = 400;
+			pooled.setAcquireTimeoutMillis(timeoutMillis);
+			createDelayMillis.set(300);
+			final AtomicReference<Exception> exception = new AtomicReference<Exception>();
+			Thread thread = new Thread(() -> {
+				try {
+					pooled.releaseConnection(pooled.getReadWriteConnection(null));
+				} catch (Exception e) {
+					exception.set(e);
+				}
+			});
+			thread.start();
+			while (pooled.getCurrentConnectionWaiters() == 0) {
+				Thread.sleep(10);
+			}
+			Thread.sleep(250);
+			// closed so it is dropped and the waiter has to wait for the creator to make a new one
+			conn1.close();
+			pooled.releaseConnection(conn1);
+			thread.join();
+			// the wait for the permit and the wait for the creator share the one timeout
+			assertTrue(exception.get() instanceof ConnectionAcquireTimeoutException);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMaxConnectionsTotalWaits() throws Exception {
+		final JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setMaxConnectionsTotal(1);
+			pooled.setAcquireTimeoutMillis(10000);
+			final DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			final AtomicReference<DatabaseConnection> waited = new AtomicReference<DatabaseConnection>();
+			Thread thread = new Thread(() -> {
+				try {
+					waited.set(pooled.getReadWriteConnection(null));
+				} catch (SQLException e) {
+					// ignored, checked below
+				}
+			});
+			thread.start();
+			while (pooled.getCurrentConnectionWaiters() == 0) {
+				Thread.sleep(10);
+			}
+			assertNull(waited.get());
+			pooled.releaseConnection(conn1);
+			thread.join();
+			// the waiter should have gotten the released connection
+			assertSame(conn1, waited.get());
+			assertEquals(1, pooled.getOpenCount());
+			assertEquals(0, pooled.getCurrentConnectionWaiters());
+			pooled.releaseConnection(conn1);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMaxConnectionsTotalWithSpecial() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setMaxConnectionsTotal(1);
+			pooled.setAcquireTimeoutMillis(100);
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			pooled.saveSpecialConnection(conn1);
+			// we get the saved connection without needing another one
+			assertSame(conn1, pooled.getReadWriteConnection(null));
+			pooled.releaseConnection(conn1);
+			pooled.clearSpecialConnection(conn1);
+			pooled.releaseConnection(conn1);
+			assertSame(conn1, pooled.getReadWriteConnection(null));
+			pooled.releaseConnection(conn1);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testThreadAffinity() throws Exception {
+		final JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setThreadAffinity(true);
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn2);
+			pooled.releaseConnection(conn1);
+			// without affinity we would get conn2 which was released first
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			assertSame(conn1, conn3);
+			assertEquals(1, pooled.getCurrentConnectionsFree());
+			DatabaseConnection conn4 = pooled.getReadWriteConnection(null);
+			assertSame(conn2, conn4);
+			assertEquals(0, pooled.getCurrentConnectionsFree());
+			pooled.releaseConnection(conn4);
+			pooled.releaseConnection(conn3);
+
+			// another thread steals this thread's connection so we should fall back to the free list
+			final AtomicReference<DatabaseConnection> stolen = new AtomicReference<DatabaseConnection>();
+			Thread thread = new Thread(() -> {
+				try {
+					// the other thread has no affinity to either connection so it takes them off of the list
+					stolen.set(pooled.getReadWriteConnection(null));
+					pooled.getReadWriteConnection(null);
+				} catch (SQLException e) {
+					// ignored, checked below
+				}
+			});
+			thread.start();
+			thread.join();
+			assertSame(conn1, stolen.get());
+			assertEquals(0, pooled.getCurrentConnectionsFree());
+			DatabaseConnection conn5 = pooled.getReadWriteConnection(null);
+			assertNotSame(conn1, conn5);
+			assertNotSame(conn2, conn5);
+			assertEquals(3, pooled.getOpenCount());
+			pooled.releaseConnection(conn5);
+			pooled.releaseConnection(conn1);
+			pooled.releaseConnection(conn2);
+			assertEquals(3, pooled.getCurrentConnectionsFree());
+		} finally {
+			pooled.close();
+		}
+		assertEquals(0, pooled.getCurrentConnectionsFree());
+		assertEquals(3, pooled.getCloseCount());
+	}
+
+	@Test
+	public void testThreadAffinityConcurrent() throws Exception {
+		final JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		final int numThreads = 8;
+		final int numLoops = 500;
+		pooled.setThreadAffinity(true);
+		pooled.setMaxConnectionsTotal(numThreads / 2);
+		try {
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			Thread[] threads = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				threads[i] = new Thread(() -> {
+					try {
+						for (int loopC = 0; loopC < numLoops; loopC++) {
+							DatabaseConnection conn = pooled.getReadWriteConnection(null);
+							pooled.releaseConnection(conn);
+						}
+					} catch (Throwable th) {
+						failure.set(th);
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertNull(failure.get());
+			assertTrue(pooled.getOpenCount() <= numThreads / 2);
+			assertEquals(pooled.getOpenCount(), pooled.getCurrentConnectionsFree());
+		} finally {
+			pooled.close();
+		}
+		assertEquals(pooled.getOpenCount(), pooled.getCloseCount());
+	}
+
+	@Test
+	public void testReuseMostRecentlyUsed() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setReuseMostRecentlyUsed(true);
+			pooled.setMaxConnectionsFree(2);
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn1);
+			pooled.releaseConnection(conn2);
+			pooled.releaseConnection(conn3);
+			// conn1 is the least recently used so it should have been closed
+			assertEquals(1, pooled.getCloseCount());
+			assertSame(conn3, pooled.getReadWriteConnection(null));
+			pooled.releaseConnection(conn3);
+			// conn3 again and not conn2
+			assertSame(conn3, pooled.getReadWriteConnection(null));
+			assertSame(conn2, pooled.getReadWriteConnection(null));
+			pooled.releaseConnection(conn2);
+			pooled.releaseConnection(conn3);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMaxConnectionIdle() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		long delay = 100;
+		pooled.setCheckConnectionsEveryMillis(delay);
+		pooled.setMaxConnectionIdleMillis(delay * 2);
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn1);
+			assertEquals(1, pooled.getCurrentConnectionsFree());
+			// conn1 sits in the free list while conn2 is in use
+			Thread.sleep(delay * 5);
+			assertEquals(0, pooled.getCurrentConnectionsFree());
+			assertEquals(1, pooled.getCloseCount());
+			assertEquals(1, pooled.getCurrentConnectionsManaged());
+			assertTrue(conn1.isClosed());
+			assertFalse(conn2.isClosed());
+			pooled.releaseConnection(conn2);
+			assertEquals(1, pooled.getCurrentConnectionsFree());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMinConnectionsIdle() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource();
+		pooled.setUrl(DEFAULT_DATABASE_URL);
+		pooled.setCheckConnectionsEveryMillis(0);
+		pooled.setMinConnectionsIdle(3);
+		pooled.initialize();
+		try {
+			// filled by initialize
+			assertEquals(3, pooled.getCurrentConnectionsFree());
+			assertEquals(3, pooled.getOpenCount());
+			DatabaseConnection conn = pooled.getReadWriteConnection(null);
+			// the creator tops the free list back up
+			waitForFreeConnections(pooled, 3);
+			assertEquals(4, pooled.getOpenCount());
+			pooled.releaseConnection(conn);
+			assertEquals(4, pooled.getCurrentConnectionsFree());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMinConnectionsIdleAfterInitialize() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			pooled.setMinConnectionsIdle(2);
+			assertEquals(2, pooled.getMinConnectionsIdle());
+			waitForFreeConnections(pooled, 2);
+			assertEquals(2, pooled.getOpenCount());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMinConnectionsIdleHandOff() throws Exception {
+		final Thread testThread = Thread.currentThread();
+		final AtomicReference<Thread> callerMade = new AtomicReference<Thread>();
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource() {
+			@Override
+			protected DatabaseConnection makeConnection(Logger logger) throws SQLException {
+				if (Thread.currentThread() == testThread) {
+					callerMade.set(testThread);
+				}
+				return super.makeConnection(logger);
+			}
+		};
+		pooled.setUrl(DEFAULT_DATABASE_URL);
+		pooled.setCheckConnectionsEveryMillis(0);
+		pooled.setMinConnectionsIdle(1);
+		pooled.setMaxConnectionsFree(1);
+		// initialize does the first fill on our thread
+		pooled.initialize();
+		assertNotNull(callerMade.getAndSet(null));
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			assertNotSame(conn1, conn2);
+			assertNotSame(conn2, conn3);
+			assertNull(callerMade.get());
+			pooled.releaseConnection(conn1);
+			pooled.releaseConnection(conn2);
+			pooled.releaseConnection(conn3);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMinConnectionsIdleNotEvicted() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource();
+		pooled.setUrl(DEFAULT_DATABASE_URL);
+		long delay = 100;
+		pooled.setCheckConnectionsEveryMillis(delay);
+		pooled.setMaxConnectionIdleMillis(delay);
+		pooled.setMinConnectionsIdle(1);
+		pooled.initialize();
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn1);
+			pooled.releaseConnection(conn2);
+			// the first test rounds can be slow so we wait for the idle connections to be closed
+			long endMillis = System.currentTimeMillis() + delay * 100;
+			while (pooled.getCloseCount() == 0 || pooled.getCurrentConnectionsFree() > 1) {
+				assertTrue(System.currentTimeMillis() < endMillis);
+				Thread.sleep(10);
+			}
+			// a few more rounds while the tester claims the last one to test it
+			for (int i = 0; i < 6; i++) {
+				Thread.sleep(delay / 2);
+				// all but one of the idle connections are closed and the creator doesn't open more
+				assertEquals(1, pooled.getCurrentConnectionsFree());
+				assertEquals(pooled.getOpenCount() - 1, pooled.getCloseCount());
+			}
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testTestWithIsValid() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		pooled.setTestWithIsValid(true);
+		pooled.setIsValidTimeoutSeconds(1);
+		pooled.setTestBeforeGet(true);
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn1);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			assertSame(conn1, conn2);
+			pooled.releaseConnection(conn2);
+			// close the underlying connection behind the scenes so isValid fails
+			conn2.getUnderlyingConnection().close();
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			assertNotSame(conn1, conn3);
+			assertEquals(1, pooled.getCloseCount());
+			pooled.releaseConnection(conn3);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testSkipTestIfUsedWithin() throws Exception {
+		final AtomicInteger testCount = new AtomicInteger();
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL) {
+			@Override
+			protected boolean testConnection(ConnectionMetaData connMetaData) {
+				testCount.incrementAndGet();
+				return super.testConnection(connMetaData);
+			}
+		};
+		pooled.setTestBeforeGet(true);
+		pooled.setSkipTestIfUsedWithinMillis(60 * 1000);
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn1);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			assertSame(conn1, conn2);
+			// just used so not tested
+			assertEquals(0, testCount.get());
+			pooled.releaseConnection(conn2);
+			pooled.setSkipTestIfUsedWithinMillis(0);
+			DatabaseConnection conn3 = pooled.getReadWriteConnection(null);
+			assertSame(conn1, conn3);
+			assertEquals(1, testCount.get());
+			pooled.releaseConnection(conn3);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testTesterThreads() throws Exception {
+		final Set<String> testThreadNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		final AtomicInteger testCount = new AtomicInteger();
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL) {
+			@Override
+			protected boolean testConnection(ConnectionMetaData connMetaData) {
+				testThreadNames.add(Thread.currentThread().getName());
+				testCount.incrementAndGet();
+				return super.testConnection(connMetaData);
+			}
+		};
+		long delay = 100;
+		pooled.setCheckConnectionsEveryMillis(delay);
+		pooled.setTesterThreads(3);
+		pooled.setTestWithIsValid(true);
+		try {
+			int numConnections = 5;
+			DatabaseConnection[] conns = new DatabaseConnection[numConnections];
+			for (int i = 0; i < numConnections; i++) {
+				conns[i] = pooled.getReadWriteConnection(null);
+			}
+			for (DatabaseConnection conn : conns) {
+				pooled.releaseConnection(conn);
+			}
+			Thread.sleep(delay * 3 + delay / 2);
+			assertTrue(testCount.get() >= numConnections, "test count is " + testCount.get());
+			for (String name : testThreadNames) {
+				// tested on the executor threads and not the tester itself
+				assertTrue(name.contains(" #"), name);
+			}
+			assertEquals(numConnections, pooled.getCurrentConnectionsFree());
+			assertEquals(0, pooled.getCloseCount());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testLeakDetection() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		long delay = 100;
+		pooled.setCheckConnectionsEveryMillis(delay);
+		pooled.setLeakDetectionThresholdMillis(delay);
+		// capture every borrow instead of sampling them
+		pooled.setLeakStackTraceSampleRate(1);
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn2);
+			Thread.sleep(delay * 4);
+			// reported once even though the tester ran a number of times
+			assertEquals(1, pooled.getLeakCount());
+			List<BorrowedConnection> borrowed = pooled.getBorrowedConnections();
+			assertEquals(1, borrowed.size());
+			BorrowedConnection info = borrowed.get(0);
+			assertSame(conn1, info.getConnection());
+			assertEquals(Thread.currentThread().getName(), info.getThreadName());
+			assertTrue(info.getHeldMillis() >= delay);
+			assertNotNull(info.getStackTrace());
+			boolean found = false;
+			for (StackTraceElement element : info.getStackTrace().getStackTrace()) {
+				if (element.getMethodName().equals("testLeakDetection")) {
+					found = true;
+				}
+			}
+			assertTrue(found);
+			pooled.releaseConnection(conn1);
+			assertEquals(0, pooled.getBorrowedConnections().size());
+			assertEquals(1, pooled.getLeakCount());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testLeakDetectionNoStackTrace() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		pooled.setLeakDetectionThresholdMillis(1000);
+		pooled.setLeakStackTraceSampleRate(0);
+		try {
+			DatabaseConnection conn = pooled.getReadWriteConnection(null);
+			List<BorrowedConnection> borrowed = pooled.getBorrowedConnections();
+			assertEquals(1, borrowed.size());
+			assertEquals(Thread.currentThread().getName(), borrowed.get(0).getThreadName());
+			assertNull(borrowed.get(0).getStackTrace());
+			pooled.releaseConnection(conn);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testBorrowedConnectionsNoLeakDetection() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			DatabaseConnection conn = pooled.getReadWriteConnection(null);
+			List<BorrowedConnection> borrowed = pooled.getBorrowedConnections();
+			assertEquals(1, borrowed.size());
+			assertSame(conn, borrowed.get(0).getConnection());
+			assertNull(borrowed.get(0).getThreadName());
+			pooled.releaseConnection(conn);
+			assertEquals(0, pooled.getBorrowedConnections().size());
+			assertEquals(0, pooled.getLeakCount());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testListener() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		CountingListener listener = new CountingListener();
+		pooled.setListener(listener);
+		pooled.setTestBeforeGet(true);
+		pooled.setMaxConnectionsTotal(1);
+		pooled.setAcquireTimeoutMillis(10);
+		try {
+			DatabaseConnection conn1 = pooled.getReadWriteConnection(null);
+			assertThrows(ConnectionAcquireTimeoutException.class, () -> {
+				pooled.getReadWriteConnection(null);
+			});
+			pooled.releaseConnection(conn1);
+			DatabaseConnection conn2 = pooled.getReadWriteConnection(null);
+			assertSame(conn1, conn2);
+			conn2.close();
+			pooled.releaseConnection(conn2);
+			assertEquals(1, listener.created.get());
+			assertEquals(2, listener.acquired.get());
+			assertEquals(2, listener.released.get());
+			assertEquals(1, listener.tested.get());
+			assertEquals(1, listener.timedOut.get());
+			assertEquals(0, listener.closed.get());
+			pooled.setListener(null);
+		} finally {
+			pooled.close();
+		}
+	}
+
+	private void waitForFreeConnections(JdbcPooledConnectionSource pooled, int numFree) throws InterruptedException {
+		for (int i = 0; i < 200 && pooled.getCurrentConnectionsFree() < numFree; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(numFree, pooled.getCurrentConnectionsFree());
+	}
+
+	private static class CountingListener implements PooledConnectionListener {
+		final AtomicInteger created = new AtomicInteger();
+		final AtomicInteger acquired = new AtomicInteger();
+		final AtomicInteger released = new AtomicInteger();
+		final AtomicInteger tested = new AtomicInteger();
+		final AtomicInteger closed = new AtomicInteger();
+		final AtomicInteger timedOut = new AtomicInteger();
+
+		@Override
+		public void connectionCreated(long createNanos) {
+			created.incrementAndGet();
+		}
+
+		@Override
+		public void connectionAcquired(long acquireNanos) {
+			acquired.incrementAndGet();
+		}
+
+		@Override
+		public void connectionReleased(long holdNanos) {
+			released.incrementAndGet();
+		}
+
+		@Override
+		public void connectionTested(long testNanos, boolean valid) {
+			tested.incrementAndGet();
+		}
+
+		@Override
+		public void connectionClosed() {
+			closed.incrementAndGet();
+		}
+
+		@Override
+		public void acquireTimedOut() {
+			timedOut.incrementAndGet();
+		}
+	}
+
 	protected static class Foo {
 		@DatabaseField(generatedId = true)
 		int id;
@@ -0,0 +1,220 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+
+public class JdbcSingleFlightQueriesTest extends BaseJdbcTest {
+
+	private static final int NUM_THREADS = 10;
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 12;
+		dao.create(foo);
+		JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+		assertEquals(12, singleFlight.queryForId(foo.id).val);
+		assertNull(singleFlight.queryForId(foo.id + 1));
+		assertEquals(2, singleFlight.getQueryCount());
+		assertEquals(0, singleFlight.getSharedCount());
+	}
+
+	@Test
+	public void testConcurrentQueryForId() throws Exception {
+		final CountDownLatch queryLatch = new CountDownLatch(1);
+		BlockingDao dao = new BlockingDao(connectionSource, queryLatch);
+		TableUtils.createTable(dao);
+		try {
+			Foo foo = new Foo();
+			foo.val = 5;
+			dao.create(foo);
+			final JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+			final Integer id = foo.id;
+			ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+			try {
+				List<Future<Foo>> futures = new ArrayList<Future<Foo>>();
+				for (int i = 0; i < NUM_THREADS; i++) {
+					futures.add(executor.submit(() -> singleFlight.queryForId(id)));
+				}
+				// the first query is blocked until all of the others are waiting for it
+				while (singleFlight.getSharedCount() < NUM_THREADS - 1) {
+					Thread.sleep(10);
+				}
+				queryLatch.countDown();
+				Foo result = futures.get(0).get(10, TimeUnit.SECONDS);
+				assertEquals(5, result.val);
+				for (Future<Foo> future : futures) {
+					assertSame(result, future.get(10, TimeUnit.SECONDS));
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			assertEquals(1, singleFlight.getQueryCount());
+			assertEquals(1, dao.queryForIdCount);
+			// the flight is over so the next query goes to the database
+			assertEquals(5, singleFlight.queryForId(id).val);
+			assertEquals(2, dao.queryForIdCount);
+		} finally {
+			TableUtils.dropTable(dao, true);
+		}
+	}
+
+	@Test
+	public void testConcurrentQueryForIdException() throws Exception {
+		final CountDownLatch queryLatch = new CountDownLatch(1);
+		BlockingDao dao = new BlockingDao(connectionSource, queryLatch);
+		// no table so the query throws
+		final JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Foo> future1 = executor.submit(() -> singleFlight.queryForId(1));
+			Future<Foo> future2 = executor.submit(() -> singleFlight.queryForId(1));
+			while (singleFlight.getSharedCount() < 1) {
+				Thread.sleep(10);
+			}
+			queryLatch.countDown();
+			// both of the callers get the exception of the one query
+			ExecutionException e1 = assertThrowsExactly(ExecutionException.class, () -> future1.get(10, TimeUnit.SECONDS));
+			assertTrue(e1.getCause() instanceof SQLException);
+			ExecutionException e2 = assertThrowsExactly(ExecutionException.class, () -> future2.get(10, TimeUnit.SECONDS));
+			assertSame(e1.getCause(), e2.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, dao.queryForIdCount);
+	}
+
+	@Test
+	public void testQueryForFirst() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			dao.create(foo);
+		}
+		JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().where().eq(Foo.VAL_FIELD_NAME, new SelectArg()).prepare();
+		assertEquals(1, singleFlight.queryForFirst(preparedQuery, 1).val);
+		assertEquals(2, singleFlight.queryForFirst(preparedQuery, 2).val);
+		assertNull(singleFlight.queryForFirst(preparedQuery, 3));
+		assertThrowsExactly(SQLException.class, () -> singleFlight.queryForFirst(preparedQuery, 1, 2));
+		// the values of the select args are not part of the key so they have to be passed in
+		assertThrowsExactly(SQLException.class, () -> singleFlight.queryForFirst(preparedQuery));
+
+		PreparedQuery<Foo> noArgsQuery = dao.queryBuilder().orderBy(Foo.VAL_FIELD_NAME, false).prepare();
+		assertEquals(2, singleFlight.queryForFirst(noArgsQuery).val);
+	}
+
+	@Test
+	public void testQueryForFirstSelectArgsNotChanged() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			dao.create(foo);
+		}
+		JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+		SelectArg selectArg = new SelectArg(2);
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().where().eq(Foo.VAL_FIELD_NAME, selectArg).prepare();
+		assertEquals(1, singleFlight.queryForFirst(preparedQuery, 1).val);
+		// the DAO still sees the value that it set on the select arg
+		assertEquals(2, selectArg.getSqlArgValue());
+		assertEquals(2, dao.queryForFirst(preparedQuery).val);
+		// a long argument for an int column
+		assertEquals(0, singleFlight.queryForFirst(preparedQuery, 0L).val);
+	}
+
+	@Test
+	public void testTransactionNotShared() throws Exception {
+		JdbcPooledConnectionSource pooledConnectionSource = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(pooledConnectionSource, Foo.class);
+			TableUtils.createTable(dao);
+			JdbcSingleFlightQueries<Foo, Integer> singleFlight = new JdbcSingleFlightQueries<Foo, Integer>(dao);
+			Foo result = TransactionManager.callInTransaction(pooledConnectionSource, () -> {
+				Foo foo = new Foo();
+				foo.val = 3;
+				dao.create(foo);
+				return singleFlight.queryForId(foo.id);
+			});
+			assertEquals(3, result.val);
+			// the query in the transaction didn't go through the flights
+			assertEquals(0, singleFlight.getQueryCount());
+			assertEquals(3, singleFlight.queryForId(result.id).val);
+			assertEquals(1, singleFlight.getQueryCount());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testNoId() throws Exception {
+		Dao<NoIdFoo, Void> dao = createDao(NoIdFoo.class, false);
+		JdbcSingleFlightQueries<NoIdFoo, Void> singleFlight = new JdbcSingleFlightQueries<NoIdFoo, Void>(dao);
+		assertThrowsExactly(SQLException.class, () -> singleFlight.queryForId(null));
+	}
+
+	/**
+	 * DAO whose queryForId waits for the latch.
+	 */
+	private static class BlockingDao extends BaseDaoImpl<Foo, Integer> {
+		private final CountDownLatch latch;
+		volatile int queryForIdCount;
+
+		public BlockingDao(ConnectionSource connectionSource, CountDownLatch latch) throws SQLException {
+			super(connectionSource, Foo.class);
+			this.latch = latch;
+		}
+
+		@Override
+		public Foo queryForId(Integer id) throws SQLException {
+			queryForIdCount++;
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				throw new SQLException(e);
+			}
+			return super.queryForId(id);
+		}
+	}
+
+	protected static class Foo {
+		public static final String VAL_FIELD_NAME = "val";
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = VAL_FIELD_NAME)
+		int val;
+	}
+
+	protected static class NoIdFoo {
+		@DatabaseField
+		int val;
+	}
+}
@@ -0,0 +1,123 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.table.TableUtils;
+
+public class JdbcStreamingQueriesTest extends BaseJdbcTest {
+
+	@Test
+	public void testIterator() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 20; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+		}
+		CloseableIterator<Foo> iterator =
+				JdbcStreamingQueries.iterator(dao, dao.queryBuilder().orderBy("val", true).prepare(), 3);
+		try {
+			for (int i = 0; i < 20; i++) {
+				assertTrue(iterator.hasNext());
+				assertEquals(i, iterator.next().val);
+			}
+			assertFalse(iterator.hasNext());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testAutoCommitNotChanged() throws Exception {
+		JdbcConnectionSource noAutoCommitConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, new NoAutoCommitH2DatabaseType());
+		try {
+			Dao<Foo, Integer> dao = DaoManager.createDao(noAutoCommitConnectionSource, Foo.class);
+			TableUtils.createTableIfNotExists(noAutoCommitConnectionSource, Foo.class);
+			Foo foo = new Foo();
+			foo.val = 1;
+			assertEquals(1, dao.create(foo));
+			JdbcDatabaseConnection connection =
+					(JdbcDatabaseConnection) noAutoCommitConnectionSource.getReadOnlyConnection(dao.getTableName());
+			CloseableIterator<Foo> iterator = JdbcStreamingQueries.iterator(dao, dao.queryBuilder().prepare(), 0);
+			try {
+				assertTrue(connection.isAutoCommit());
+				assertTrue(iterator.hasNext());
+				assertEquals(foo.val, iterator.next().val);
+			} finally {
+				iterator.close();
+			}
+			assertTrue(connection.isAutoCommit());
+
+			// in a transaction closing the iterator doesn't commit the other work of the transaction
+			assertThrowsExactly(SQLException.class,
+					() -> TransactionManager.callInTransaction(noAutoCommitConnectionSource, () -> {
+						Foo other = new Foo();
+						other.val = 2;
+						assertEquals(1, dao.create(other));
+						CloseableIterator<Foo> transactionIterator =
+								JdbcStreamingQueries.iterator(dao, dao.queryBuilder().prepare(), 0);
+						transactionIterator.close();
+						throw new SQLException("roll back");
+					}));
+			assertEquals(1, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			noAutoCommitConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testConnectionSourceStreaming() throws Exception {
+		JdbcConnectionSource streamingConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, new NoAutoCommitH2DatabaseType());
+		try {
+			streamingConnectionSource.setStreamingResults(true);
+			streamingConnectionSource.setFetchSize(50);
+			JdbcDatabaseConnection connection =
+					(JdbcDatabaseConnection) streamingConnectionSource.getReadWriteConnection(null);
+			assertEquals(50, connection.getFetchSize());
+			Dao<Foo, Integer> dao = DaoManager.createDao(streamingConnectionSource, Foo.class);
+			TableUtils.createTableIfNotExists(streamingConnectionSource, Foo.class);
+			Foo foo = new Foo();
+			foo.val = 12;
+			assertEquals(1, dao.create(foo));
+			assertEquals(1, dao.queryForAll().size());
+			// auto-commit was never turned off
+			assertTrue(connection.isAutoCommit());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			streamingConnectionSource.close();
+		}
+	}
+
+	private static class NoAutoCommitH2DatabaseType extends H2DatabaseType {
+		@Override
+		public boolean isStreamingRequiresNoAutoCommit() {
+			return true;
+		}
+	}
+
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		int val;
+
+		public Foo() {
+		}
+	}
+}
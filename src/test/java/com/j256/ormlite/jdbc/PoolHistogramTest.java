@@ -0,0 +1,56 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PoolHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		PoolHistogram histogram = new PoolHistogram();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMeanNanos());
+		assertEquals(0, histogram.getMaxNanos());
+		assertEquals(0, histogram.getPercentileNanos(99));
+	}
+
+	@Test
+	public void testStuff() {
+		PoolHistogram histogram = new PoolHistogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i * 1000);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050 * 1000, histogram.getTotalNanos());
+		assertEquals(50500, histogram.getMeanNanos());
+		assertEquals(100000, histogram.getMaxNanos());
+		// the percentiles are accurate to within a factor of 2
+		long p50 = histogram.getPercentileNanos(50);
+		assertTrue(p50 >= 50000 && p50 < 100000, "p50 is " + p50);
+		long p99 = histogram.getPercentileNanos(99);
+		assertTrue(p99 >= 99000 && p99 <= 100000, "p99 is " + p99);
+		// capped at the max
+		assertEquals(100000, histogram.getPercentileNanos(100));
+		assertEquals(0.1, histogram.getMaxMillis(), 0.0001);
+	}
+
+	@Test
+	public void testZeroAndNegative() {
+		PoolHistogram histogram = new PoolHistogram();
+		histogram.record(0);
+		histogram.record(-10);
+		assertEquals(2, histogram.getCount());
+		assertEquals(0, histogram.getMaxNanos());
+		assertEquals(0, histogram.getPercentileNanos(50));
+	}
+
+	@Test
+	public void testLarge() {
+		PoolHistogram histogram = new PoolHistogram();
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+		assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(50));
+	}
+}
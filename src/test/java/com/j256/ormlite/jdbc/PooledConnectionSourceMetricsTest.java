@@ -0,0 +1,62 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class PooledConnectionSourceMetricsTest {
+
+	private static final String DEFAULT_DATABASE_URL = "jdbc:h2:mem:ormlite";
+
+	@Test
+	public void testStuff() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		try {
+			DatabaseConnection conn = pooled.getReadWriteConnection(null);
+			Thread.sleep(10);
+			pooled.releaseConnection(conn);
+			conn = pooled.getReadWriteConnection(null);
+			pooled.releaseConnection(conn);
+
+			PooledConnectionSourceMetrics metrics = pooled.getMetrics();
+			assertEquals(1, metrics.getOpenCount());
+			assertEquals(2, metrics.getReleaseCount());
+			assertEquals(2, metrics.getBorrowCount());
+			assertEquals(1, metrics.getCurrentConnectionsFree());
+			assertEquals(1, metrics.getCreateHistogram().getCount());
+			assertEquals(2, metrics.getHoldHistogram().getCount());
+			assertTrue(metrics.getHoldMillisMax() >= 10);
+			assertEquals(0, metrics.getTestHistogram().getCount());
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		JdbcPooledConnectionSource pooled = new JdbcPooledConnectionSource(DEFAULT_DATABASE_URL);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("com.j256.ormlite:type=PooledConnectionSource,name=test");
+		server.registerMBean(pooled.getMetrics(), name);
+		try {
+			DatabaseConnection conn = pooled.getReadWriteConnection(null);
+			assertEquals(1L, server.getAttribute(name, "OpenCount"));
+			assertEquals(0, server.getAttribute(name, "CurrentConnectionsFree"));
+			pooled.releaseConnection(conn);
+			assertEquals(1, server.getAttribute(name, "CurrentConnectionsFree"));
+			assertEquals(1L, server.getAttribute(name, "BorrowCount"));
+			assertTrue((Double) server.getAttribute(name, "AcquireMillisMax") > 0);
+		} finally {
+			server.unregisterMBean(name);
+			pooled.close();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.j256.ormlite.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.PreparedStatement;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.jdbc.PreparedStatementCache.Key;
+
+public class PreparedStatementCacheTest {
+
+	@Test
+	public void testTakeRelease() throws Exception {
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		Key key = new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt = createMock(PreparedStatement.class);
+		replay(stmt);
+		assertNull(cache.take(key));
+		cache.release(key, stmt);
+		assertEquals(1, cache.size());
+		assertSame(stmt, cache.take(new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null)));
+		// taken out while in use
+		assertNull(cache.take(key));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		verify(stmt);
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+		Key key1 = new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null);
+		Key key2 = new Key("select 2", Key.DEFAULT_RESULT_SET_TYPE, null);
+		Key key3 = new Key("select 3", Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt1 = createMock(PreparedStatement.class);
+		PreparedStatement stmt2 = createMock(PreparedStatement.class);
+		PreparedStatement stmt3 = createMock(PreparedStatement.class);
+		stmt2.close();
+		replay(stmt1, stmt2, stmt3);
+		cache.release(key1, stmt1);
+		cache.release(key2, stmt2);
+		// use 1 so 2 is the least recently used
+		cache.release(key1, cache.take(key1));
+		cache.release(key3, stmt3);
+		assertEquals(2, cache.size());
+		assertNull(cache.take(key2));
+		verify(stmt1, stmt2, stmt3);
+	}
+
+	@Test
+	public void testDuplicateClosed() throws Exception {
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		Key key = new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt1 = createMock(PreparedStatement.class);
+		PreparedStatement stmt2 = createMock(PreparedStatement.class);
+		stmt2.close();
+		replay(stmt1, stmt2);
+		cache.release(key, stmt1);
+		cache.release(key, stmt2);
+		assertSame(stmt1, cache.take(key));
+		verify(stmt1, stmt2);
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		Key key1 = new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null);
+		Key key2 = new Key("select 2", Key.DEFAULT_RESULT_SET_TYPE, null);
+		PreparedStatement stmt1 = createMock(PreparedStatement.class);
+		PreparedStatement stmt2 = createMock(PreparedStatement.class);
+		PreparedStatement stmt3 = createMock(PreparedStatement.class);
+		stmt1.close();
+		stmt2.close();
+		stmt3.close();
+		replay(stmt1, stmt2, stmt3);
+		cache.release(key1, stmt1);
+		cache.clear(false);
+		assertEquals(0, cache.size());
+		cache.release(key1, stmt2);
+		cache.clear(true);
+		// closed instead of cached after the clear
+		cache.release(key2, stmt3);
+		assertEquals(0, cache.size());
+		verify(stmt1, stmt2, stmt3);
+	}
+
+	@Test
+	public void testKey() {
+		Key key = new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null);
+		assertEquals(key, new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null));
+		assertEquals(key.hashCode(), new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, null).hashCode());
+		assertNotEquals(key, new Key("select 2", Key.DEFAULT_RESULT_SET_TYPE, null));
+		assertNotEquals(key, new Key("select 1", 1003, null));
+		assertNotEquals(key, new Key("select 1", Key.DEFAULT_RESULT_SET_TYPE, new String[] { "id" }));
+		assertEquals(new Key("insert", Key.DEFAULT_RESULT_SET_TYPE, new String[] { "id" }),
+				new Key("insert", Key.DEFAULT_RESULT_SET_TYPE, new String[] { "id" }));
+	}
+}
@@ -0,0 +1,193 @@
+package com.j256.ormlite.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableUtils;
+
+public class ReplicaRoutingConnectionSourceTest {
+
+	private static final String PRIMARY_URL = "jdbc:h2:mem:primary";
+	private static final String REPLICA_URL = "jdbc:h2:mem:replica";
+
+	@Test
+	public void testRouting() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		JdbcPooledConnectionSource replica = new JdbcPooledConnectionSource(REPLICA_URL);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, replica);
+		try {
+			DatabaseConnection readWrite = routing.getReadWriteConnection(null);
+			assertTrue(readWrite.getUnderlyingConnection().getMetaData().getURL().startsWith(PRIMARY_URL));
+			assertFalse(readWrite.getUnderlyingConnection().isReadOnly());
+			DatabaseConnection readOnly = routing.getReadOnlyConnection(null);
+			assertTrue(readOnly.getUnderlyingConnection().getMetaData().getURL().startsWith(REPLICA_URL));
+
+			routing.releaseConnection(readOnly);
+			assertEquals(1, replica.getCurrentConnectionsFree());
+			assertEquals(0, primary.getCurrentConnectionsFree());
+			routing.releaseConnection(readWrite);
+			assertEquals(1, primary.getCurrentConnectionsFree());
+		} finally {
+			routing.close();
+		}
+		assertFalse(primary.isOpen(null));
+		assertFalse(replica.isOpen(null));
+	}
+
+	@Test
+	public void testSpecialConnectionStaysOnPrimary() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		JdbcPooledConnectionSource replica = new JdbcPooledConnectionSource(REPLICA_URL);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, replica);
+		try {
+			DatabaseConnection conn = routing.getReadWriteConnection(null);
+			routing.saveSpecialConnection(conn);
+			assertSame(conn, routing.getSpecialConnection(null));
+			assertSame(conn, routing.getReadOnlyConnection(null));
+			routing.clearSpecialConnection(conn);
+			routing.releaseConnection(conn);
+			assertEquals(0, replica.getOpenCount());
+		} finally {
+			routing.close();
+		}
+	}
+
+	@Test
+	public void testDao() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		JdbcPooledConnectionSource replica = new JdbcPooledConnectionSource(REPLICA_URL);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, replica);
+		try {
+			// pretend replication by creating the table on both
+			TableUtils.createTableIfNotExists(primary, Foo.class);
+			TableUtils.createTableIfNotExists(replica, Foo.class);
+			final Dao<Foo, Integer> dao = DaoManager.createDao(routing, Foo.class);
+			final Foo foo = new Foo();
+			dao.create(foo);
+			// the read goes to the replica which hasn't seen the create
+			assertEquals(0, dao.queryForAll().size());
+			// inside of a transaction the read stays on the primary
+			int numFound = TransactionManager.callInTransaction(routing, new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					return dao.queryForAll().size();
+				}
+			});
+			assertEquals(1, numFound);
+			TableUtils.dropTable(primary, Foo.class, true);
+			TableUtils.dropTable(replica, Foo.class, true);
+		} finally {
+			routing.close();
+		}
+	}
+
+	@Test
+	public void testNoReplicas() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary);
+		try {
+			DatabaseConnection conn = routing.getReadOnlyConnection(null);
+			assertTrue(conn.getUnderlyingConnection().getMetaData().getURL().startsWith(PRIMARY_URL));
+			routing.releaseConnection(conn);
+			assertEquals(1, primary.getCurrentConnectionsFree());
+		} finally {
+			routing.close();
+		}
+	}
+
+	@Test
+	public void testSetsReadOnly() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		Connection connection = createMock(Connection.class);
+		expect(connection.isReadOnly()).andReturn(false);
+		connection.setReadOnly(true);
+		DatabaseConnection replicaConn = new JdbcDatabaseConnection(connection);
+		ConnectionSource replica = createMock(ConnectionSource.class);
+		expect(replica.getReadOnlyConnection(null)).andReturn(replicaConn);
+		replica.releaseConnection(replicaConn);
+		replay(connection, replica);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, replica);
+		DatabaseConnection conn = routing.getReadOnlyConnection(null);
+		assertSame(replicaConn, conn);
+		routing.releaseConnection(conn);
+		verify(connection, replica);
+		primary.close();
+	}
+
+	@Test
+	public void testReplicaFailsOver() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		ConnectionSource badReplica = createMock(ConnectionSource.class);
+		expect(badReplica.getReadOnlyConnection(null)).andThrow(new SQLException("down")).anyTimes();
+		replay(badReplica);
+		JdbcPooledConnectionSource replica = new JdbcPooledConnectionSource(REPLICA_URL);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, badReplica, replica);
+		try {
+			for (int i = 0; i < 4; i++) {
+				DatabaseConnection conn = routing.getReadOnlyConnection(null);
+				assertTrue(conn.getUnderlyingConnection().getMetaData().getURL().startsWith(REPLICA_URL));
+				routing.releaseConnection(conn);
+			}
+			assertEquals(1, replica.getCurrentConnectionsFree());
+			assertEquals(0, primary.getOpenCount());
+		} finally {
+			primary.close();
+			replica.close();
+		}
+	}
+
+	@Test
+	public void testAllReplicasFail() throws Exception {
+		JdbcPooledConnectionSource primary = new JdbcPooledConnectionSource(PRIMARY_URL);
+		ConnectionSource badReplica = createMock(ConnectionSource.class);
+		expect(badReplica.getReadOnlyConnection(null)).andThrow(new SQLException("down"));
+		replay(badReplica);
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource(primary, badReplica);
+		DatabaseConnection conn = routing.getReadOnlyConnection(null);
+		assertTrue(conn.getUnderlyingConnection().getMetaData().getURL().startsWith(PRIMARY_URL));
+		routing.releaseConnection(conn);
+		assertEquals(1, primary.getCurrentConnectionsFree());
+		verify(badReplica);
+		primary.close();
+	}
+
+	@Test
+	public void testNotInitialized() {
+		ReplicaRoutingConnectionSource routing = new ReplicaRoutingConnectionSource();
+		assertThrows(IllegalStateException.class, () -> {
+			routing.getReadOnlyConnection(null);
+		});
+		assertThrows(IllegalStateException.class, () -> {
+			routing.initialize();
+		});
+	}
+
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String stuff;
+
+		public Foo() {
+		}
+	}
+}
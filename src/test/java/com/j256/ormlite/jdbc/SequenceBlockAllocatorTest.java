@@ -0,0 +1,249 @@
+package com.j256.ormlite.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableUtils;
+
+public class SequenceBlockAllocatorTest extends BaseJdbcTest {
+
+	private static final String SEQUENCE_NAME = "block_foo_seq";
+	private static final int BLOCK_SIZE = 10;
+
+	@Test
+	public void testNextId() throws Exception {
+		String statement = "select next value for seq";
+		DatabaseConnection connection = createMock(DatabaseConnection.class);
+		expect(connection.queryForLong(statement)).andReturn(1L);
+		expect(connection.queryForLong(statement)).andReturn(4L);
+		replay(connection);
+		SequenceBlockAllocator allocator = new SequenceBlockAllocator(statement, 3);
+		assertEquals(3, allocator.getBlockSize());
+		assertEquals(statement, allocator.getNextValStatement());
+		for (long id = 1; id <= 6; id++) {
+			assertEquals(id, allocator.nextId(connection));
+		}
+		verify(connection);
+	}
+
+	@Test
+	public void testZeroValue() throws Exception {
+		String statement = "select next value for seq";
+		DatabaseConnection connection = createMock(DatabaseConnection.class);
+		expect(connection.queryForLong(statement)).andReturn(0L);
+		replay(connection);
+		SequenceBlockAllocator allocator = new SequenceBlockAllocator(statement, 3);
+		assertThrowsExactly(SQLException.class, () -> allocator.nextId(connection));
+		verify(connection);
+	}
+
+	@Test
+	public void testBadBlockSize() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new SequenceBlockAllocator("statement", 0));
+	}
+
+	@Test
+	public void testConcurrentIdsUnique() throws Exception {
+		final AtomicLong sequence = new AtomicLong(1);
+		final DatabaseConnection connection = createMock(DatabaseConnection.class);
+		expect(connection.queryForLong("statement")).andAnswer(() -> sequence.getAndAdd(BLOCK_SIZE)).anyTimes();
+		replay(connection);
+		final SequenceBlockAllocator allocator = new SequenceBlockAllocator("statement", BLOCK_SIZE);
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final int numThreads = 8;
+		final int numIds = 1000;
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					for (int j = 0; j < numIds; j++) {
+						assertTrue(ids.add(allocator.nextId(connection)));
+					}
+				} catch (SQLException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(numThreads * numIds, ids.size());
+	}
+
+	@Test
+	public void testConnectionSource() throws Exception {
+		SequenceH2DatabaseType sequenceDatabaseType = new SequenceH2DatabaseType();
+		JdbcConnectionSource sequenceConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, sequenceDatabaseType);
+		try {
+			Dao<BlockFoo, Integer> dao = DaoManager.createDao(sequenceConnectionSource, BlockFoo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			sequenceConnectionSource.setSequenceBlockSize(dao, BLOCK_SIZE);
+			JdbcDatabaseConnection connection =
+					(JdbcDatabaseConnection) sequenceConnectionSource.getReadWriteConnection(null);
+			String nextValStatement = SequenceBlockAllocator.buildNextValStatement(sequenceDatabaseType, SEQUENCE_NAME);
+			for (int i = 0; i < 25; i++) {
+				BlockFoo foo = new BlockFoo();
+				foo.val = i;
+				assertEquals(1, dao.create(foo));
+				// the first block was used to check the increment of the sequence
+				assertEquals(i + 11, foo.id);
+			}
+			// the sequence was only used once for each block
+			assertEquals(41, connection.queryForSequenceValue(nextValStatement));
+			// batches of inserts also use the blocks
+			JdbcBulkOperations<BlockFoo, Integer> bulkOperations = new JdbcBulkOperations<BlockFoo, Integer>(dao);
+			BlockFoo foo1 = new BlockFoo();
+			BlockFoo foo2 = new BlockFoo();
+			assertEquals(2, bulkOperations.create(Arrays.asList(foo1, foo2)));
+			assertEquals(36, foo1.id);
+			assertEquals(37, foo2.id);
+			assertEquals(27, dao.countOf());
+			TableUtils.dropTable(dao, true);
+		} finally {
+			sequenceConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testCheckIncrement() throws Exception {
+		String statement = "select next value for seq";
+		DatabaseConnection connection = createMock(DatabaseConnection.class);
+		expect(connection.queryForLong(statement)).andReturn(1L);
+		expect(connection.queryForLong(statement)).andReturn(4L);
+		replay(connection);
+		SequenceBlockAllocator allocator = new SequenceBlockAllocator(statement, 3);
+		allocator.checkIncrement(connection);
+		// the ids come from the second block without going back to the database
+		for (long id = 4; id <= 6; id++) {
+			assertEquals(id, allocator.nextId(connection));
+		}
+		verify(connection);
+	}
+
+	@Test
+	public void testCheckIncrementMismatch() throws Exception {
+		String statement = "select next value for seq";
+		DatabaseConnection connection = createMock(DatabaseConnection.class);
+		expect(connection.queryForLong(statement)).andReturn(1L);
+		expect(connection.queryForLong(statement)).andReturn(2L);
+		replay(connection);
+		SequenceBlockAllocator allocator = new SequenceBlockAllocator(statement, 3);
+		assertThrowsExactly(SQLException.class, () -> allocator.checkIncrement(connection));
+		verify(connection);
+	}
+
+	@Test
+	public void testConnectionSourceIncrementMismatch() throws Exception {
+		SequenceH2DatabaseType sequenceDatabaseType = new SequenceH2DatabaseType();
+		JdbcConnectionSource sequenceConnectionSource =
+				new JdbcConnectionSource(DEFAULT_DATABASE_URL, sequenceDatabaseType);
+		try {
+			Dao<BlockFoo, Integer> dao = DaoManager.createDao(sequenceConnectionSource, BlockFoo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			// the sequence increments by BLOCK_SIZE
+			assertThrowsExactly(SQLException.class,
+					() -> sequenceConnectionSource.setSequenceBlockSize(dao, BLOCK_SIZE * 2));
+			// the allocator was not registered so the inserts still get each id from the sequence
+			BlockFoo foo1 = new BlockFoo();
+			BlockFoo foo2 = new BlockFoo();
+			assertEquals(1, dao.create(foo1));
+			assertEquals(1, dao.create(foo2));
+			assertEquals(foo1.id + BLOCK_SIZE, foo2.id);
+			TableUtils.dropTable(dao, true);
+		} finally {
+			sequenceConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testNoSequence() throws Exception {
+		Dao<NoSequenceFoo, Integer> dao = createDao(NoSequenceFoo.class, false);
+		assertThrowsExactly(IllegalArgumentException.class, () -> connectionSource.setSequenceBlockSize(dao, 10));
+	}
+
+	/**
+	 * H2 doesn't use sequences for generated ids so we add them like the Postgres database type.
+	 */
+	private static class SequenceH2DatabaseType extends H2DatabaseType {
+		@Override
+		protected void configureGeneratedIdSequence(StringBuilder sb, FieldType fieldType,
+				List<String> statementsBefore, List<String> additionalArgs, List<String> queriesAfter) {
+			StringBuilder seqSb = new StringBuilder(64);
+			seqSb.append("CREATE SEQUENCE ");
+			appendEscapedEntityName(seqSb, fieldType.getGeneratedIdSequence());
+			seqSb.append(" INCREMENT BY ").append(BLOCK_SIZE);
+			statementsBefore.add(seqSb.toString());
+			configureId(sb, fieldType, statementsBefore, additionalArgs, queriesAfter);
+		}
+
+		@Override
+		public void dropColumnArg(FieldType fieldType, List<String> statementsBefore, List<String> statementsAfter) {
+			if (fieldType.isGeneratedIdSequence()) {
+				StringBuilder sb = new StringBuilder(64);
+				sb.append("DROP SEQUENCE IF EXISTS ");
+				appendEscapedEntityName(sb, fieldType.getGeneratedIdSequence());
+				statementsAfter.add(sb.toString());
+			}
+		}
+
+		@Override
+		public boolean isIdSequenceNeeded() {
+			return true;
+		}
+
+		@Override
+		public boolean isSelectSequenceBeforeInsert() {
+			return true;
+		}
+
+		@Override
+		public void appendSelectNextValFromSequence(StringBuilder sb, String sequenceName) {
+			sb.append("SELECT NEXT VALUE FOR ");
+			appendEscapedEntityName(sb, sequenceName);
+		}
+	}
+
+	protected static class BlockFoo {
+		@DatabaseField(generatedIdSequence = SEQUENCE_NAME)
+		int id;
+		@DatabaseField
+		int val;
+
+		public BlockFoo() {
+		}
+	}
+
+	protected static class NoSequenceFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+
+		public NoSequenceFoo() {
+		}
+	}
+}
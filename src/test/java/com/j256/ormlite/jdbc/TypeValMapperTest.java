@@ -0,0 +1,66 @@
+package com.j256.ormlite.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.table.TableInfo;
+
+public class TypeValMapperTest {
+
+	@Test
+	public void testGetTypeValForSqlType() throws Exception {
+		assertEquals(Types.VARCHAR, TypeValMapper.getTypeValForSqlType(SqlType.STRING));
+		assertEquals(Types.BIGINT, TypeValMapper.getTypeValForSqlType(SqlType.LONG));
+		// the first of the type values is the primary one
+		assertEquals(Types.DECIMAL, TypeValMapper.getTypeValForSqlType(SqlType.BIG_DECIMAL));
+		assertThrowsExactly(SQLException.class, () -> TypeValMapper.getTypeValForSqlType(SqlType.UNKNOWN));
+		assertThrowsExactly(SQLException.class, () -> TypeValMapper.getTypeValForSqlType(null));
+	}
+
+	@Test
+	public void testGetSqlTypeForTypeVal() {
+		assertEquals(SqlType.INTEGER, TypeValMapper.getSqlTypeForTypeVal(Types.INTEGER));
+		assertEquals(SqlType.BIG_DECIMAL, TypeValMapper.getSqlTypeForTypeVal(Types.DECIMAL));
+		assertEquals(SqlType.BIG_DECIMAL, TypeValMapper.getSqlTypeForTypeVal(Types.NUMERIC));
+		// both byte-array and serializable map to VARBINARY, the first one wins
+		assertEquals(SqlType.BYTE_ARRAY, TypeValMapper.getSqlTypeForTypeVal(Types.VARBINARY));
+		assertEquals(SqlType.UNKNOWN, TypeValMapper.getSqlTypeForTypeVal(Types.ARRAY));
+		// negative type values are in the sorted lookup as well
+		assertEquals(SqlType.LONG, TypeValMapper.getSqlTypeForTypeVal(Types.BIGINT));
+		assertEquals(SqlType.LONG_STRING, TypeValMapper.getSqlTypeForTypeVal(Types.LONGVARCHAR));
+		assertEquals(SqlType.UNKNOWN, TypeValMapper.getSqlTypeForTypeVal(Integer.MIN_VALUE));
+	}
+
+	@Test
+	public void testGetTypeValsForFieldTypes() throws Exception {
+		TableInfo<Foo, Integer> tableInfo = new TableInfo<Foo, Integer>(new H2DatabaseType(), Foo.class);
+		FieldType[] fieldTypes = tableInfo.getFieldTypes();
+		int[] typeVals = TypeValMapper.getTypeValsForFieldTypes(fieldTypes);
+		assertArrayEquals(new int[] { Types.INTEGER, Types.VARCHAR, Types.BIGINT }, typeVals);
+		// not cached so the arrays that are only used once aren't kept around
+		assertNotSame(typeVals, TypeValMapper.getTypeValsForFieldTypes(fieldTypes));
+	}
+
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+		@DatabaseField
+		long val;
+
+		public Foo() {
+		}
+	}
+}
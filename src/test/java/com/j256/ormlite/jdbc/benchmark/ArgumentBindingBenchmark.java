@@ -0,0 +1,93 @@
+package com.j256.ormlite.jdbc.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import com.j256.ormlite.jdbc.ArgumentBinder;
+import com.j256.ormlite.logger.LogBackendType;
+import com.j256.ormlite.logger.LoggerFactory;
+
+/**
+ * Measures the cost of binding the arguments of an insert with {@link PreparedStatement#setObject(int, Object, int)}
+ * compared to the typed set methods used by {@link ArgumentBinder}. Each loop binds a long, int, string, timestamp,
+ * double, decimal, and byte-array argument and adds the row to a batch which is executed every 1000 rows.
+ *
+ * <p>
+ * Run with: java -cp ... com.j256.ormlite.jdbc.benchmark.ArgumentBindingBenchmark [loops]
+ * </p>
+ */
+public class ArgumentBindingBenchmark {
+
+	private static final String DATABASE_URL = "jdbc:h2:mem:benchmark";
+	private static final int BATCH_SIZE = 1000;
+	private static final String INSERT = "INSERT INTO bind (id, num, str, stamp, dbl, dec, bytes) VALUES (?,?,?,?,?,?,?)";
+	private static final int[] TYPE_VALS = new int[] { Types.BIGINT, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP,
+			Types.DOUBLE, Types.DECIMAL, Types.VARBINARY };
+
+	public static void main(String[] args) throws Exception {
+		// the debug logging would otherwise swamp the numbers
+		LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+		int numLoops = (args.length > 0 ? Integer.parseInt(args[0]) : 200000);
+		Connection connection = DriverManager.getConnection(DATABASE_URL);
+		try {
+			// run everything twice so the second pass is warmed up
+			for (int passC = 0; passC < 2; passC++) {
+				System.out.println("pass #" + (passC + 1) + ", " + numLoops + " rows:");
+				run("setObject", connection, false, numLoops);
+				run("typed", connection, true, numLoops);
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	private static void run(String label, Connection connection, boolean typed, int numLoops) throws SQLException {
+		Statement stmt = connection.createStatement();
+		try {
+			stmt.execute("DROP TABLE IF EXISTS bind");
+			stmt.execute("CREATE TABLE bind (id BIGINT, num INTEGER, str VARCHAR(100), stamp TIMESTAMP, dbl DOUBLE, "
+					+ "dec DECIMAL(20,4), bytes VARBINARY(16))");
+		} finally {
+			stmt.close();
+		}
+		Object[] rowArgs = new Object[TYPE_VALS.length];
+		Timestamp stamp = new Timestamp(System.currentTimeMillis());
+		byte[] bytes = new byte[16];
+		BigDecimal dec = new BigDecimal("1234.5678");
+		PreparedStatement prepStmt = connection.prepareStatement(INSERT);
+		long startNanos = System.nanoTime();
+		try {
+			for (int loopC = 0; loopC < numLoops; loopC++) {
+				rowArgs[0] = (long) loopC;
+				rowArgs[1] = loopC;
+				rowArgs[2] = "string";
+				rowArgs[3] = stamp;
+				rowArgs[4] = (double) loopC;
+				rowArgs[5] = dec;
+				rowArgs[6] = bytes;
+				for (int i = 0; i < rowArgs.length; i++) {
+					if (typed) {
+						ArgumentBinder.setArgument(prepStmt, i + 1, rowArgs[i], TYPE_VALS[i]);
+					} else {
+						prepStmt.setObject(i + 1, rowArgs[i], TYPE_VALS[i]);
+					}
+				}
+				prepStmt.addBatch();
+				if ((loopC + 1) % BATCH_SIZE == 0) {
+					prepStmt.executeBatch();
+				}
+			}
+			prepStmt.executeBatch();
+		} finally {
+			prepStmt.close();
+		}
+		long elapsedNanos = System.nanoTime() - startNanos;
+		System.out.printf("  %-10s %,12d rows/sec%n", label, numLoops * 1000000000L / elapsedNanos);
+	}
+}
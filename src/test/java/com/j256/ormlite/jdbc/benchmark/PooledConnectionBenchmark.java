@@ -0,0 +1,100 @@
+package com.j256.ormlite.jdbc.benchmark;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.logger.LogBackendType;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Measures the get/release throughput of {@link JdbcPooledConnectionSource} with many threads. It compares a pool
+ * that takes a single monitor around every get and release, like the pool used to do, with the lock-free free list and
+ * with the thread-affinity fast path.
+ *
+ * <p>
+ * Run with: java -cp ... com.j256.ormlite.jdbc.benchmark.PooledConnectionBenchmark [threads] [loops-per-thread]
+ * </p>
+ */
+public class PooledConnectionBenchmark {
+
+	private static final String DATABASE_URL = "jdbc:h2:mem:benchmark";
+
+	public static void main(String[] args) throws Exception {
+		// the debug logging would otherwise swamp the numbers
+		LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+		int numThreads = (args.length > 0 ? Integer.parseInt(args[0]) : 64);
+		int numLoops = (args.length > 1 ? Integer.parseInt(args[1]) : 20000);
+		// run everything twice so the second pass is warmed up
+		for (int passC = 0; passC < 2; passC++) {
+			System.out.println("pass #" + (passC + 1) + ", " + numThreads + " threads, " + numLoops + " loops each:");
+			run("synchronized", new SynchronizedPooledConnectionSource(DATABASE_URL), numThreads, numLoops);
+			run("lock-free", new JdbcPooledConnectionSource(DATABASE_URL), numThreads, numLoops);
+			JdbcPooledConnectionSource affinity = new JdbcPooledConnectionSource(DATABASE_URL);
+			affinity.setThreadAffinity(true);
+			run("thread-affinity", affinity, numThreads, numLoops);
+		}
+	}
+
+	private static void run(String label, final JdbcPooledConnectionSource pooled, int numThreads, final int numLoops)
+			throws Exception {
+		pooled.setMaxConnectionsFree(numThreads);
+		pooled.setCheckConnectionsEveryMillis(0);
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		Thread[] threads = new Thread[numThreads];
+		for (int i = 0; i < numThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+						for (int loopC = 0; loopC < numLoops; loopC++) {
+							DatabaseConnection conn = pooled.getReadWriteConnection(null);
+							pooled.releaseConnection(conn);
+						}
+					} catch (Exception e) {
+						e.printStackTrace();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		long startNanos = System.nanoTime();
+		startLatch.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long elapsedNanos = System.nanoTime() - startNanos;
+		long ops = (long) numThreads * numLoops;
+		System.out.printf("  %-16s %,12d get+release/sec, %d connections opened%n", label,
+				ops * 1000000000L / elapsedNanos, pooled.getOpenCount());
+		pooled.close();
+	}
+
+	/**
+	 * Serializes every get and release on one monitor which is how the pool used to work.
+	 */
+	private static class SynchronizedPooledConnectionSource extends JdbcPooledConnectionSource {
+
+		private final Object lock = new Object();
+
+		public SynchronizedPooledConnectionSource(String url) throws SQLException {
+			super(url);
+		}
+
+		@Override
+		public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+			synchronized (lock) {
+				return super.getReadWriteConnection(tableName);
+			}
+		}
+
+		@Override
+		public void releaseConnection(DatabaseConnection connection) throws SQLException {
+			synchronized (lock) {
+				super.releaseConnection(connection);
+			}
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.j256.ormlite.jdbc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.JdbcBulkOperations;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.db.H2DatabaseType;
+import com.j256.ormlite.jdbc.id.UuidV7Type;
+import com.j256.ormlite.logger.LogBackendType;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Compares storing UUID ids as 36 character strings with storing them as BINARY(16) using
+ * {@link H2DatabaseType#setBinaryUuids(boolean)}. Each run inserts the rows with {@link JdbcBulkOperations}, reports
+ * the disk space used by the table and its primary key index, and then times looking up random rows by id.
+ *
+ * <p>
+ * Run with: java -cp ... com.j256.ormlite.jdbc.benchmark.UuidStorageBenchmark [rows] [lookups]
+ * </p>
+ */
+public class UuidStorageBenchmark {
+
+	private static final String DATABASE_URL = "jdbc:h2:./target/uuidBenchmark";
+
+	public static void main(String[] args) throws Exception {
+		// the debug logging would otherwise swamp the numbers
+		LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+		int numRows = (args.length > 0 ? Integer.parseInt(args[0]) : 200000);
+		int numLookups = (args.length > 1 ? Integer.parseInt(args[1]) : 100000);
+		// run everything twice so the second pass is warmed up
+		for (int passC = 0; passC < 2; passC++) {
+			System.out.println("pass #" + (passC + 1) + ", " + numRows + " rows, " + numLookups + " lookups:");
+			run("string", false, numRows, numLookups);
+			run("binary", true, numRows, numLookups);
+		}
+	}
+
+	private static void run(String label, boolean binaryUuids, int numRows, int numLookups) throws Exception {
+		H2DatabaseType databaseType = new H2DatabaseType();
+		databaseType.setBinaryUuids(binaryUuids);
+		JdbcConnectionSource connectionSource = new JdbcConnectionSource(DATABASE_URL, databaseType);
+		try {
+			Dao<UuidRow, UUID> dao = DaoManager.createDao(connectionSource, UuidRow.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			JdbcBulkOperations<UuidRow, UUID> bulkOperations = new JdbcBulkOperations<UuidRow, UUID>(dao);
+			bulkOperations.setMultiRowInsert(true);
+			List<UuidRow> rows = new ArrayList<UuidRow>(numRows);
+			for (int i = 0; i < numRows; i++) {
+				UuidRow row = new UuidRow();
+				row.val = i;
+				rows.add(row);
+			}
+			long startNanos = System.nanoTime();
+			bulkOperations.create(rows);
+			long insertNanos = System.nanoTime() - startNanos;
+			long diskBytes =
+					dao.queryRawValue("CALL DISK_SPACE_USED('" + UuidRow.TABLE_NAME.toUpperCase() + "')");
+
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			startNanos = System.nanoTime();
+			for (int i = 0; i < numLookups; i++) {
+				UuidRow row = rows.get(random.nextInt(numRows));
+				if (dao.queryForId(row.id) == null) {
+					throw new IllegalStateException("Could not find row " + row.id);
+				}
+			}
+			long lookupNanos = System.nanoTime() - startNanos;
+			System.out.printf("  %-8s insert %,10d rows/sec, disk %,12d bytes, lookup %,8d ns%n", label,
+					numRows * 1000000000L / insertNanos, diskBytes, lookupNanos / numLookups);
+			TableUtils.dropTable(dao, true);
+		} finally {
+			connectionSource.close();
+		}
+	}
+
+	@DatabaseTable(tableName = UuidRow.TABLE_NAME)
+	protected static class UuidRow {
+		static final String TABLE_NAME = "uuidrow";
+		@DatabaseField(generatedId = true, persisterClass = UuidV7Type.class)
+		UUID id;
+		@DatabaseField
+		int val;
+
+		public UuidRow() {
+		}
+	}
+}
@@ -10,12 +10,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.TestUtils;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.BaseJdbcTest;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
@@ -37,6 +40,17 @@ public abstract class BaseJdbcDatabaseTypeTest extends BaseJdbcTest {
 		assertEquals("-- ", databaseType.getCommentLinePrefix());
 	}
 
+	@Test
+	public void testJdbcDatabaseType() {
+		assertTrue(databaseType instanceof JdbcDatabaseType);
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.getMaxStatementArguments() >= 0);
+		assertTrue(jdbcDatabaseType.getMaxMultiRowInsertRows() >= 0);
+		if (!jdbcDatabaseType.isMultiRowInsertSupported()) {
+			assertFalse(jdbcDatabaseType.isMultiRowInsertGeneratedKeysSupported());
+		}
+	}
+
 	@Test
 	public void testEscapedEntityName() {
 		String word = "word";
@@ -173,11 +187,34 @@ public abstract class BaseJdbcDatabaseTypeTest extends BaseJdbcTest {
 		}
 	}
 
+	/**
+	 * Check that a database type with binary UUIDs enabled stores UUID fields in the column type with the binary
+	 * converter.
+	 */
+	protected void checkBinaryUuidColumn(DatabaseType binaryDatabaseType, String columnType) throws Exception {
+		TableInfo<UuidId, UUID> tableInfo = new TableInfo<UuidId, UUID>(binaryDatabaseType, UuidId.class);
+		FieldType fieldType = tableInfo.getFieldTypes()[0];
+		assertEquals(SqlType.BYTE_ARRAY, fieldType.getSqlType());
+		StringBuilder sb = new StringBuilder();
+		List<String> additionalArgs = new ArrayList<String>();
+		List<String> statementsBefore = new ArrayList<String>();
+		binaryDatabaseType.appendColumnArg(null, sb, fieldType, additionalArgs, statementsBefore, null, null);
+		assertTrue(sb.toString().contains(" " + columnType + " "), sb.toString());
+		// the default is to store them as strings
+		tableInfo = new TableInfo<UuidId, UUID>(databaseType, UuidId.class);
+		assertEquals(SqlType.STRING, tableInfo.getFieldTypes()[0].getSqlType());
+	}
+
 	protected static class StringId {
 		@DatabaseField(id = true)
 		String id;
 	}
 
+	protected static class UuidId {
+		@DatabaseField(id = true)
+		UUID id;
+	}
+
 	protected static class GeneratedId {
 		@DatabaseField(generatedId = true)
 		public int id;
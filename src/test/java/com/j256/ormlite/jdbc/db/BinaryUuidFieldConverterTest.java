@@ -0,0 +1,96 @@
+package com.j256.ormlite.jdbc.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.BaseJdbcTest;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.id.UuidV7Type;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.table.TableUtils;
+
+public class BinaryUuidFieldConverterTest extends BaseJdbcTest {
+
+	@Test
+	public void testBytes() throws Exception {
+		UUID uuid = UUID.fromString("01234567-89ab-cdef-fedc-ba9876543210");
+		byte[] bytes = BinaryUuidFieldConverter.uuidToBytes(uuid);
+		assertArrayEquals(new byte[] { 0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef,
+				(byte) 0xfe, (byte) 0xdc, (byte) 0xba, (byte) 0x98, 0x76, 0x54, 0x32, 0x10 }, bytes);
+		assertEquals(uuid, BinaryUuidFieldConverter.bytesToUuid(bytes));
+		BinaryUuidFieldConverter converter = BinaryUuidFieldConverter.getSingleton();
+		assertEquals(uuid, converter.sqlArgToJava(null, bytes, 1));
+		assertArrayEquals(bytes, (byte[]) converter.parseDefaultString(null, uuid.toString()));
+		assertEquals(uuid, converter.resultStringToJava(null, uuid.toString(), 1));
+		assertEquals(uuid, converter.resultStringToJava(null, "0123456789ABCDEFFEDCBA9876543210", 1));
+	}
+
+	@Test
+	public void testBadBytes() {
+		assertThrowsExactly(SQLException.class,
+				() -> BinaryUuidFieldConverter.getSingleton().sqlArgToJava(null, new byte[15], 1));
+		assertThrowsExactly(SQLException.class,
+				() -> BinaryUuidFieldConverter.getSingleton().parseDefaultString(null, "not-a-uuid"));
+	}
+
+	@Test
+	public void testH2() throws Exception {
+		H2DatabaseType binaryDatabaseType = new H2DatabaseType();
+		binaryDatabaseType.setBinaryUuids(true);
+		JdbcConnectionSource binaryConnectionSource = new JdbcConnectionSource(DEFAULT_DATABASE_URL, binaryDatabaseType);
+		try {
+			Dao<UuidFoo, UUID> dao = DaoManager.createDao(binaryConnectionSource, UuidFoo.class);
+			TableUtils.dropTable(dao, true);
+			TableUtils.createTable(dao);
+			UuidFoo foo1 = new UuidFoo();
+			foo1.val = 1;
+			foo1.other = UUID.randomUUID();
+			assertEquals(1, dao.create(foo1));
+			assertNotNull(foo1.id);
+			UuidFoo foo2 = new UuidFoo();
+			foo2.val = 2;
+			assertEquals(1, dao.create(foo2));
+
+			UuidFoo result = dao.queryForId(foo1.id);
+			assertEquals(foo1.val, result.val);
+			assertEquals(foo1.other, result.other);
+			assertEquals(foo2.val, dao.queryForId(foo2.id).val);
+			List<UuidFoo> results = dao.queryBuilder().where().eq("other", new SelectArg(foo1.other)).query();
+			assertEquals(1, results.size());
+			assertEquals(foo1.id, results.get(0).id);
+			// the ids are stored as 16 bytes
+			assertEquals(16L, dao.queryRawValue("SELECT MAX(OCTET_LENGTH(`id`)) FROM `uuidfoo`"));
+			// time-ordered ids sort in time order
+			results = dao.queryBuilder().orderBy("id", true).query();
+			assertEquals(foo1.id, results.get(0).id);
+			assertTrue(results.get(1).id.equals(foo2.id));
+			TableUtils.dropTable(dao, true);
+		} finally {
+			binaryConnectionSource.close();
+		}
+	}
+
+	protected static class UuidFoo {
+		@DatabaseField(generatedId = true, persisterClass = UuidV7Type.class)
+		UUID id;
+		@DatabaseField
+		UUID other;
+		@DatabaseField
+		int val;
+
+		public UuidFoo() {
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.TestUtils;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.table.TableInfo;
 
@@ -90,4 +92,15 @@ public class Db2DatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 	public void testOffsetSupport() {
 		assertFalse(databaseType.isOffsetSqlSupported());
 	}
+
+	@Test
+	public void testTempTable() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("INTEGER", jdbcDatabaseType.getTempTableColumnType(SqlType.INTEGER));
+		assertNull(jdbcDatabaseType.getTempTableColumnType(SqlType.UUID));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendCreateTempTable(sb, "ids", "id", "INTEGER");
+		assertEquals("DECLARE GLOBAL TEMPORARY TABLE SESSION.\"ids\" (\"id\" INTEGER)"
+				+ " WITH REPLACE ON COMMIT PRESERVE ROWS NOT LOGGED", sb.toString());
+	}
 }
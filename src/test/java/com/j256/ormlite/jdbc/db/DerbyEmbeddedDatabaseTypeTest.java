@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.sql.rowset.serial.SerialBlob;
@@ -178,4 +179,12 @@ public class DerbyEmbeddedDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 
 	private static class NotSerializable {
 	}
+
+	@Test
+	public void testUpsertNotSupported() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertFalse(jdbcDatabaseType.isUpsertSupported());
+		assertThrowsExactly(IllegalStateException.class, () -> jdbcDatabaseType.appendUpsert(new StringBuilder(),
+				"\"foo\"", "id", Arrays.asList("id")));
+	}
 }
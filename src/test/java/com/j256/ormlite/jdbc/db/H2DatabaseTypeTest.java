@@ -1,17 +1,22 @@
 package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.h2.tools.Server;
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.TestUtils;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.table.TableInfo;
 
@@ -71,4 +76,53 @@ public class H2DatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 			}
 		}
 	}
+
+	@Test
+	public void testInsertReturning() {
+		H2DatabaseType jdbcDatabaseType = new H2DatabaseType();
+		// getGeneratedKeys() is used unless it is turned on
+		assertFalse(jdbcDatabaseType.isInsertReturningSupported());
+		jdbcDatabaseType.setInsertReturningIds(true);
+		assertTrue(jdbcDatabaseType.isInsertReturningSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInsertReturning(sb, "INSERT INTO `foo` (`val` ) VALUES (?)", "id");
+		assertEquals("SELECT `id` FROM FINAL TABLE (INSERT INTO `foo` (`val` ) VALUES (?))", sb.toString());
+	}
+
+	@Test
+	public void testBinaryUuids() throws Exception {
+		H2DatabaseType binaryDatabaseType = new H2DatabaseType();
+		binaryDatabaseType.setBinaryUuids(true);
+		checkBinaryUuidColumn(binaryDatabaseType, "BINARY(16)");
+	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "`foo`", "id", Arrays.asList("id", "val"));
+		assertEquals("MERGE INTO `foo` (`id`,`val`) KEY (`id`) VALUES (?,?)", sb.toString());
+	}
+
+	@Test
+	public void testArrayArguments() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("BIGINT", jdbcDatabaseType.getArrayArgumentTypeName(SqlType.LONG));
+		assertNull(jdbcDatabaseType.getArrayArgumentTypeName(SqlType.BYTE_ARRAY));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInArrayArgument(sb, "id");
+		assertEquals("`id` = ANY(?)", sb.toString());
+	}
+
+	@Test
+	public void testTempTable() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(0, jdbcDatabaseType.getMaxInListElements());
+		assertEquals("BIGINT", jdbcDatabaseType.getTempTableColumnType(SqlType.LONG));
+		assertNull(jdbcDatabaseType.getTempTableColumnType(SqlType.BYTE_ARRAY));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendCreateTempTable(sb, "ids", "id", "BIGINT");
+		assertEquals("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS `ids` (`id` BIGINT) TRANSACTIONAL", sb.toString());
+	}
 }
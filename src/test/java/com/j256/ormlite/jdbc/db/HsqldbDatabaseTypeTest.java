@@ -2,11 +2,13 @@ package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import com.j256.ormlite.TestUtils;
 import com.j256.ormlite.dao.BaseDaoImpl;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.table.TableInfo;
@@ -169,4 +172,25 @@ public class HsqldbDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		@DatabaseField
 		public String stuff;
 	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "\"foo\"", "id", Arrays.asList("id"));
+		// nothing to update so there is no WHEN MATCHED
+		assertEquals("MERGE INTO \"foo\" AS dst USING (VALUES (?)) AS src (\"id\") ON (dst.\"id\" = src.\"id\")"
+				+ " WHEN NOT MATCHED THEN INSERT (\"id\") VALUES (src.\"id\")", sb.toString());
+	}
+
+	@Test
+	public void testArrayArguments() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("VARCHAR", jdbcDatabaseType.getArrayArgumentTypeName(SqlType.STRING));
+		assertNull(jdbcDatabaseType.getArrayArgumentTypeName(SqlType.UUID));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInArrayArgument(sb, "id");
+		assertEquals("\"id\" IN(UNNEST(?))", sb.toString());
+	}
 }
@@ -1,6 +1,7 @@
 package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
@@ -95,4 +96,18 @@ public class MariaDbDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		dbType.appendLongStringType(sb, null, 0);
 		assertEquals("TEXT", sb.toString());
 	}
+
+	@Test
+	public void testStreaming() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(500, jdbcDatabaseType.getStreamingFetchSize(500));
+		assertFalse(jdbcDatabaseType.isStreamingRequiresNoAutoCommit());
+	}
+
+	@Test
+	public void testBinaryUuids() throws Exception {
+		MariaDbDatabaseType binaryDatabaseType = new MariaDbDatabaseType();
+		binaryDatabaseType.setBinaryUuids(true);
+		checkBinaryUuidColumn(binaryDatabaseType, "BINARY(16)");
+	}
 }
@@ -1,15 +1,20 @@
 package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.table.TableInfo;
 
@@ -95,4 +100,48 @@ public class MysqlDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		dbType.appendLongStringType(sb, null, 0);
 		assertEquals("TEXT", sb.toString());
 	}
+
+	@Test
+	public void testStreaming() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(Integer.MIN_VALUE, jdbcDatabaseType.getStreamingFetchSize(500));
+		assertFalse(jdbcDatabaseType.isStreamingRequiresNoAutoCommit());
+	}
+
+	@Test
+	public void testInsertReturningNotSupported() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertFalse(jdbcDatabaseType.isInsertReturningSupported());
+		assertThrowsExactly(IllegalStateException.class,
+				() -> jdbcDatabaseType.appendInsertReturning(new StringBuilder(), "INSERT INTO foo", "id"));
+	}
+
+	@Test
+	public void testBinaryUuids() throws Exception {
+		MysqlDatabaseType binaryDatabaseType = new MysqlDatabaseType();
+		binaryDatabaseType.setBinaryUuids(true);
+		checkBinaryUuidColumn(binaryDatabaseType, "BINARY(16)");
+	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		assertTrue(jdbcDatabaseType.isUpsertOnAnyUniqueKey());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "`foo`", "id", Arrays.asList("id", "val"));
+		assertEquals("INSERT INTO `foo` (`id`,`val`) VALUES (?,?) ON DUPLICATE KEY UPDATE `val` = VALUES(`val`)",
+				sb.toString());
+		sb.setLength(0);
+		jdbcDatabaseType.appendUpsert(sb, "`foo`", "id", Arrays.asList("id"));
+		assertEquals("INSERT INTO `foo` (`id`) VALUES (?) ON DUPLICATE KEY UPDATE `id` = `id`", sb.toString());
+	}
+
+	@Test
+	public void testArrayArgumentsNotSupported() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertNull(jdbcDatabaseType.getArrayArgumentTypeName(SqlType.INTEGER));
+		assertThrowsExactly(IllegalStateException.class,
+				() -> jdbcDatabaseType.appendInArrayArgument(new StringBuilder(), "id"));
+	}
 }
@@ -2,17 +2,21 @@ package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.TestUtils;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.table.TableInfo;
 
@@ -131,4 +135,24 @@ public class OracleDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 	public void testOffsetSupport() {
 		assertFalse(databaseType.isOffsetSqlSupported());
 	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "\"foo\"", "id", Arrays.asList("id", "val"));
+		assertEquals("MERGE INTO \"foo\" dst USING (SELECT ? \"id\", ? \"val\" FROM DUAL) src"
+				+ " ON (dst.\"id\" = src.\"id\") WHEN MATCHED THEN UPDATE SET \"val\" = src.\"val\""
+				+ " WHEN NOT MATCHED THEN INSERT (\"id\",\"val\") VALUES (src.\"id\",src.\"val\")", sb.toString());
+	}
+
+	@Test
+	public void testInListLimitAndNoTempTable() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(1000, jdbcDatabaseType.getMaxInListElements());
+		assertNull(jdbcDatabaseType.getTempTableColumnType(SqlType.INTEGER));
+		assertThrowsExactly(IllegalStateException.class,
+				() -> jdbcDatabaseType.appendCreateTempTable(new StringBuilder(), "ids", "id", "INTEGER"));
+	}
 }
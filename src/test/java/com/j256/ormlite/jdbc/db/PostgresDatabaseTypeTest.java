@@ -1,17 +1,21 @@
 package com.j256.ormlite.jdbc.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.TestUtils;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.table.TableInfo;
 
@@ -140,4 +144,79 @@ public class PostgresDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		databaseType.appendColumnArg(null, sb, byteField, additionalArgs, statementsBefore, null, null);
 		assertTrue(sb.toString().contains("SMALLINT"));
 	}
+
+	@Test
+	public void testStreaming() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(500, jdbcDatabaseType.getStreamingFetchSize(500));
+		assertTrue(jdbcDatabaseType.isStreamingRequiresNoAutoCommit());
+	}
+
+	@Test
+	public void testSequenceIncrement() throws Exception {
+		PostgresDatabaseType postgresDatabaseType = new PostgresDatabaseType();
+		postgresDatabaseType.setSequenceIncrement(50);
+		TableInfo<GeneratedIdSequence, Integer> tableInfo =
+				new TableInfo<GeneratedIdSequence, Integer>(postgresDatabaseType, GeneratedIdSequence.class);
+		StringBuilder sb = new StringBuilder();
+		List<String> additionalArgs = new ArrayList<String>();
+		List<String> statementsBefore = new ArrayList<String>();
+		List<String> queriesAfter = new ArrayList<String>();
+		postgresDatabaseType.appendColumnArg(null, sb, tableInfo.getFieldTypes()[0], additionalArgs, statementsBefore,
+				null, queriesAfter);
+		assertEquals(1, statementsBefore.size());
+		assertEquals("CREATE SEQUENCE \"" + GENERATED_ID_SEQ + "\" INCREMENT BY 50", statementsBefore.get(0));
+	}
+
+	@Test
+	public void testInsertReturning() {
+		PostgresDatabaseType jdbcDatabaseType = new PostgresDatabaseType();
+		assertFalse(jdbcDatabaseType.isInsertReturningSupported());
+		jdbcDatabaseType.setInsertReturningIds(true);
+		assertTrue(jdbcDatabaseType.isInsertReturningSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInsertReturning(sb, "INSERT INTO \"foo\" (\"val\" ) VALUES (?)", "id");
+		assertEquals("INSERT INTO \"foo\" (\"val\" ) VALUES (?) RETURNING \"id\"", sb.toString());
+	}
+
+	@Test
+	public void testInsertReturningIds() {
+		PostgresDatabaseType postgresDatabaseType = new PostgresDatabaseType();
+		assertTrue(postgresDatabaseType.isSelectSequenceBeforeInsert());
+		postgresDatabaseType.setInsertReturningIds(true);
+		assertFalse(postgresDatabaseType.isSelectSequenceBeforeInsert());
+	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "\"foo\"", "id", Arrays.asList("id", "val"));
+		assertEquals("INSERT INTO \"foo\" (\"id\",\"val\") VALUES (?,?)"
+				+ " ON CONFLICT (\"id\") DO UPDATE SET \"val\" = EXCLUDED.\"val\"", sb.toString());
+		sb.setLength(0);
+		jdbcDatabaseType.appendUpsert(sb, "\"foo\"", "id", Arrays.asList("id"));
+		assertEquals("INSERT INTO \"foo\" (\"id\") VALUES (?) ON CONFLICT (\"id\") DO NOTHING", sb.toString());
+	}
+
+	@Test
+	public void testArrayArguments() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("integer", jdbcDatabaseType.getArrayArgumentTypeName(SqlType.INTEGER));
+		assertEquals("uuid", jdbcDatabaseType.getArrayArgumentTypeName(SqlType.UUID));
+		assertNull(jdbcDatabaseType.getArrayArgumentTypeName(SqlType.DATE));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInArrayArgument(sb, "id");
+		assertEquals("\"id\" = ANY(?)", sb.toString());
+	}
+
+	@Test
+	public void testTempTable() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("UUID", jdbcDatabaseType.getTempTableColumnType(SqlType.UUID));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendCreateTempTable(sb, "ids", "id", "INTEGER");
+		assertEquals("CREATE TEMPORARY TABLE IF NOT EXISTS \"ids\" (\"id\" INTEGER)", sb.toString());
+	}
 }
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import com.j256.ormlite.TestUtils;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.table.TableInfo;
@@ -47,6 +49,15 @@ public class SqlServerDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		assertEquals(expected, TestUtils.appendEscapedEntityName(databaseType, input));
 	}
 
+	@Test
+	public void testMultiRowInsertLimits() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(2100, jdbcDatabaseType.getMaxStatementArguments());
+		assertEquals(1000, jdbcDatabaseType.getMaxMultiRowInsertRows());
+		assertTrue(jdbcDatabaseType.isMultiRowInsertSupported());
+		assertFalse(jdbcDatabaseType.isMultiRowInsertGeneratedKeysSupported());
+	}
+
 	@Override
 	@Test
 	public void testLimitAfterSelect() {
@@ -145,4 +156,41 @@ public class SqlServerDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		assertEquals(1, additionalArgs.size());
 		assertTrue(additionalArgs.get(0).contains("PRIMARY KEY"));
 	}
+
+	@Test
+	public void testInsertReturning() {
+		SqlServerDatabaseType jdbcDatabaseType = new SqlServerDatabaseType();
+		assertFalse(jdbcDatabaseType.isInsertReturningSupported());
+		jdbcDatabaseType.setInsertReturningIds(true);
+		assertTrue(jdbcDatabaseType.isInsertReturningSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendInsertReturning(sb, "INSERT INTO [foo] ([val] ) VALUES (?),(?)", "id");
+		assertEquals("INSERT INTO [foo] ([val] ) OUTPUT INSERTED.[id] VALUES (?),(?)", sb.toString());
+		sb.setLength(0);
+		jdbcDatabaseType.appendInsertReturning(sb, "INSERT INTO [foo] DEFAULT VALUES", "id");
+		assertEquals("INSERT INTO [foo] OUTPUT INSERTED.[id] DEFAULT VALUES", sb.toString());
+	}
+
+	@Test
+	public void testUpsert() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertTrue(jdbcDatabaseType.isUpsertSupported());
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendUpsert(sb, "[foo]", "id", Arrays.asList("id", "val"));
+		assertEquals("MERGE INTO [foo] WITH (HOLDLOCK) AS dst USING (VALUES (?,?)) AS src ([id],[val])"
+				+ " ON (dst.[id] = src.[id]) WHEN MATCHED THEN UPDATE SET [val] = src.[val]"
+				+ " WHEN NOT MATCHED THEN INSERT ([id],[val]) VALUES (src.[id],src.[val]);", sb.toString());
+	}
+
+	@Test
+	public void testTempTable() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals("UNIQUEIDENTIFIER", jdbcDatabaseType.getTempTableColumnType(SqlType.UUID));
+		StringBuilder sb = new StringBuilder();
+		jdbcDatabaseType.appendTempTableName(sb, "ids");
+		assertEquals("#ids", sb.toString());
+		sb.setLength(0);
+		jdbcDatabaseType.appendCreateTempTable(sb, "ids", "id", "INTEGER");
+		assertEquals("IF OBJECT_ID('tempdb..#ids') IS NULL CREATE TABLE #ids ([id] INTEGER)", sb.toString());
+	}
 }
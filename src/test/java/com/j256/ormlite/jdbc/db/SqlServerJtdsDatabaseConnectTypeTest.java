@@ -1,7 +1,11 @@
 package com.j256.ormlite.jdbc.db;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import java.sql.SQLException;
 
+import org.junit.jupiter.api.Test;
+
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 
 public class SqlServerJtdsDatabaseConnectTypeTest extends SqlServerDatabaseTypeTest {
@@ -12,4 +16,12 @@ public class SqlServerJtdsDatabaseConnectTypeTest extends SqlServerDatabaseTypeT
 		connectionSource = new JdbcConnectionSource(DEFAULT_DATABASE_URL);
 		databaseType = new SqlServerJtdsDatabaseType();
 	}
+
+	@Override
+	@Test
+	public void testMultiRowInsertLimits() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(2000, jdbcDatabaseType.getMaxStatementArguments());
+		assertEquals(1000, jdbcDatabaseType.getMaxMultiRowInsertRows());
+	}
 }
@@ -35,6 +35,14 @@ public class SqliteDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		return false;
 	}
 
+	@Test
+	public void testMultiRowInsertLimits() {
+		JdbcDatabaseType jdbcDatabaseType = (JdbcDatabaseType) databaseType;
+		assertEquals(999, jdbcDatabaseType.getMaxStatementArguments());
+		assertTrue(jdbcDatabaseType.isMultiRowInsertSupported());
+		assertFalse(jdbcDatabaseType.isMultiRowInsertGeneratedKeysSupported());
+	}
+
 	@Test
 	public void testGeneratedIdSequenceNotSupported() throws Exception {
 		TableInfo<GeneratedIdSequence, Integer> tableInfo =
@@ -162,4 +170,11 @@ public class SqliteDatabaseTypeTest extends BaseJdbcDatabaseTypeTest {
 		public SerializedThing() {
 		}
 	}
+
+	@Test
+	public void testBinaryUuids() throws Exception {
+		SqliteDatabaseType binaryDatabaseType = new SqliteDatabaseType();
+		binaryDatabaseType.setBinaryUuids(true);
+		checkBinaryUuidColumn(binaryDatabaseType, "BLOB");
+	}
 }
@@ -0,0 +1,111 @@
+package com.j256.ormlite.jdbc.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.BaseJdbcTest;
+import com.j256.ormlite.jdbc.JdbcBulkOperations;
+
+public class ClientIdTypesTest extends BaseJdbcTest {
+
+	@Test
+	public void testUuidV7() throws Exception {
+		Dao<UuidFoo, UUID> dao = createDao(UuidFoo.class, true);
+		UuidFoo foo = new UuidFoo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		assertNotNull(foo.id);
+		assertEquals(7, foo.id.version());
+		assertEquals(foo.val, dao.queryForId(foo.id).val);
+	}
+
+	@Test
+	public void testNativeUuidV7() throws Exception {
+		Dao<NativeUuidFoo, UUID> dao = createDao(NativeUuidFoo.class, true);
+		NativeUuidFoo foo = new NativeUuidFoo();
+		foo.val = 2;
+		assertEquals(1, dao.create(foo));
+		assertEquals(7, foo.id.version());
+		assertEquals(foo.val, dao.queryForId(foo.id).val);
+	}
+
+	@Test
+	public void testSnowflake() throws Exception {
+		SnowflakeIdGenerator generator = SnowflakeIdType.getGenerator();
+		SnowflakeIdType.setGenerator(new SnowflakeIdGenerator(7));
+		try {
+			Dao<SnowflakeFoo, Long> dao = createDao(SnowflakeFoo.class, true);
+			// no generated keys are needed so the whole batch is one round trip
+			JdbcBulkOperations<SnowflakeFoo, Long> bulkOperations = new JdbcBulkOperations<SnowflakeFoo, Long>(dao);
+			bulkOperations.setMultiRowInsert(true);
+			List<SnowflakeFoo> foos = new ArrayList<SnowflakeFoo>();
+			for (int i = 0; i < 10; i++) {
+				SnowflakeFoo foo = new SnowflakeFoo();
+				foo.val = i;
+				foos.add(foo);
+			}
+			assertEquals(10, bulkOperations.create(foos));
+			long last = 0;
+			for (SnowflakeFoo foo : foos) {
+				assertTrue(foo.id > last);
+				assertEquals(7, SnowflakeIdType.getGenerator().getNodeId());
+				assertEquals(foo.val, dao.queryForId(foo.id).val);
+				last = foo.id;
+			}
+		} finally {
+			SnowflakeIdType.setGenerator(generator);
+		}
+	}
+
+	@Test
+	public void testSnowflakeNoNodeId() {
+		SnowflakeIdGenerator generator = SnowflakeIdType.getGenerator();
+		SnowflakeIdType.setGenerator(null);
+		try {
+			// there is no default node-id so two processes don't generate the same ids
+			assertThrowsExactly(IllegalStateException.class, () -> SnowflakeIdType.getSingleton().generateId());
+		} finally {
+			SnowflakeIdType.setGenerator(generator);
+		}
+	}
+
+	protected static class UuidFoo {
+		@DatabaseField(generatedId = true, persisterClass = UuidV7Type.class)
+		UUID id;
+		@DatabaseField
+		int val;
+
+		public UuidFoo() {
+		}
+	}
+
+	protected static class NativeUuidFoo {
+		@DatabaseField(generatedId = true, persisterClass = NativeUuidV7Type.class)
+		UUID id;
+		@DatabaseField
+		int val;
+
+		public NativeUuidFoo() {
+		}
+	}
+
+	protected static class SnowflakeFoo {
+		@DatabaseField(generatedId = true, persisterClass = SnowflakeIdType.class)
+		long id;
+		@DatabaseField
+		int val;
+
+		public SnowflakeFoo() {
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.j256.ormlite.jdbc.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeIdGeneratorTest {
+
+	@Test
+	public void testLayout() {
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5);
+		assertEquals(5, generator.getNodeId());
+		assertEquals(SnowflakeIdGenerator.DEFAULT_EPOCH_MILLIS, generator.getEpochMillis());
+		long before = System.currentTimeMillis();
+		long id = generator.generate();
+		long after = System.currentTimeMillis();
+		assertTrue(id > 0);
+		assertEquals(5, (id >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+		long millis = generator.extractMillis(id);
+		assertTrue(millis >= before && millis <= after);
+	}
+
+	@Test
+	public void testNodesDiffer() {
+		FixedClockGenerator generator1 = new FixedClockGenerator(1);
+		FixedClockGenerator generator2 = new FixedClockGenerator(2);
+		assertNotEquals(generator1.generate(), generator2.generate());
+	}
+
+	@Test
+	public void testCounterOverflow() {
+		FixedClockGenerator generator = new FixedClockGenerator(3);
+		long last = 0;
+		for (int i = 0; i < 4096; i++) {
+			long id = generator.generate();
+			assertTrue(id > last);
+			assertEquals(generator.getEpochMillis() + 1000, generator.extractMillis(id));
+			last = id;
+		}
+		long id = generator.generate();
+		assertTrue(id > last);
+		// runs ahead of the clock
+		assertEquals(generator.getEpochMillis() + 1001, generator.extractMillis(id));
+		assertEquals(3, generator.getNodeId());
+	}
+
+	@Test
+	public void testBadNodeId() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+		assertThrowsExactly(IllegalArgumentException.class,
+				() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+	}
+
+	@Test
+	public void testConcurrentUnique() throws Exception {
+		final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final int numThreads = 8;
+		final int numIds = 10000;
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < numIds; j++) {
+					ids.add(generator.generate());
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(numThreads * numIds, ids.size());
+	}
+
+	private static class FixedClockGenerator extends SnowflakeIdGenerator {
+		public FixedClockGenerator(int nodeId) {
+			super(nodeId);
+		}
+
+		@Override
+		protected long currentTimeMillis() {
+			return getEpochMillis() + 1000;
+		}
+	}
+}
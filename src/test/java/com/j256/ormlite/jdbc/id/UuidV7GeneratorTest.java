@@ -0,0 +1,91 @@
+package com.j256.ormlite.jdbc.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class UuidV7GeneratorTest {
+
+	@Test
+	public void testVersionAndTime() {
+		long before = System.currentTimeMillis();
+		UUID uuid = new UuidV7Generator().generate();
+		long after = System.currentTimeMillis();
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+		long millis = UuidV7Generator.extractMillis(uuid);
+		assertTrue(millis >= before && millis <= after);
+	}
+
+	@Test
+	public void testIncreasing() {
+		UuidV7Generator generator = new UuidV7Generator();
+		UUID last = generator.generate();
+		for (int i = 0; i < 10000; i++) {
+			UUID uuid = generator.generate();
+			// compare as unsigned so the order matches the database's byte order
+			assertTrue(Long.compareUnsigned(uuid.getMostSignificantBits(), last.getMostSignificantBits()) > 0);
+			last = uuid;
+		}
+	}
+
+	@Test
+	public void testClockBackwards() {
+		FixedClockGenerator generator = new FixedClockGenerator();
+		generator.millis = 1000;
+		UUID first = generator.generate();
+		generator.millis = 500;
+		UUID second = generator.generate();
+		assertEquals(1000, UuidV7Generator.extractMillis(second));
+		assertTrue(second.getMostSignificantBits() > first.getMostSignificantBits());
+	}
+
+	@Test
+	public void testCounterOverflow() {
+		FixedClockGenerator generator = new FixedClockGenerator();
+		generator.millis = 1000;
+		for (int i = 0; i < 4096; i++) {
+			assertEquals(1000, UuidV7Generator.extractMillis(generator.generate()));
+		}
+		// runs ahead of the clock
+		assertEquals(1001, UuidV7Generator.extractMillis(generator.generate()));
+	}
+
+	@Test
+	public void testConcurrentUnique() throws Exception {
+		final UuidV7Generator generator = new UuidV7Generator();
+		final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+		final int numThreads = 8;
+		final int numIds = 10000;
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < numIds; j++) {
+					uuids.add(generator.generate());
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(numThreads * numIds, uuids.size());
+	}
+
+	private static class FixedClockGenerator extends UuidV7Generator {
+		long millis;
+
+		@Override
+		protected long currentTimeMillis() {
+			return millis;
+		}
+	}
+}